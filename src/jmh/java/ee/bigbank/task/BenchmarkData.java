@@ -0,0 +1,69 @@
+package ee.bigbank.task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.core.Probability;
+
+/**
+ * Deterministic, realistic-looking message boards for the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final String[] TEXTS = {
+        "Help Lusia Carter to transport a wagon of sheep to Newcastle",
+        "Escort Bertram Godwin to the royal ball in the capital",
+        "Steal super awesome diamond catapult from Kyran Fox",
+        "Kill the river trolls that have been terrorising the farms",
+        "Create an advertisement campaign for Rosalind Grey to promote their cart building business",
+        "Infiltrate the Northern Guild and report on their smuggling",
+    };
+
+    private BenchmarkData() {}
+
+    /** Plain (unencrypted) board. */
+    public static List<Message> plainBoard(int size, long seed) {
+        return board(size, seed, null);
+    }
+
+    /** Board where every ad is encrypted with the given method ("1" Base64, "2" ROT13). */
+    public static List<Message> encryptedBoard(int size, long seed, String method) {
+        return board(size, seed, method);
+    }
+
+    private static List<Message> board(int size, long seed, String method) {
+        Random random = new Random(seed);
+        Probability[] probabilities = Probability.values();
+        List<Message> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String adId = Long.toString(random.nextLong() & 0xFFFFFFFFFFL, 36);
+            String text = TEXTS[random.nextInt(TEXTS.length)];
+            String label = probabilities[random.nextInt(probabilities.length)].label();
+            int reward = 5 + random.nextInt(200);
+            int expiresIn = 1 + random.nextInt(7);
+            out.add(new Message(encode(adId, method), encode(text, method), reward, expiresIn, encode(label, method), method));
+        }
+        return out;
+    }
+
+    private static String encode(String s, String method) {
+        if ("1".equals(method)) {
+            return Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+        }
+        if ("2".equals(method)) {
+            StringBuilder out = new StringBuilder(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c >= 'a' && c <= 'z') out.append((char) ('a' + (c - 'a' + 13) % 26));
+                else if (c >= 'A' && c <= 'Z') out.append((char) ('A' + (c - 'A' + 13) % 26));
+                else out.append(c);
+            }
+            return out.toString();
+        }
+        return s;
+    }
+}
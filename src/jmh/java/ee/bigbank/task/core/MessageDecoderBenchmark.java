@@ -0,0 +1,69 @@
+package ee.bigbank.task.core;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ee.bigbank.task.BenchmarkData;
+import ee.bigbank.task.api.dto.Message;
+
+/**
+ * Decoding a full board of ads per encryption method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageDecoderBenchmark {
+
+    private final MessageDecoder decoder = new MessageDecoder();
+
+    private List<Message> plain;
+    private List<Message> base64;
+    private List<Message> rot13;
+
+    @Setup
+    public void setup() {
+        plain = BenchmarkData.plainBoard(10, 1);
+        base64 = BenchmarkData.encryptedBoard(10, 1, "1");
+        rot13 = BenchmarkData.encryptedBoard(10, 1, "2");
+    }
+
+    @Benchmark
+    public void passthrough(Blackhole bh) {
+        for (Message m : plain) bh.consume(decoder.decode(m));
+    }
+
+    @Benchmark
+    public void base64(Blackhole bh) {
+        for (Message m : base64) bh.consume(decoder.decode(m));
+    }
+
+    @Benchmark
+    public void rot13(Blackhole bh) {
+        for (Message m : rot13) bh.consume(decoder.decode(m));
+    }
+
+    @Benchmark
+    public void base64_probabilityOnly(Blackhole bh) {
+        for (Message m : base64) bh.consume(decoder.probabilityOf(m));
+    }
+
+    @Benchmark
+    public void rot13_probabilityOnly(Blackhole bh) {
+        for (Message m : rot13) bh.consume(decoder.probabilityOf(m));
+    }
+}
@@ -0,0 +1,62 @@
+package ee.bigbank.task.core;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ee.bigbank.task.BenchmarkData;
+import ee.bigbank.task.api.dto.Message;
+
+/**
+ * Best-message selection over an already decoded board, as in {@link GameService#playGame()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageSelectionBenchmark {
+
+    @Param({"10", "100"})
+    public int boardSize;
+
+    private List<Message> board;
+
+    @Setup
+    public void setup() {
+        board = BenchmarkData.plainBoard(boardSize, 3);
+    }
+
+    @Benchmark
+    public Optional<Message> selectBest() {
+        return board.stream().max(GameService.BEST_MESSAGE_ORDER);
+    }
+
+    /** Single pass resolving each label once, as the game loop does now. */
+    @Benchmark
+    public Optional<Message> selectBest_precomputed() {
+        Message best = null;
+        double bestValue = 0;
+        for (Message m : board) {
+            double value = Probability.valueForLabel(m.probability());
+            if (best == null || GameService.ranksAbove(value, m, bestValue, best)) {
+                best = m;
+                bestValue = value;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+}
@@ -0,0 +1,57 @@
+package ee.bigbank.task.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Label lookups as done by the decoder and the selection comparator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProbabilityBenchmark {
+
+    private final String[] labels = {
+        "Piece of cake", "Walk in the park", "Sure thing", "Hmmm....", "Quite likely", "Gamble",
+        "Risky", "Rather detrimental", "Playing with fire", "Suicide mission", "Impossible",
+    };
+    private final String[] messyLabels = {
+        "  piece OF cake ", "WALK IN THE PARK", " sure thing", "hmmm....  ", "Quite Likely", "gamble",
+    };
+    private final String[] unknownLabels = {
+        "Q2FrZQ==", "Cvrpr bs pnxr", "Not a label", "",
+    };
+
+    @Benchmark
+    public void fromLabel(Blackhole bh) {
+        for (String label : labels) bh.consume(Probability.fromLabel(label));
+    }
+
+    @Benchmark
+    public void fromLabel_trimmedMixedCase(Blackhole bh) {
+        for (String label : messyLabels) bh.consume(Probability.fromLabel(label));
+    }
+
+    @Benchmark
+    public void fromLabel_unknown(Blackhole bh) {
+        for (String label : unknownLabels) bh.consume(Probability.fromLabel(label));
+    }
+
+    @Benchmark
+    public void valueForLabel(Blackhole bh) {
+        for (String label : labels) bh.consume(Probability.valueForLabel(label));
+    }
+}
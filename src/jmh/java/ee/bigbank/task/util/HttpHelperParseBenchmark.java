@@ -0,0 +1,54 @@
+package ee.bigbank.task.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ee.bigbank.task.BenchmarkData;
+import ee.bigbank.task.api.dto.Message;
+
+/**
+ * Parsing a {@code /messages} response body into {@link Message} records.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpHelperParseBenchmark {
+
+    @Param({"10", "100"})
+    public int boardSize;
+
+    private final HttpHelper http = new HttpHelper(new ObjectMapper());
+    private byte[] body;
+
+    @Setup
+    public void setup() throws Exception {
+        // a third of the ads encrypted, like a typical board
+        List<Message> board = new ArrayList<>(BenchmarkData.plainBoard(boardSize - 2 * (boardSize / 3), 5));
+        board.addAll(BenchmarkData.encryptedBoard(boardSize / 3, 6, "1"));
+        board.addAll(BenchmarkData.encryptedBoard(boardSize / 3, 7, "2"));
+        body = new ObjectMapper().writeValueAsBytes(board);
+    }
+
+    @Benchmark
+    public List<Message> parseMessages() {
+        return http.parseList(body, Message.class);
+    }
+}
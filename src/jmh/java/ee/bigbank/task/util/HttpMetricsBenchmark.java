@@ -0,0 +1,43 @@
+package ee.bigbank.task.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ee.bigbank.task.api.Endpoint;
+
+/**
+ * Cost of recording one HTTP attempt, with all threads hitting the same endpoint and status
+ * (the worst case for contention when a fleet shares one {@link HttpHelper}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpMetricsBenchmark {
+
+    private final HttpMetrics metrics = new HttpMetrics();
+
+    @Benchmark
+    @Threads(1)
+    public void record_singleThread() {
+        metrics.record(Endpoint.MESSAGES, 200, 12_345_678);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void record_contended() {
+        metrics.record(Endpoint.MESSAGES, 200, 12_345_678);
+    }
+}
@@ -0,0 +1,74 @@
+package ee.bigbank.task;
+
+/**
+ * Command-line arguments of {@link MugloarTaskApplication}.
+ * Options: {@code --games N}, {@code --concurrency N} (default: the game count) and {@code --base-url URL}
+ * (default: the public API), each also accepted as {@code --name=value}. The older positional form
+ * {@code [games] [concurrency]} still works.
+ */
+public record BatchArguments(int games, int concurrency, String baseUrl) {
+
+    public static final String DEFAULT_BASE_URL = "https://www.dragonsofmugloar.com/api/v2";
+
+    static final String USAGE = "Usage: [--games N] [--concurrency N] [--base-url URL] | [games] [concurrency]";
+
+    public BatchArguments {
+        if (games < 0) throw new IllegalArgumentException("games must be >= 0");
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be >= 1");
+        if (baseUrl == null || baseUrl.isBlank()) throw new IllegalArgumentException("baseUrl must not be blank");
+        while (baseUrl.endsWith("/")) baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+    }
+
+    /** @throws IllegalArgumentException with {@link #USAGE} for unknown options or malformed values */
+    public static BatchArguments parse(String... args) {
+        Integer games = null;
+        Integer concurrency = null;
+        String baseUrl = DEFAULT_BASE_URL;
+        int positional = 0;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                switch (positional++) {
+                    case 0 -> games = number("games", arg);
+                    case 1 -> concurrency = number("concurrency", arg);
+                    default -> throw usage("Unexpected argument: " + arg);
+                }
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg : arg.substring(0, eq);
+            String value;
+            if (eq >= 0) {
+                value = arg.substring(eq + 1);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw usage("Missing value for " + name);
+            }
+            switch (name) {
+                case "--games" -> games = number("games", value);
+                case "--concurrency" -> concurrency = number("concurrency", value);
+                case "--base-url" -> baseUrl = value;
+                default -> throw usage("Unknown option: " + name);
+            }
+        }
+        int gameCount = games == null ? 1 : games;
+        try {
+            return new BatchArguments(gameCount, concurrency == null ? Math.max(1, gameCount) : concurrency, baseUrl);
+        } catch (IllegalArgumentException e) {
+            throw usage(e.getMessage());
+        }
+    }
+
+    private static int number(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw usage(name + " must be a number: " + value);
+        }
+    }
+
+    private static IllegalArgumentException usage(String message) {
+        return new IllegalArgumentException(message + System.lineSeparator() + USAGE);
+    }
+}
@@ -1,24 +1,179 @@
 package ee.bigbank.task;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.core.FleetRunner;
+import ee.bigbank.task.core.GameOptions;
 import ee.bigbank.task.core.GameService;
 import ee.bigbank.task.core.MessageDecoder;
+import ee.bigbank.task.core.ShopCatalogCache;
+import ee.bigbank.task.core.SuccessRateLearner;
+import ee.bigbank.task.core.TurnListener;
+import ee.bigbank.task.core.model.FleetSummary;
 import ee.bigbank.task.core.model.GameResult;
+import ee.bigbank.task.events.ConsoleEventLogger;
+import ee.bigbank.task.events.EventJournal;
+import ee.bigbank.task.events.EventMetrics;
+import ee.bigbank.task.events.GameEventBus;
+import ee.bigbank.task.events.GameEventConsumer;
+import ee.bigbank.task.journal.TurnJournal;
+import ee.bigbank.task.launch.StartupClock;
+import ee.bigbank.task.results.ResultStore;
+import ee.bigbank.task.util.ConnectionStats;
+import ee.bigbank.task.util.HedgePolicy;
+import ee.bigbank.task.util.HttpHelper;
+import ee.bigbank.task.util.LimiterPolicy;
+import ee.bigbank.task.util.LimiterStats;
+import ee.bigbank.task.util.RetryPolicies;
+import ee.bigbank.task.util.TransportProfile;
 
 public class MugloarTaskApplication {
 	private static final Logger log = org.slf4j.LoggerFactory.getLogger(MugloarTaskApplication.class);
 
+	/**
+	 * Optional arguments: {@code [--games N] [--concurrency N] [--base-url URL]}, see {@link BatchArguments}.
+	 * Without arguments a single game is played against the public API. Runs of more than one game end with
+	 * a report of every game, throughput (games, requests and turns per second) and the score distribution.
+	 * With {@code -Dmugloar.journal=<dir>} every turn is appended to a {@link TurnJournal} in that directory;
+	 * with {@code -Dmugloar.learn=true} all games share a {@link SuccessRateLearner} and pick by its rates;
+	 * with {@code -Dmugloar.results=<dir>} every outcome is stored in a {@link ResultStore} there, labelled with
+	 * {@code -Dmugloar.strategy} (default {@code default}, or {@code learned} with learning on);
+	 * {@code -Dmugloar.reputationEvery=N} investigates the reputation every N turns so results carry it.
+	 * {@code -Dmugloar.events=console,metrics} and {@code -Dmugloar.eventJournal=<file>} attach those consumers
+	 * to a {@link GameEventBus} the games publish to.
+	 */
 	public static void main(String[] args) {
 
-		String baseUrl = "https://www.dragonsofmugloar.com/api/v2";
-		GameClient client = new GameClient(baseUrl);
+		BatchArguments arguments;
+		List<GameEventConsumer> consumers;
+		GameOptions options;
+		try {
+			arguments = BatchArguments.parse(args);
+			options = GameOptions.defaults().withReputationEveryTurns(Integer.getInteger("mugloar.reputationEvery", 0));
+			// checked and opened before anything else, so a bad name never leaves a half-started run behind
+			consumers = eventConsumers(System.getProperty("mugloar.events", ""), System.getProperty("mugloar.eventJournal"));
+		} catch (IllegalArgumentException | UncheckedIOException e) {
+			log.error(e.getMessage());
+			System.exit(2);
+			return;
+		}
+		String baseUrl = arguments.baseUrl();
+		int games = arguments.games();
+		int concurrency = arguments.concurrency();
+
+		// fleets share one multiplexed HTTP/2 connection, opened before the first game starts
+		TransportProfile transport = games > 1
+			? TransportProfile.http2(Runtime.getRuntime().availableProcessors())
+			: TransportProfile.defaults();
+		// fleets share an adaptive in-flight limit that backs off when the API is overloaded
+		HttpHelper http = new HttpHelper(new ObjectMapper(), transport, RetryPolicies.defaults(), HedgePolicy.disabled(),
+			games > 1 ? LimiterPolicy.defaults() : LimiterPolicy.disabled());
+		GameClient client = new GameClient(baseUrl, http);
+		client.warmUp();
 		MessageDecoder decoder = new MessageDecoder();
-		GameService gameService = new GameService(client, decoder);
-		
-		GameResult result = gameService.playGame();
-		log.info("Game finished: id={} score={} turns={}", result.gameId(), result.score(), result.turns());
+		String journalDir = System.getProperty("mugloar.journal");
+		String resultsDir = System.getProperty("mugloar.results");
+		SuccessRateLearner learner = Boolean.getBoolean("mugloar.learn") ? new SuccessRateLearner() : null;
+		if (learner != null) options = options.withSelector(learner.selector());
+		String strategy = System.getProperty("mugloar.strategy", learner == null ? "default" : "learned");
+
+		TurnJournal journal = journalDir == null ? null : openJournal(Path.of(journalDir));
+		ResultStore results = resultsDir == null ? null : openResults(Path.of(resultsDir));
+		GameEventBus events = consumers.isEmpty() ? null : new GameEventBus(GameEventBus.DEFAULT_CAPACITY, consumers);
+		TurnListener listener = learner == null ? journal : learner.andThen(journal);
+		// a fleet loads the shop catalog once instead of once per game
+		GameService gameService = new GameService(client, decoder, options
+			.withCatalogs(games > 1 ? ShopCatalogCache.defaults() : null)
+			.withListener(listener)
+			.withEvents(events));
+		FleetSummary summary;
+		// every resource is closed, in reverse order, even if the run or another close fails
+		try (http; journal; results; events) {
+			summary = new FleetRunner(gameService, concurrency,
+				results == null ? null : result -> results.append(strategy, result)).run(games);
+		}
+		if (journal != null) {
+			log.info("Journal: dir={} turns={} dropped={}", journalDir, journal.records(), journal.dropped());
+		}
+		if (results != null) {
+			log.info("Results: dir={} strategy={} stored={}", resultsDir, strategy, results.written());
+		}
+		if (events != null) {
+			log.info("Events: published={} dropped={} consumerFailures={}", events.published(), events.dropped(),
+				events.failures());
+			for (GameEventConsumer consumer : consumers) {
+				if (consumer instanceof EventMetrics metrics) {
+					log.info("Event metrics:{}{}", System.lineSeparator(), metrics.format());
+				}
+			}
+		}
+		if (games > 1) {
+			log.info("Fleet finished:{}{}", System.lineSeparator(), summary.format(http.metrics().snapshot().requests()));
+			ConnectionStats connections = http.connectionStats();
+			log.info("Connections: opened={} reused={}", connections.opened(), connections.reused());
+			LimiterStats limiter = http.limiterStats();
+			log.info("Limiter: limit={} queued={} decreases={}", limiter.limit(), limiter.queued(), limiter.decreases());
+		} else {
+			for (GameResult result : summary.results()) {
+				log.info("Game finished: id={} score={} turns={}", result.gameId(), result.score(), result.turns());
+			}
+		}
+		if (learner != null) {
+			log.info("Learned success rates:{}{}", System.lineSeparator(), learner.format());
+		}
+		Duration firstResponse = StartupClock.timeToFirstResponse(http.metrics());
+		if (firstResponse != null) {
+			log.info("Startup: first API response {} ms after JVM start", firstResponse.toMillis());
+		}
+		log.info("HTTP metrics:{}{}", System.lineSeparator(), http.metrics().snapshot().format());
+	}
+
+	/** Consumers named in {@code names} ({@code console}, {@code metrics}), plus a journal if {@code journalFile} is set. */
+	private static List<GameEventConsumer> eventConsumers(String names, String journalFile) {
+		List<GameEventConsumer> consumers = new ArrayList<>();
+		for (String name : names.split(",")) {
+			switch (name.trim()) {
+				case "" -> { }
+				case "console" -> consumers.add(new ConsoleEventLogger());
+				case "metrics" -> consumers.add(new EventMetrics());
+				default -> throw new IllegalArgumentException("Unknown event consumer '" + name.trim()
+					+ "', expected console or metrics");
+			}
+		}
+		if (journalFile != null) {
+			try {
+				consumers.add(EventJournal.open(Path.of(journalFile)));
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot open event journal " + journalFile + ": " + e.getMessage(), e);
+			}
+		}
+		return consumers;
+	}
+
+	private static ResultStore openResults(Path dir) {
+		try {
+			return ResultStore.open(dir);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open result store in " + dir, e);
+		}
+	}
+
+	private static TurnJournal openJournal(Path dir) {
+		try {
+			return TurnJournal.open(dir);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open turn journal in " + dir, e);
+		}
 	}
 
 }
@@ -1,14 +1,42 @@
 package ee.bigbank.task.api;
 
+import java.time.Duration;
+
 /**
  * Exception thrown when there is an error with the API client.
+ * Carries the HTTP status when the server answered, 0 for transport and parsing failures.
  */
 public class ApiClientException extends RuntimeException {
+    private final int statusCode;
+    private final Duration retryAfter;
+
     public ApiClientException(String message) {
+        this(message, 0);
+    }
+
+    public ApiClientException(String message, int statusCode) {
+        this(message, statusCode, null);
+    }
+
+    public ApiClientException(String message, int statusCode, Duration retryAfter) {
         super(message);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
     }
 
     public ApiClientException(String message, Throwable cause) {
         super(message, cause);
+        this.statusCode = 0;
+        this.retryAfter = null;
+    }
+
+    /** HTTP status of the failed response, 0 if no response was received or it could not be parsed. */
+    public int statusCode() {
+        return statusCode;
+    }
+
+    /** Delay the server asked for with a {@code Retry-After} header, null if it did not. */
+    public Duration retryAfter() {
+        return retryAfter;
     }
 }
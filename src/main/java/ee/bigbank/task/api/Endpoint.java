@@ -0,0 +1,50 @@
+package ee.bigbank.task.api;
+
+import java.net.URI;
+
+/**
+ * API endpoints as called by {@link GameClient}, recognized from the request path.
+ * Lets transport code apply per-endpoint policies without knowing URL templates.
+ */
+public enum Endpoint {
+    START(false),
+    MESSAGES(true),
+    SOLVE(false),
+    SHOP(true),
+    BUY(false),
+    INVESTIGATE(false),
+    /** Anything that is not a known game endpoint. */
+    OTHER(false);
+
+    private final boolean idempotent;
+
+    Endpoint(boolean idempotent) {
+        this.idempotent = idempotent;
+    }
+
+    /** True if repeating the call cannot change game state. */
+    public boolean idempotent() {
+        return idempotent;
+    }
+
+    /**
+     * Classifies a request URI. Path segments built by {@link GameClient} are percent-encoded,
+     * so ids never contain a raw '/' and suffix matching on the raw path is unambiguous.
+     */
+    public static Endpoint of(URI uri) {
+        String path = uri.getRawPath();
+        if (path == null) return OTHER;
+        if (path.endsWith("/game/start")) return START;
+        if (path.endsWith("/messages")) return MESSAGES;
+        if (path.endsWith("/investigate/reputation")) return INVESTIGATE;
+        if (path.endsWith("/shop")) return SHOP;
+
+        int last = path.lastIndexOf('/');
+        if (last > 0) {
+            String parent = path.substring(0, last);
+            if (parent.endsWith("/shop/buy")) return BUY;
+            if (parent.endsWith("/solve")) return SOLVE;
+        }
+        return OTHER;
+    }
+}
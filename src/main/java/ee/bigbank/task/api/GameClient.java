@@ -4,6 +4,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +44,11 @@ public class GameClient {
         this.http = Objects.requireNonNull(http, "http");
     }
 
+    /** Pre-opens connections to the API host, see {@link HttpHelper#warmUp(String)}. */
+    public void warmUp() {
+        http.warmUp(baseUrl);
+    }
+
     public GameStartResponse startGame() {
         String url = buildUrl(PATH_START);
         log.info("Starting a new game...");
@@ -74,6 +80,39 @@ public class GameClient {
         return http.post(url, ReputationResponse.class);
     }
 
+    // --- non-blocking variants: failures complete the future with ApiClientException ---------
+
+    public CompletableFuture<GameStartResponse> startGameAsync() {
+        String url = buildUrl(PATH_START);
+        log.info("Starting a new game...");
+        return http.postAsync(url, GameStartResponse.class);
+    }
+
+    public CompletableFuture<List<Message>> getMessagesAsync(String gameId) {
+        String url = buildUrl(String.format(PATH_MESSAGES, encodePathSegment(gameId)));
+        return http.getListAsync(url, Message.class);
+    }
+
+    public CompletableFuture<SolveResponse> solveAsync(String gameId, String adId) {
+        String url = buildUrl(String.format(PATH_SOLVE, encodePathSegment(gameId), encodePathSegment(adId)));
+        return http.postAsync(url, SolveResponse.class);
+    }
+
+    public CompletableFuture<List<ShopItem>> getShopAsync(String gameId) {
+        String url = buildUrl(String.format(PATH_SHOP, encodePathSegment(gameId)));
+        return http.getListAsync(url, ShopItem.class);
+    }
+
+    public CompletableFuture<BuyResponse> buyItemAsync(String gameId, String itemId) {
+        String url = buildUrl(String.format(PATH_BUY, encodePathSegment(gameId), encodePathSegment(itemId)));
+        return http.postAsync(url, BuyResponse.class);
+    }
+
+    public CompletableFuture<ReputationResponse> investigateAsync(String gameId) {
+        String url = buildUrl(String.format(PATH_INVESTIGATE, encodePathSegment(gameId)));
+        return http.postAsync(url, ReputationResponse.class);
+    }
+
     private String buildUrl(String path) {
         boolean baseEndsWithSlash = baseUrl.endsWith("/");
         boolean pathStartsWithSlash = path.startsWith("/");
@@ -0,0 +1,105 @@
+package ee.bigbank.task.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ee.bigbank.task.core.model.FleetSummary;
+import ee.bigbank.task.core.model.GameResult;
+
+/**
+ * Plays many games concurrently, each {@link GameService#playGame()} on its own virtual thread.
+ * A game spends almost all of its time blocked on HTTP, so virtual threads let one JVM keep
+ * thousands of games in flight; {@code maxConcurrency} caps how many run at the same time.
+ */
+public class FleetRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetRunner.class);
+
+    private final GameService gameService;
+    private final int maxConcurrency;
+    private final Consumer<GameResult> onResult;
+
+    public FleetRunner(GameService gameService, int maxConcurrency) {
+        this(gameService, maxConcurrency, null);
+    }
+
+    /**
+     * @param onResult called on the game's thread as soon as it finishes, may be null; a failing callback is
+     *                 logged and does not fail the game
+     */
+    public FleetRunner(GameService gameService, int maxConcurrency, Consumer<GameResult> onResult) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be >= 1");
+        }
+        this.gameService = gameService;
+        this.maxConcurrency = maxConcurrency;
+        this.onResult = onResult;
+    }
+
+    /**
+     * Plays {@code games} games and waits for all of them to finish.
+     * A game that fails with an exception is counted as failed and does not stop the others.
+     */
+    public FleetSummary run(int games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must be >= 0");
+        }
+        long started = System.nanoTime();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<GameResult>> futures = new ArrayList<>(games);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < games; i++) {
+                // acquire before submit so at most maxConcurrency game threads exist at once
+                permits.acquireUninterruptibly();
+                futures.add(executor.submit(() -> {
+                    try {
+                        GameResult result = gameService.playGame();
+                        report(result);
+                        return result;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<GameResult> results = new ArrayList<>(games);
+        int failed = 0;
+        for (Future<GameResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                failed++;
+                log.warn("Game failed: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed++;
+            }
+        }
+
+        FleetSummary summary = FleetSummary.of(results, failed, Duration.ofNanos(System.nanoTime() - started));
+        log.debug("Fleet finished: games={} failed={} elapsed={} ms",
+            summary.games(), summary.failed(), summary.elapsed().toMillis());
+        return summary;
+    }
+
+    private void report(GameResult result) {
+        if (onResult == null) return;
+        try {
+            onResult.accept(result);
+        } catch (RuntimeException e) {
+            log.warn("Result callback failed for game {}: {}", result.gameId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ee.bigbank.task.core;
+
+import java.util.Objects;
+
+import ee.bigbank.task.core.model.TurnRecord;
+import ee.bigbank.task.events.GameEventBus;
+
+/**
+ * Optional {@link GameService} behaviour. {@link #defaults()} matches the original game loop.
+ *
+ * @param lazyDecoding      rank ads by probability only and fully decode just the chosen ad
+ *                          (see {@link MessageDecoder#probabilityOf})
+ * @param pipelined         fetch the next board while the shop purchase is in flight instead of after it
+ * @param boardRefreshTurns keep a {@link MessageBoard} that refetches every this many turns, 0 = no board;
+ *                          ignored by the pipelined loop
+ * @param purchaseOrder     order in which the shop's non-healing items are bought
+ * @param shopPolicy        gold reserve and healing thresholds
+ * @param selector          picks the ad to solve from the fully decoded board, or null for the built-in
+ *                          {@link GameService#BEST_MESSAGE_ORDER}; when set, {@code lazyDecoding} is ignored
+ * @param reputationEveryTurns investigate the reputation every this many turns while the game runs and report
+ *                          the last answer in the {@link ee.bigbank.task.core.model.GameResult}, 0 = never;
+ *                          each investigation uses up a turn
+ * @param catalogs          shop catalog cache shared by every game the service plays, or null to load the
+ *                          catalog once per game
+ * @param listener          receives a {@link TurnRecord} for every turn played, or null; with lazy decoding the
+ *                          whole board is still decoded for it
+ * @param events            receives turn started, board decoded, ad chosen, solved, item bought and game over
+ *                          events, or null; publishing never blocks the game, events are dropped if the bus is full
+ */
+public record GameOptions(
+    boolean lazyDecoding,
+    boolean pipelined,
+    int boardRefreshTurns,
+    PurchaseOrder purchaseOrder,
+    ShopPolicy shopPolicy,
+    MessageSelector selector,
+    int reputationEveryTurns,
+    ShopCatalogCache catalogs,
+    TurnListener listener,
+    GameEventBus events
+) {
+
+    public GameOptions {
+        if (boardRefreshTurns < 0) throw new IllegalArgumentException("boardRefreshTurns must be >= 0");
+        if (reputationEveryTurns < 0) throw new IllegalArgumentException("reputationEveryTurns must be >= 0");
+        Objects.requireNonNull(purchaseOrder, "purchaseOrder");
+        Objects.requireNonNull(shopPolicy, "shopPolicy");
+    }
+
+    public static GameOptions defaults() {
+        return new GameOptions(false, false, 0, PurchaseOrder.CATALOG, ShopPolicy.defaults(), null, 0, null, null,
+            null);
+    }
+
+    public GameOptions withLazyDecoding(boolean lazyDecoding) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+
+    public GameOptions withPipelined(boolean pipelined) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+
+    public GameOptions withBoardRefreshTurns(int boardRefreshTurns) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+
+    public GameOptions withPurchaseOrder(PurchaseOrder purchaseOrder) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+
+    public GameOptions withShopPolicy(ShopPolicy shopPolicy) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+
+    public GameOptions withSelector(MessageSelector selector) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+
+    public GameOptions withReputationEveryTurns(int reputationEveryTurns) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+
+    public GameOptions withCatalogs(ShopCatalogCache catalogs) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+
+    public GameOptions withListener(TurnListener listener) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+
+    public GameOptions withEvents(GameEventBus events) {
+        return new GameOptions(lazyDecoding, pipelined, boardRefreshTurns, purchaseOrder, shopPolicy, selector,
+            reputationEveryTurns, catalogs, listener, events);
+    }
+}
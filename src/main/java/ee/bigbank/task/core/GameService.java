@@ -1,17 +1,25 @@
 package ee.bigbank.task.core;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ee.bigbank.task.api.ApiClientException;
 import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.api.dto.BuyResponse;
 import ee.bigbank.task.api.dto.GameStartResponse;
 import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.ReputationResponse;
 import ee.bigbank.task.api.dto.SolveResponse;
 import ee.bigbank.task.core.model.GameResult;
+import ee.bigbank.task.core.model.TurnRecord;
+import ee.bigbank.task.events.GameEventBus;
 
 /**
  * GameService is responsible for managing the game flow:
@@ -19,49 +27,100 @@ import ee.bigbank.task.core.model.GameResult;
  * - fetch and decode messages
  * - select and resolve messages
  * - optionally make shop decisions between steps
+ * - optionally publish what happens to a {@link GameEventBus}
  */
 public class GameService {
 
     private static final Logger log = LoggerFactory.getLogger(GameService.class);
 
+    /** Selection order: probability -> expiresIn -> reward (max wins). */
+    static final Comparator<Message> BEST_MESSAGE_ORDER = Comparator
+        .comparingDouble((Message m) -> Probability.valueForLabel(m.probability()))
+        .thenComparingInt(Message::expiresIn)
+        .thenComparingInt(Message::reward);
+
     private final GameClient client;
     private final MessageDecoder decoder;
+    private final GameOptions options;
+    private final ShopCatalogCache catalogs;
+    private final TurnListener listener;
+    private final GameEventBus events;
 
     public GameService(GameClient client, MessageDecoder decoder) {
+        this(client, decoder, GameOptions.defaults());
+    }
+
+    /** Catalog cache, turn listener and event bus, if any, come from {@code options}. */
+    public GameService(GameClient client, MessageDecoder decoder, GameOptions options) {
         this.client = client;
         this.decoder = decoder;
+        this.options = options;
+        this.catalogs = options.catalogs();
+        this.listener = options.listener();
+        this.events = options.events();
     }
 
     /**
      * Plays the game until lives run out and returns the final result.
      */
     public GameResult playGame() {
+        if (options.pipelined()) return playPipelined();
         GameStartResponse game = client.startGame();
         String gameId = game.gameId();
-		ShopService shop = new ShopService(client, gameId);
+		ShopService shop = new ShopService(client, gameId, options.shopPolicy(), options.purchaseOrder(), catalogs);
+        MessageBoard board = options.boardRefreshTurns() > 0
+            ? new MessageBoard(client, decoder, gameId, options.boardRefreshTurns())
+            : null;
+        if (board != null) board.turn(game.turn());
+        ReputationResponse reputation = null;
+        int turnsPlayed = 0;
 
         while (game.lives() > 0) {
-            // 1) fetch and decode messages
-            List<Message> decodedMessages = client.getMessages(gameId).stream()
-                .map(decoder::decode)
-                .flatMap(Optional::stream)
-                .toList();
-
-            // 2) pick the best by probability -> expiresIn -> reward
-            Optional<Message> best = decodedMessages.stream()
-                .max(Comparator
-                    .comparingDouble((Message m) -> Probability.valueForLabel(m.probability()))
-                    .thenComparingInt(Message::expiresIn)
-                    .thenComparingInt(Message::reward));
+            if (events != null) events.turnStarted(game);
+            // 1) fetch messages, 2) decode and pick the best by probability -> expiresIn -> reward
+            List<Message> seen = listener != null && board == null ? new ArrayList<>() : null;
+            Optional<Message> best;
+            if (board != null) {
+                best = board.best(options.selector(), game.lives(), game.gold());
+                if (events != null) events.boardDecoded(game, board.size());
+            } else {
+                List<Message> messages = client.getMessages(gameId);
+                best = select(messages, seen, game);
+                if (events != null) events.boardDecoded(game, messages.size());
+            }
+            if (listener != null && board != null) seen = board.ads();
 
             if (best.isEmpty()) {
                 // No valid messages this turn try to buy an item and continue
-                shop.maybeBuyItem(game.gold(), game.lives());
+                boolean bought = shop.maybeBuyItem(game.gold(), game.lives());
+                if (board != null) {
+                    // nothing happened this turn: without a fetch the cached board would give the same answer forever
+                    if (bought) board.turnPassed();
+                    else board.invalidate();
+                }
+                if (bought && events != null) events.itemBought(afterPurchase(game, shop), shop.lastPurchase());
+                emit(game, seen, null, null, bought, shop);
                 log.debug("Bought item from shop and start again.");
             } else {
                 // 3) solve the chosen message
                 Message chosen = best.get();
-                SolveResponse solveResult = client.solve(gameId, chosen.adId());
+                if (events != null) events.adChosen(game, chosen);
+                SolveResponse solveResult;
+                if (board == null) {
+                    solveResult = client.solve(gameId, chosen.adId());
+                } else {
+                    board.remove(chosen.adId());
+                    try {
+                        solveResult = client.solve(gameId, chosen.adId());
+                    } catch (ApiClientException e) {
+                        // a cached ad the server no longer knows: refetch and pick again
+                        if (!board.servedFromCache() || e.statusCode() < 400 || e.statusCode() >= 500) throw e;
+                        log.debug("Cached ad {} rejected ({}), refreshing board", chosen.adId(), e.statusCode());
+                        board.invalidate();
+                        continue;
+                    }
+                    board.turn(solveResult.turn());
+                }
 
                 // 4) update local game snapshot from solveResult
                 game = new GameStartResponse(
@@ -75,12 +134,184 @@ public class GameService {
                 );
                 log.debug("Solved message {} -> lives={} gold={} score={} turn={}",
                     chosen.adId(), game.lives(), game.gold(), game.score(), game.turn());
+                if (events != null) events.solved(game, chosen, solveResult.success());
 
                     // 5) post-solve shop decision (e.g. heal if needed)
-                shop.maybeBuyItem(game.gold(), game.lives());
+                boolean bought = shop.maybeBuyItem(game.gold(), game.lives());
+                if (bought && board != null) board.turnPassed();
+                if (bought && events != null) events.itemBought(afterPurchase(game, shop), shop.lastPurchase());
+                emit(game, seen, chosen, solveResult, bought, shop);
+            }
+            if (game.lives() > 0) reputation = investigate(gameId, ++turnsPlayed, reputation, board);
+        }
+        if (events != null) events.gameOver(game);
+        return new GameResult(gameId, game.score(), game.turn(), game.gold(), game.lives(), reputation);
+    }
+
+    /**
+     * Same decisions as {@link #playGame()}, but the shop purchase and the next {@code /messages} fetch
+     * are sent together and the turn continues once both have completed, saving one round trip per
+     * purchase. A board fetched while a purchase was in flight may predate the turn that purchase used
+     * up, so ads that could have expired with it ({@code expiresIn <= 1}) are dropped. No purchase is
+     * attempted after the last life is lost; it could not change the result.
+     */
+    private GameResult playPipelined() {
+        GameStartResponse game = client.startGame();
+        String gameId = game.gameId();
+        ShopService shop = new ShopService(client, gameId, options.shopPolicy(), options.purchaseOrder(), catalogs);
+
+        List<Message> messages = client.getMessages(gameId);
+        ReputationResponse reputation = null;
+        int turnsPlayed = 0;
+        while (game.lives() > 0) {
+            if (events != null) events.turnStarted(game);
+            List<Message> seen = listener != null ? new ArrayList<>() : null;
+            Optional<Message> best = select(messages, seen, game);
+            if (events != null) events.boardDecoded(game, messages.size());
+            SolveResponse solveResult = null;
+            if (best.isPresent()) {
+                Message chosen = best.get();
+                if (events != null) events.adChosen(game, chosen);
+                solveResult = client.solve(gameId, chosen.adId());
+                game = new GameStartResponse(
+                    gameId,
+                    solveResult.lives(),
+                    solveResult.gold(),
+                    game.level(),
+                    solveResult.score(),
+                    solveResult.highScore(),
+                    solveResult.turn()
+                );
+                log.debug("Solved message {} -> lives={} gold={} score={} turn={}",
+                    chosen.adId(), game.lives(), game.gold(), game.score(), game.turn());
+                if (events != null) events.solved(game, chosen, solveResult.success());
+                if (game.lives() <= 0) {
+                    emit(game, seen, chosen, solveResult, false, shop);
+                    break;
+                }
             }
 
+            // before the next board is fetched, so it already reflects the turn an investigation uses up
+            reputation = investigate(gameId, ++turnsPlayed, reputation, null);
+            CompletableFuture<Boolean> purchase = shop.maybeBuyItemAsync(game.gold(), game.lives());
+            CompletableFuture<List<Message>> nextBoard = client.getMessagesAsync(gameId);
+            boolean bought = purchase.join(); // never fails, see ShopService#maybeBuyItemAsync
+            messages = join(nextBoard);
+            if (bought && events != null) events.itemBought(afterPurchase(game, shop), shop.lastPurchase());
+            emit(game, seen, best.orElse(null), solveResult, bought, shop);
+            if (bought) {
+                messages = messages.stream().filter(m -> m != null && m.expiresIn() > 1).toList();
+            }
+        }
+        if (events != null) events.gameOver(game);
+        return new GameResult(gameId, game.score(), game.turn(), game.gold(), game.lives(), reputation);
+    }
+
+    /**
+     * The reputation the server reports now if {@code turnsPlayed} is a multiple of
+     * {@link GameOptions#reputationEveryTurns()}, otherwise {@code last}. A failed investigation also keeps
+     * {@code last}; it does not end the game.
+     */
+    private ReputationResponse investigate(String gameId, int turnsPlayed, ReputationResponse last, MessageBoard board) {
+        int every = options.reputationEveryTurns();
+        if (every == 0 || turnsPlayed % every != 0) return last;
+        try {
+            ReputationResponse reputation = client.investigate(gameId);
+            if (board != null) board.turnPassed();
+            return reputation;
+        } catch (RuntimeException e) {
+            log.warn("Investigating reputation for game {} failed: {}", gameId, e.getMessage());
+            return last;
+        }
+    }
+
+    /** {@code game} with the gold, lives and turn the server reported after the last purchase. */
+    private static GameStartResponse afterPurchase(GameStartResponse game, ShopService shop) {
+        BuyResponse receipt = shop.lastReceipt();
+        if (receipt == null) return game;
+        return new GameStartResponse(game.gameId(), receipt.lives(), receipt.gold(), game.level(), game.score(),
+            game.highScore(), receipt.turn());
+    }
+
+    /** Reports a played turn to the listener, if any; a failing listener does not stop the game. */
+    private void emit(GameStartResponse game, List<Message> board, Message chosen, SolveResponse solve,
+        boolean bought, ShopService shop) {
+        if (listener == null) return;
+        try {
+            listener.onTurn(new TurnRecord(game.gameId(), game.turn(), game.lives(), game.gold(), game.score(), board,
+                chosen == null ? null : chosen.adId(), solve, bought ? shop.lastPurchase() : null));
+        } catch (RuntimeException e) {
+            log.warn("Turn listener failed for game {}: {}", game.gameId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Best decoded message by the configured {@link MessageSelector} or {@link #BEST_MESSAGE_ORDER}, adding every decoded ad to {@code decodedOut}
+     * unless it is null. Each label is resolved once per ad rather
+     * than twice per comparison.
+     */
+    private Optional<Message> select(List<Message> messages, List<Message> decodedOut, GameStartResponse game) {
+        if (options.selector() != null) {
+            List<Message> decoded = decodedOut != null ? decodedOut : new ArrayList<>(messages.size());
+            for (Message raw : messages) {
+                if (raw != null) decoder.decode(raw).ifPresent(decoded::add);
+            }
+            return options.selector().select(decoded, game.lives(), game.gold());
+        }
+        if (options.lazyDecoding()) return selectLazily(messages, decodedOut);
+        Message best = null;
+        double bestValue = 0;
+        for (Message raw : messages) {
+            Optional<Message> decoded = decoder.decode(raw);
+            if (decoded.isEmpty()) continue;
+            Message m = decoded.get();
+            if (decodedOut != null) decodedOut.add(m);
+            double value = Probability.valueForLabel(m.probability());
+            if (best == null || ranksAbove(value, m, bestValue, best)) {
+                best = m;
+                bestValue = value;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * {@link #BEST_MESSAGE_ORDER} with probability values already resolved: true if {@code m} strictly
+     * beats {@code best}, so ties keep the earlier ad like {@code Stream.max}.
+     */
+    static boolean ranksAbove(double value, Message m, double bestValue, Message best) {
+        return value > bestValue
+            || (value == bestValue && (m.expiresIn() > best.expiresIn()
+                || (m.expiresIn() == best.expiresIn() && m.reward() > best.reward())));
+    }
+
+    /** Joins {@code future}, rethrowing the {@link RuntimeException} it failed with unwrapped. */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Same pick as {@link #BEST_MESSAGE_ORDER} over decoded messages, but only the probability label
+     * of each ad is decoded; adId and text are decoded for the winner alone.
+     */
+    private Optional<Message> selectLazily(List<Message> messages, List<Message> decodedOut) {
+        Message best = null;
+        double bestValue = 0;
+        for (Message m : messages) {
+            if (m == null) continue;
+            if (decodedOut != null) decoder.decode(m).ifPresent(decodedOut::add);
+            Probability p = decoder.probabilityOf(m);
+            double value = p == null ? 0.0 : p.value();
+            if (best == null || ranksAbove(value, m, bestValue, best)) {
+                best = m;
+                bestValue = value;
+            }
         }
-        return new GameResult(gameId, game.score(), game.turn());
+        return best == null ? Optional.empty() : Optional.of(decoder.decodeSelected(best));
     }
 }
\ No newline at end of file
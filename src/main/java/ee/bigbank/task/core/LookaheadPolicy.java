@@ -0,0 +1,62 @@
+package ee.bigbank.task.core;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * How far and how long {@link MonteCarloSelector} looks ahead.
+ *
+ * @param horizon   turns simulated per rollout, including the candidate's own turn
+ * @param rollouts  rollouts per candidate ad at most
+ * @param budget    wall-clock time one selection may take; rollouts stop when it runs out
+ * @param lifeValue score one remaining life is assumed to be worth after the horizon
+ * @param shop      healing thresholds applied inside rollouts (potion when lives drop to {@code healAtLives})
+ * @param seed      mixed with the board and game state into the rollouts' random seed, so the same board gives
+ *                  the same pick as long as the budget does not cut the rollouts short
+ */
+public record LookaheadPolicy(
+    int horizon,
+    int rollouts,
+    Duration budget,
+    double lifeValue,
+    ShopPolicy shop,
+    long seed
+) {
+
+    public LookaheadPolicy {
+        Objects.requireNonNull(budget, "budget");
+        Objects.requireNonNull(shop, "shop");
+        if (horizon < 1) throw new IllegalArgumentException("horizon must be >= 1");
+        if (rollouts < 1) throw new IllegalArgumentException("rollouts must be >= 1");
+        if (lifeValue < 0) throw new IllegalArgumentException("lifeValue must be >= 0");
+    }
+
+    /** 4 turns ahead, up to 2000 rollouts per ad within 2 ms, a life worth 100 points, seed 0. */
+    public static LookaheadPolicy defaults() {
+        return new LookaheadPolicy(4, 2000, Duration.ofMillis(2), 100, ShopPolicy.defaults(), 0);
+    }
+
+    public LookaheadPolicy withHorizon(int horizon) {
+        return new LookaheadPolicy(horizon, rollouts, budget, lifeValue, shop, seed);
+    }
+
+    public LookaheadPolicy withRollouts(int rollouts) {
+        return new LookaheadPolicy(horizon, rollouts, budget, lifeValue, shop, seed);
+    }
+
+    public LookaheadPolicy withBudget(Duration budget) {
+        return new LookaheadPolicy(horizon, rollouts, budget, lifeValue, shop, seed);
+    }
+
+    public LookaheadPolicy withLifeValue(double lifeValue) {
+        return new LookaheadPolicy(horizon, rollouts, budget, lifeValue, shop, seed);
+    }
+
+    public LookaheadPolicy withShop(ShopPolicy shop) {
+        return new LookaheadPolicy(horizon, rollouts, budget, lifeValue, shop, seed);
+    }
+
+    public LookaheadPolicy withSeed(long seed) {
+        return new LookaheadPolicy(horizon, rollouts, budget, lifeValue, shop, seed);
+    }
+}
@@ -0,0 +1,177 @@
+package ee.bigbank.task.core;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.api.dto.Message;
+
+/**
+ * Client-side copy of one game's message board.
+ * <ul>
+ *   <li>Ads are decoded once: decodes are memoised by the raw (possibly encrypted) adId for as long
+ *       as the ad stays on the board.</li>
+ *   <li>Expiry is tracked locally: an ad fetched at turn T with {@code expiresIn = e} is dropped once
+ *       the game reaches turn T + e, and its {@code expiresIn} is reported relative to the current turn.</li>
+ *   <li>{@code /messages} is only requested every {@code refreshTurns} turns, when the local board is empty,
+ *       or after {@link #invalidate()}. With {@code refreshTurns = 1} every turn fetches, exactly like the
+ *       plain game loop, and only the decode work is saved.</li>
+ * </ul>
+ * Not thread-safe; one instance per game.
+ */
+public class MessageBoard {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageBoard.class);
+
+    private final GameClient client;
+    private final MessageDecoder decoder;
+    private final String gameId;
+    private final int refreshTurns;
+
+    /** Decoded ads on the board by decoded adId, in board order. */
+    private final Map<String, Entry> ads = new LinkedHashMap<>();
+    /** Decode results by raw adId; ads that could not be decoded map to null. */
+    private Map<String, Message> decoded = new HashMap<>();
+
+    private int turn;
+    private int fetchedAtTurn;
+    private boolean stale = true;
+    private boolean servedFromCache;
+    private long fetches;
+    private long decodes;
+
+    private record Entry(Message message, int expiresAtTurn, double probability) {}
+
+    public MessageBoard(GameClient client, MessageDecoder decoder, String gameId, int refreshTurns) {
+        if (refreshTurns < 1) throw new IllegalArgumentException("refreshTurns must be >= 1");
+        this.client = Objects.requireNonNull(client);
+        this.decoder = Objects.requireNonNull(decoder);
+        this.gameId = Objects.requireNonNull(gameId);
+        this.refreshTurns = refreshTurns;
+    }
+
+    /** Sets the current turn as reported by the server (game start, solve). */
+    public void turn(int turn) {
+        this.turn = turn;
+    }
+
+    /** A turn was used up without a server-reported turn number, e.g. by a purchase. */
+    public void turnPassed() {
+        turn++;
+    }
+
+    /** Forces a fetch on the next {@link #best()}. */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /** The ad was solved (or attempted); it is gone from the server's board. */
+    public void remove(String adId) {
+        ads.remove(adId);
+    }
+
+    /**
+     * Best ad by {@link GameService#BEST_MESSAGE_ORDER} with {@code expiresIn} relative to the current turn,
+     * fetching the board first if it is due.
+     */
+    public Optional<Message> best() {
+        return best(null, 0, 0);
+    }
+
+    /**
+     * As {@link #best()}, but {@code selector} picks from {@link #ads()} given the game's lives and gold;
+     * null uses the built-in order.
+     */
+    public Optional<Message> best(MessageSelector selector, int lives, int gold) {
+        dropExpired();
+        servedFromCache = !(stale || ads.isEmpty() || turn - fetchedAtTurn >= refreshTurns);
+        if (!servedFromCache) refresh();
+        if (selector != null) return selector.select(ads(), lives, gold);
+
+        Entry best = null;
+        for (Entry entry : ads.values()) {
+            if (best == null || ranksAbove(entry, best)) best = entry;
+        }
+        return best == null ? Optional.empty() : Optional.of(current(best));
+    }
+
+    /** Decoded ads currently on the local board, in board order, with {@code expiresIn} relative to the current turn. */
+    public List<Message> ads() {
+        return ads.values().stream().map(this::current).toList();
+    }
+
+    /** Number of decoded ads currently on the local board. */
+    public int size() {
+        return ads.size();
+    }
+
+    /** True if the last {@link #best()} answered from the local board without a fetch. */
+    public boolean servedFromCache() {
+        return servedFromCache;
+    }
+
+    /** {@code /messages} requests made so far. */
+    public long fetches() {
+        return fetches;
+    }
+
+    /** Ads decoded so far; ads seen on earlier fetches are not decoded again. */
+    public long decodes() {
+        return decodes;
+    }
+
+    private void refresh() {
+        List<Message> messages = client.getMessages(gameId);
+        fetches++;
+        Map<String, Message> previous = decoded;
+        decoded = new HashMap<>(messages.size() * 2);
+        ads.clear();
+        for (Message raw : messages) {
+            if (raw == null || raw.adId() == null) continue;
+            Message message;
+            if (previous.containsKey(raw.adId())) {
+                message = previous.get(raw.adId());
+            } else {
+                message = decoder.decode(raw).orElse(null);
+                decodes++;
+            }
+            decoded.put(raw.adId(), message);
+            if (message != null) {
+                ads.put(message.adId(), new Entry(message, turn + raw.expiresIn(), Probability.valueForLabel(message.probability())));
+            }
+        }
+        fetchedAtTurn = turn;
+        stale = false;
+        log.debug("Fetched board for {} at turn {}: {} ads, {} decoded so far", gameId, turn, ads.size(), decodes);
+    }
+
+    /** Same order as {@link GameService#ranksAbove}; expiry offsets cancel out, so stored values compare directly. */
+    private static boolean ranksAbove(Entry entry, Entry best) {
+        if (entry.probability() != best.probability()) return entry.probability() > best.probability();
+        if (entry.expiresAtTurn() != best.expiresAtTurn()) return entry.expiresAtTurn() > best.expiresAtTurn();
+        return entry.message().reward() > best.message().reward();
+    }
+
+    private Message current(Entry entry) {
+        Message m = entry.message();
+        int expiresIn = entry.expiresAtTurn() - turn;
+        return m.expiresIn() == expiresIn
+            ? m
+            : new Message(m.adId(), m.message(), m.reward(), expiresIn, m.probability(), m.encrypted());
+    }
+
+    private void dropExpired() {
+        Iterator<Entry> it = ads.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAtTurn() <= turn) it.remove();
+        }
+    }
+}
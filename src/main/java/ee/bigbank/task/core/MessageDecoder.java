@@ -1,6 +1,7 @@
 package ee.bigbank.task.core;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Optional;
 
@@ -13,12 +14,29 @@ import ee.bigbank.task.api.dto.Message;
  *  - "2" : ROT13
  *
  * If the decoded probability label doesn't map to a known Probability, the original message is returned.
+ *
+ * For large boards use the lazy pair {@link #probabilityOf(Message)} + {@link #decodeSelected(Message)}:
+ * rank every ad by its probability alone, then decode adId and text only for the ad that was picked.
  */
 public class MessageDecoder {
 
     private static final String BASE64 = "1";
     private static final String ROT13 = "2";
 
+    /** Decoded labels longer than this (whitespace included) cannot be a known label. */
+    private static final int LABEL_BUFFER_SIZE = Probability.MAX_LABEL_LENGTH + 16;
+    private static final int INVALID_BASE64 = -1;
+    private static final int NOT_A_LABEL = -2;
+
+    private static final byte[] BASE64_VALUES = new byte[128];
+    static {
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+    }
+
+    private static final ThreadLocal<char[]> LABEL_BUFFER = ThreadLocal.withInitial(() -> new char[LABEL_BUFFER_SIZE]);
+
     /**
      * Decodes the given message if {@code encrypted} is set to a known method.
      * Returns the original message if:
@@ -58,6 +76,115 @@ public class MessageDecoder {
             .or(() -> Optional.of(message));
     }
 
+    /**
+     * Resolves the probability {@link #decode(Message)} would end up with, without decoding adId or text.
+     * The label is decoded straight into a reused per-thread buffer and matched without allocating.
+     *
+     * @return the probability, or null if the (decoded) label is not recognized
+     */
+    public Probability probabilityOf(Message message) {
+        if (message == null) return null;
+        String label = message.probability();
+        if (label == null) return null;
+
+        String encryptedMethod = message.encrypted();
+        if (encryptedMethod == null) return Probability.match(label);
+
+        char[] buffer = LABEL_BUFFER.get();
+        int length;
+        switch (encryptedMethod) {
+            case BASE64 -> length = decodeBase64Label(label, buffer);
+            case ROT13 -> length = decodeRot13Label(label, buffer);
+            default -> {
+                return Probability.match(label);
+            }
+        }
+
+        // invalid base64 is left as is by decode(), so the raw label is what gets matched
+        Probability decoded = length == INVALID_BASE64 ? Probability.match(label)
+            : length == NOT_A_LABEL ? null
+            : Probability.match(buffer, 0, length);
+        // unknown decoded label -> decode() keeps the original message, ranked by its raw label
+        return decoded != null ? decoded : Probability.match(label);
+    }
+
+    /**
+     * Fully decodes an ad picked via {@link #probabilityOf(Message)}; same result as {@link #decode(Message)}.
+     */
+    public Message decodeSelected(Message message) {
+        return decode(message).orElse(message);
+    }
+
+    /**
+     * Decodes base64 {@code src} into {@code dst} following {@link Base64#getDecoder()} rules.
+     * Returns the decoded length, {@link #INVALID_BASE64} or {@link #NOT_A_LABEL}
+     * (valid base64, but non-ASCII or too long to be a label).
+     */
+    private static int decodeBase64Label(String src, char[] dst) {
+        int length = src.length();
+        int out = 0;
+        int bits = 0;
+        int unit = 0; // chars in the current 4-char unit
+        int i = 0;
+        for (; i < length; i++) {
+            char c = src.charAt(i);
+            if (c == '=') break;
+            int v = c < 128 ? BASE64_VALUES[c] : -1;
+            if (v < 0) return INVALID_BASE64;
+            bits = (bits << 6) | v;
+            if (++unit == 4) {
+                out = emit(dst, out, (bits >> 16) & 0xFF);
+                out = emit(dst, out, (bits >> 8) & 0xFF);
+                out = emit(dst, out, bits & 0xFF);
+                bits = 0;
+                unit = 0;
+            }
+        }
+        if (i < length) {
+            // padding: "xx==" or "xxx=" and nothing after it
+            if (unit < 2 || (unit == 2 && (i + 1 >= length || src.charAt(i + 1) != '='))) return INVALID_BASE64;
+            if (i + (unit == 2 ? 2 : 1) != length) return INVALID_BASE64;
+        }
+        if (unit == 1) return INVALID_BASE64;
+        if (unit == 2) {
+            out = emit(dst, out, (bits >> 4) & 0xFF);
+        } else if (unit == 3) {
+            out = emit(dst, out, (bits >> 10) & 0xFF);
+            out = emit(dst, out, (bits >> 2) & 0xFF);
+        }
+        return out;
+    }
+
+    private static int decodeRot13Label(String src, char[] dst) {
+        int out = 0;
+        for (int i = 0; i < src.length() && out != NOT_A_LABEL; i++) {
+            out = emit(dst, out, rot13(src.charAt(i)));
+        }
+        return out;
+    }
+
+    /**
+     * Appends one decoded char at {@code out} and returns the next position. Leading whitespace is
+     * dropped and trailing whitespace may overflow, so only the trimmed label has to fit; anything
+     * else that cannot be part of a label turns the result into {@link #NOT_A_LABEL} for good.
+     */
+    private static int emit(char[] dst, int out, int c) {
+        if (out == NOT_A_LABEL) return NOT_A_LABEL;
+        if (c >= 0x80) return NOT_A_LABEL;
+        if (out == 0 && c <= ' ') return 0;
+        if (out < dst.length) {
+            dst[out] = (char) c;
+            return out + 1;
+        }
+        return c <= ' ' ? out : NOT_A_LABEL;
+    }
+
+    private static char rot13(char c) {
+        if (c >= 'a' && c <= 'z') return (char) ('a' + (c - 'a' + 13) % 26);
+        if (c >= 'A' && c <= 'Z') return (char) ('A' + (c - 'A' + 13) % 26);
+        return c;
+    }
+
     private static String decryptBase64String(String encryptedString) {
         if (encryptedString == null) return null;
         try {
@@ -0,0 +1,68 @@
+package ee.bigbank.task.core;
+
+import java.util.List;
+import java.util.Optional;
+
+import ee.bigbank.task.api.dto.Message;
+
+/**
+ * Picks the ad to solve from a decoded board. Implementations must be stateless or thread-safe;
+ * one selector is shared by every game and replay worker.
+ */
+@FunctionalInterface
+public interface MessageSelector {
+
+    /** The ad to solve from already decoded {@code board}, or empty if none should be. */
+    Optional<Message> select(List<Message> board);
+
+    /**
+     * The ad to solve given the game's current {@code lives} and {@code gold}. Selectors that do not look at
+     * the game state ignore them.
+     */
+    default Optional<Message> select(List<Message> board, int lives, int gold) {
+        return select(board);
+    }
+
+    /** The {@link GameService} pick: probability, then expiresIn, then reward. */
+    static MessageSelector bestOrder() {
+        return board -> {
+            Message best = null;
+            double bestValue = 0;
+            for (Message m : board) {
+                if (m == null) continue;
+                double value = Probability.valueForLabel(m.probability());
+                if (best == null || GameService.ranksAbove(value, m, bestValue, best)) {
+                    best = m;
+                    bestValue = value;
+                }
+            }
+            return Optional.ofNullable(best);
+        };
+    }
+
+    /** Highest probability × reward; ties fall back to {@link #bestOrder()}. */
+    static MessageSelector expectedReward() {
+        return board -> {
+            Message best = null;
+            double bestValue = 0;
+            double bestExpected = 0;
+            for (Message m : board) {
+                if (m == null) continue;
+                double value = Probability.valueForLabel(m.probability());
+                double expected = value * m.reward();
+                if (best == null || expected > bestExpected
+                    || (expected == bestExpected && GameService.ranksAbove(value, m, bestValue, best))) {
+                    best = m;
+                    bestValue = value;
+                    bestExpected = expected;
+                }
+            }
+            return Optional.ofNullable(best);
+        };
+    }
+
+    /** Expected score of solving {@code m}: its probability value times its reward. */
+    static double expectedScore(Message m) {
+        return Probability.valueForLabel(m.probability()) * m.reward();
+    }
+}
@@ -0,0 +1,227 @@
+package ee.bigbank.task.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+import ee.bigbank.task.api.dto.Message;
+
+/**
+ * Picks the ad with the best expected score over the next few turns, estimated by Monte Carlo rollouts.
+ * <p>
+ * A rollout solves the candidate, then keeps solving the remaining unexpired ads with the highest
+ * probability × reward, drawing each outcome from the ad's {@link Probability} value. A failure costs a
+ * life, a lost game ends the rollout, and a healing potion is bought when lives run low and gold allows
+ * (see {@link LookaheadPolicy#shop()}). Lives left after the horizon count {@code lifeValue} each.
+ * <p>
+ * Rollouts for all candidates run as small tasks on a work-stealing {@link ForkJoinPool} (by default one
+ * shared by all selectors and sized to the cores, not the common pool) and stop at the policy's time budget.
+ * Only one batch per candidate runs regardless of the budget, so every candidate gets an estimate and a
+ * selection costs at most about the budget plus one batch per candidate.
+ * The random seed comes from {@link LookaheadPolicy#seed()}, the board and the game state, so a seeded
+ * simulator replays the same games as long as the budget does not bind.
+ * Thread-safe; one instance can serve every game.
+ */
+public class MonteCarloSelector implements MessageSelector {
+
+    /** Lives assumed by {@link #select(List)}, which has no game state: a new game's. */
+    static final int DEFAULT_LIVES = 3;
+    /** Rollouts between deadline checks. */
+    private static final int BATCH = 16;
+    /** Ads considered per board; the used-ad set of a rollout is a bitmask. */
+    private static final int MAX_ADS = Long.SIZE;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final LookaheadPolicy policy;
+    private final ForkJoinPool pool;
+    private final LongAdder rollouts = new LongAdder();
+
+    public MonteCarloSelector() {
+        this(LookaheadPolicy.defaults());
+    }
+
+    /** Runs rollouts on a pool shared by all selectors, so games do not compete with the common pool's users. */
+    public MonteCarloSelector(LookaheadPolicy policy) {
+        this(policy, DefaultPool.POOL);
+    }
+
+    public MonteCarloSelector(LookaheadPolicy policy, ForkJoinPool pool) {
+        this.policy = Objects.requireNonNull(policy);
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    @Override
+    public Optional<Message> select(List<Message> board) {
+        return select(board, DEFAULT_LIVES, 0);
+    }
+
+    @Override
+    public Optional<Message> select(List<Message> board, int lives, int gold) {
+        List<Message> ads = new ArrayList<>(Math.min(board.size(), MAX_ADS));
+        for (Message m : board) {
+            if (m != null && ads.size() < MAX_ADS) ads.add(m);
+        }
+        if (ads.size() <= 1) return ads.stream().findFirst();
+
+        Board b = new Board(ads);
+        int tasksPerAd = Math.max(1, Math.min(pool.getParallelism(), policy.rollouts() / BATCH));
+        long deadline = System.nanoTime() + policy.budget().toNanos();
+        long seed = mix(policy.seed() + GOLDEN_GAMMA * ((ads.hashCode() * 31L + lives) * 31L + gold));
+        List<Rollouts> tasks = new ArrayList<>(ads.size() * tasksPerAd);
+        for (int ad = 0; ad < ads.size(); ad++) {
+            for (int t = 0; t < tasksPerAd; t++) {
+                int quota = policy.rollouts() / tasksPerAd + (t < policy.rollouts() % tasksPerAd ? 1 : 0);
+                tasks.add(new Rollouts(b, ad, lives, gold, quota, deadline, t == 0,
+                    new SplittableRandom(seed + tasks.size())));
+            }
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        double[] sum = new double[ads.size()];
+        long[] count = new long[ads.size()];
+        for (Rollouts task : tasks) {
+            sum[task.first] += task.sum;
+            count[task.first] += task.count;
+        }
+        int best = -1;
+        double bestMean = 0;
+        for (int ad = 0; ad < ads.size(); ad++) {
+            rollouts.add(count[ad]);
+            if (count[ad] == 0) continue;
+            double mean = sum[ad] / count[ad];
+            if (best < 0 || mean > bestMean
+                || (mean == bestMean && GameService.ranksAbove(b.p[ad], ads.get(ad), b.p[best], ads.get(best)))) {
+                best = ad;
+                bestMean = mean;
+            }
+        }
+        return Optional.of(ads.get(best < 0 ? 0 : best));
+    }
+
+    /** SplitMix64 finaliser, spreading nearby inputs over the whole seed space. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Rollouts simulated so far, over all selections. */
+    public long rollouts() {
+        return rollouts.sum();
+    }
+
+    private static final class DefaultPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("monte-carlo-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /** One board in arrays, plus the rollout policy's order: highest probability × reward first. */
+    private static final class Board {
+        final double[] p;
+        final int[] reward;
+        final int[] expiresIn;
+        final int[] greedyOrder;
+
+        Board(List<Message> ads) {
+            int n = ads.size();
+            p = new double[n];
+            reward = new int[n];
+            expiresIn = new int[n];
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                Message m = ads.get(i);
+                p[i] = Probability.valueForLabel(m.probability());
+                reward[i] = m.reward();
+                expiresIn[i] = m.expiresIn();
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(p[b] * reward[b], p[a] * reward[a]));
+            greedyOrder = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /** A share of one candidate's rollouts; {@code sum} and {@code count} are read after the task is joined. */
+    private final class Rollouts extends RecursiveAction {
+        final Board board;
+        final int first;
+        final int lives;
+        final int gold;
+        final int quota;
+        final long deadline;
+        /** Whether the first batch runs even past the deadline; true for one task per candidate. */
+        final boolean forced;
+        final SplittableRandom random;
+        double sum;
+        long count;
+
+        Rollouts(Board board, int first, int lives, int gold, int quota, long deadline, boolean forced,
+            SplittableRandom random) {
+            this.board = board;
+            this.first = first;
+            this.lives = lives;
+            this.gold = gold;
+            this.quota = quota;
+            this.deadline = deadline;
+            this.forced = forced;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            // one forced batch per candidate, so every candidate gets an estimate
+            while (count < quota && ((forced && count == 0) || System.nanoTime() < deadline)) {
+                int batch = (int) Math.min(BATCH, quota - count);
+                for (int i = 0; i < batch; i++) sum += rollout();
+                count += batch;
+            }
+        }
+
+        private double rollout() {
+            ShopPolicy shop = policy.shop();
+            int lives = this.lives;
+            int gold = this.gold;
+            double score = 0;
+            long used = 0;
+            int ad = first;
+            for (int turn = 0; turn < policy.horizon() && ad >= 0; turn++) {
+                used |= 1L << ad;
+                if (random.nextDouble() < board.p[ad]) {
+                    score += board.reward[ad];
+                    gold += board.reward[ad];
+                } else if (--lives <= 0) {
+                    return score;
+                }
+                if (lives <= shop.healAtLives() && gold >= shop.potionMinGold()) {
+                    lives++;
+                    gold -= shop.potionMinGold();
+                    turn++; // the purchase uses up a turn
+                }
+                ad = nextAd(used, turn + 1);
+            }
+            return score + lives * policy.lifeValue();
+        }
+
+        /** Best remaining ad still on the board at {@code turn}, or -1. */
+        private int nextAd(long used, int turn) {
+            for (int ad : board.greedyOrder) {
+                if ((used & (1L << ad)) == 0 && board.expiresIn[ad] > turn) return ad;
+            }
+            return -1;
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package ee.bigbank.task.core;
 
 import java.util.Arrays;
-import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -42,21 +40,99 @@ public enum Probability {
         return value;
     }
 
-    // Precompute case-insensitive lookup map for performance and robustness.
-    private static final Map<String, Probability> BY_LABEL_LOWER =
-            Arrays.stream(values())
-                  .collect(Collectors.toMap(
-                          p -> p.label.toLowerCase(Locale.ROOT),
-                          p -> p));
+    /** Longest display label, used to size decode buffers. */
+    static final int MAX_LABEL_LENGTH = Arrays.stream(values()).mapToInt(p -> p.label.length()).max().orElse(0);
+
+    private static final Probability[] VALUES = values();
+
+    /** {@link #fromLabel} results, so successful lookups do not allocate an Optional. */
+    private static final Optional<Probability>[] PRESENT = presentOptionals();
+
+    /*
+     * Perfect hash over (trimmed length, first char, last char), all lower-cased: these are distinct for
+     * every label, and a multiplier that maps them to distinct slots is searched for once at class init.
+     * A lookup hashes, then confirms the single candidate with a case-insensitive compare.
+     */
+    private static final int HASH_BITS = 5;
+    private static final int HASH_MULTIPLIER = findMultiplier();
+    private static final Probability[] BY_HASH = hashTable(HASH_MULTIPLIER);
 
     /**
      * Case-insensitive, trimmed lookup by display label.
      * Returns empty if label is null or not recognized.
      */
     public static Optional<Probability> fromLabel(String label) {
-        if (label == null) return Optional.empty();
-        String key = label.trim().toLowerCase(Locale.ROOT);
-        return Optional.ofNullable(BY_LABEL_LOWER.get(key));
+        Probability p = match(label);
+        return p == null ? Optional.empty() : PRESENT[p.ordinal()];
+    }
+
+    /**
+     * Allocation-free variant of {@link #fromLabel(String)} over {@code chars[from, to)}:
+     * trimmed, case-insensitive, returns null when not recognized.
+     */
+    static Probability match(char[] chars, int from, int to) {
+        while (from < to && chars[from] <= ' ') from++;
+        while (to > from && chars[to - 1] <= ' ') to--;
+        int length = to - from;
+        if (length == 0) return null;
+        Probability p = BY_HASH[slot(length, chars[from], chars[to - 1], HASH_MULTIPLIER)];
+        if (p == null || p.label.length() != length) return null;
+        String label = p.label;
+        for (int i = 0; i < length; i++) {
+            if (!sameIgnoreCase(label.charAt(i), chars[from + i])) return null;
+        }
+        return p;
+    }
+
+    /** Allocation-free variant of {@link #fromLabel(String)}, returns null when not recognized. */
+    static Probability match(CharSequence label) {
+        if (label == null) return null;
+        int from = 0;
+        int to = label.length();
+        while (from < to && label.charAt(from) <= ' ') from++;
+        while (to > from && label.charAt(to - 1) <= ' ') to--;
+        int length = to - from;
+        if (length == 0) return null;
+        Probability p = BY_HASH[slot(length, label.charAt(from), label.charAt(to - 1), HASH_MULTIPLIER)];
+        if (p == null || p.label.length() != length) return null;
+        String candidate = p.label;
+        for (int i = 0; i < length; i++) {
+            if (!sameIgnoreCase(candidate.charAt(i), label.charAt(from + i))) return null;
+        }
+        return p;
+    }
+
+    private static boolean sameIgnoreCase(char a, char b) {
+        return a == b || Character.toLowerCase(a) == Character.toLowerCase(b);
+    }
+
+    private static int slot(int length, char first, char last, int multiplier) {
+        int key = length | Character.toLowerCase(first) << 8 | Character.toLowerCase(last) << 20;
+        return (key * multiplier) >>> (Integer.SIZE - HASH_BITS);
+    }
+
+    private static int findMultiplier() {
+        for (int multiplier = 0x9E3779B1; ; multiplier += 2) {
+            if (hashTable(multiplier) != null) return multiplier;
+        }
+    }
+
+    /** Slot table for {@code multiplier}, or null if two labels collide. */
+    private static Probability[] hashTable(int multiplier) {
+        Probability[] table = new Probability[1 << HASH_BITS];
+        for (Probability p : VALUES) {
+            int slot = slot(p.label.length(), p.label.charAt(0), p.label.charAt(p.label.length() - 1), multiplier);
+            if (table[slot] != null) return null;
+            table[slot] = p;
+        }
+        return table;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Optional<Probability>[] presentOptionals() {
+        Optional<Probability>[] present = new Optional[VALUES.length];
+        for (Probability p : VALUES) present[p.ordinal()] = Optional.of(p);
+        return present;
     }
 
     public static Set<String> validProbabilities() {
@@ -67,6 +143,7 @@ public enum Probability {
 
     /** Convenience: numeric probability for a label, unknown -> 0.0 */
     public static double valueForLabel(String label) {
-        return fromLabel(label).map(Probability::value).orElse(0.0);
+        Probability p = match(label);
+        return p == null ? 0.0 : p.value;
     }
 }
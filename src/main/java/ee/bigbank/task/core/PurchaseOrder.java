@@ -0,0 +1,11 @@
+package ee.bigbank.task.core;
+
+/**
+ * Order in which {@link ShopService} buys the non-healing items.
+ */
+public enum PurchaseOrder {
+    /** As listed by the shop; the original behaviour. */
+    CATALOG,
+    /** Cheapest first, catalog order among equal costs. Reaches the first levels sooner. */
+    CHEAPEST_FIRST
+}
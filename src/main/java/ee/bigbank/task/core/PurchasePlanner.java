@@ -0,0 +1,93 @@
+package ee.bigbank.task.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import ee.bigbank.task.api.dto.ShopItem;
+
+/**
+ * The shop catalog indexed once for {@link ShopService}'s decisions: the healing potion, and the other
+ * items in purchase order with a bitset of what was bought. Items are bought strictly in order, so the
+ * next candidate is always at {@code cursor} and every question is answered in O(1).
+ * Not thread-safe; one instance per game.
+ */
+final class PurchasePlanner {
+
+    static final String HEALTH_POT = "hpot";
+    static final int HEALTH_POT_MIN_GOLD = 50;
+
+    private final PurchaseOrder order;
+    private final ShopItem healthPot;
+    private final ShopItem[] upgrades;
+    private final BitSet purchased;
+    private int cursor;
+
+    PurchasePlanner(List<ShopItem> catalog, PurchaseOrder order) {
+        ShopItem pot = null;
+        List<ShopItem> others = new ArrayList<>(catalog.size());
+        Set<String> seen = new HashSet<>();
+        for (ShopItem item : catalog) {
+            if (HEALTH_POT.equalsIgnoreCase(item.id())) {
+                if (pot == null) pot = item;
+            } else if (seen.add(item.id())) { // a repeated id counts as bought once the first one is
+                others.add(item);
+            }
+        }
+        if (order == PurchaseOrder.CHEAPEST_FIRST) {
+            others.sort(Comparator.comparingInt(ShopItem::cost)); // stable: ties keep catalog order
+        }
+        this.order = order;
+        this.healthPot = pot;
+        this.upgrades = others.toArray(new ShopItem[0]);
+        this.purchased = new BitSet(upgrades.length);
+    }
+
+    /**
+     * What to buy now, or null:
+     * - a healing potion if lives <= {@code healAtLives} (or every other item is bought) and gold >= {@code potionMinGold};
+     * - otherwise the next item in order if it is affordable while keeping {@code goldReserve} gold.
+     */
+    ShopItem next(int gold, int lives, ShopPolicy policy) {
+        if ((lives <= policy.healAtLives() || cursor == upgrades.length) && gold >= policy.potionMinGold()) {
+            return healthPot;
+        }
+        if (cursor < upgrades.length && gold - policy.goldReserve() >= upgrades[cursor].cost()) {
+            return upgrades[cursor];
+        }
+        return null;
+    }
+
+    /** Records a successful purchase of an item returned by {@link #next}. */
+    void purchased(ShopItem item) {
+        if (cursor < upgrades.length && upgrades[cursor] == item) {
+            purchased.set(cursor);
+            cursor = purchased.nextClearBit(cursor);
+        }
+    }
+
+    /** A planner over another catalog with the same items (by id) already marked as bought. */
+    PurchasePlanner rebase(List<ShopItem> catalog) {
+        PurchasePlanner rebased = new PurchasePlanner(catalog, order);
+        for (int i = purchased.nextSetBit(0); i >= 0; i = purchased.nextSetBit(i + 1)) {
+            String id = upgrades[i].id();
+            for (int j = 0; j < rebased.upgrades.length; j++) {
+                if (rebased.upgrades[j].id().equals(id)) rebased.purchased.set(j);
+            }
+        }
+        rebased.cursor = rebased.purchased.nextClearBit(0);
+        return rebased;
+    }
+
+    boolean isHealthPot(ShopItem item) {
+        return item == healthPot;
+    }
+
+    /** Items other than the healing potion bought so far. */
+    int purchasedCount() {
+        return purchased.cardinality();
+    }
+}
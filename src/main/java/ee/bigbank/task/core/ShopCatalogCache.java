@@ -0,0 +1,132 @@
+package ee.bigbank.task.core;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.api.dto.ShopItem;
+
+/**
+ * Shop catalog shared by all games played through the same {@link GameClient}.
+ * <ul>
+ *   <li>Single flight: callers arriving while a catalog is loading wait for that one request.</li>
+ *   <li>Entries expire after {@code ttl}; at most {@code maxEntries} clients are cached, the oldest
+ *       entry is evicted first. A failed load is not cached.</li>
+ *   <li>If a game finds out the catalog is game-specific ({@link #markGameSpecific}), the client's
+ *       catalog is no longer shared and every game loads its own.</li>
+ * </ul>
+ * Thread-safe.
+ */
+public class ShopCatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ShopCatalogCache.class);
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<GameClient, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<GameClient> gameSpecific = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    private record Entry(CompletableFuture<List<ShopItem>> catalog, long loadedAt) {}
+
+    public ShopCatalogCache(Duration ttl, int maxEntries) {
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("ttl must be positive");
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be >= 1");
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /** Five minute TTL, up to 16 clients. */
+    public static ShopCatalogCache defaults() {
+        return new ShopCatalogCache(Duration.ofMinutes(5), 16);
+    }
+
+    /**
+     * The catalog for {@code client}, loaded with {@code client.getShop(gameId)} if it is not cached,
+     * has expired, or is game-specific. Load failures propagate to every caller waiting on that load.
+     */
+    public List<ShopItem> get(GameClient client, String gameId) {
+        Objects.requireNonNull(client);
+        if (gameSpecific.contains(client)) {
+            loads.increment();
+            return client.getShop(gameId);
+        }
+
+        long now = System.nanoTime();
+        CompletableFuture<List<ShopItem>> mine = new CompletableFuture<>();
+        Entry entry = entries.compute(client, (key, current) ->
+            current != null && now - current.loadedAt() < ttlNanos ? current : new Entry(mine, now));
+
+        if (entry.catalog() != mine) {
+            hits.increment();
+            return join(entry.catalog());
+        }
+
+        loads.increment();
+        evictIfFull();
+        try {
+            List<ShopItem> catalog = List.copyOf(client.getShop(gameId));
+            mine.complete(catalog);
+            log.debug("Loaded shared shop catalog via game {}: {} items", gameId, catalog.size());
+            return catalog;
+        } catch (RuntimeException | Error e) {
+            entries.remove(client, entry);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** Drops the cached catalog; the next {@link #get} loads it again. */
+    public void invalidate(GameClient client) {
+        entries.remove(client);
+    }
+
+    /** Stops sharing {@code client}'s catalog: it differs between games. */
+    public void markGameSpecific(GameClient client) {
+        if (gameSpecific.add(client)) {
+            log.info("Shop catalog is game-specific, loading it per game from now on");
+        }
+        entries.remove(client);
+    }
+
+    /** {@code /shop} requests made through this cache. */
+    public long loads() {
+        return loads.sum();
+    }
+
+    /** Catalogs served from the cache or from another caller's in-flight load. */
+    public long hits() {
+        return hits.sum();
+    }
+
+    private void evictIfFull() {
+        while (entries.size() > maxEntries) {
+            Map.Entry<GameClient, Entry> oldest = null;
+            for (Map.Entry<GameClient, Entry> e : entries.entrySet()) {
+                if (oldest == null || e.getValue().loadedAt() - oldest.getValue().loadedAt() < 0) oldest = e;
+            }
+            if (oldest == null || !entries.remove(oldest.getKey(), oldest.getValue())) return;
+        }
+    }
+
+    private static List<ShopItem> join(CompletableFuture<List<ShopItem>> catalog) {
+        try {
+            return catalog.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
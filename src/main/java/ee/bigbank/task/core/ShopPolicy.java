@@ -0,0 +1,36 @@
+package ee.bigbank.task.core;
+
+/**
+ * Thresholds behind {@link ShopService}'s purchase decisions. {@link #defaults()} are the original values.
+ *
+ * @param goldReserve   gold kept unspent for healing when buying upgrades
+ * @param healAtLives   buy a healing potion once lives drop to this or below
+ * @param potionMinGold least gold needed to attempt a healing potion
+ */
+public record ShopPolicy(
+    int goldReserve,
+    int healAtLives,
+    int potionMinGold
+) {
+
+    public ShopPolicy {
+        if (goldReserve < 0) throw new IllegalArgumentException("goldReserve must be >= 0");
+        if (potionMinGold < 0) throw new IllegalArgumentException("potionMinGold must be >= 0");
+    }
+
+    public static ShopPolicy defaults() {
+        return new ShopPolicy(ShopService.DEFAULT_GOLD_RESERVE, 1, PurchasePlanner.HEALTH_POT_MIN_GOLD);
+    }
+
+    public ShopPolicy withGoldReserve(int goldReserve) {
+        return new ShopPolicy(goldReserve, healAtLives, potionMinGold);
+    }
+
+    public ShopPolicy withHealAtLives(int healAtLives) {
+        return new ShopPolicy(goldReserve, healAtLives, potionMinGold);
+    }
+
+    public ShopPolicy withPotionMinGold(int potionMinGold) {
+        return new ShopPolicy(goldReserve, healAtLives, potionMinGold);
+    }
+}
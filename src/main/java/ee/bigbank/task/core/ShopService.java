@@ -1,92 +1,143 @@
 package ee.bigbank.task.core;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ee.bigbank.task.api.ApiClientException;
 import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.api.dto.BuyResponse;
 import ee.bigbank.task.api.dto.ShopItem;
 
 public class ShopService {
 
     private static final Logger log = LoggerFactory.getLogger(ShopService.class);
 
-    private static final String HEALTH_POT = "hpot";
+    static final int DEFAULT_GOLD_RESERVE = 300;
 
     private GameClient client;
     private String gameId;
-    private List<ShopItem> shopItems;
-    private final List<String> purchasedItems = new ArrayList<>();
-    /** Keep this much gold unspent for emergency healing problems */
-    private final int goldReserveForHealing;
+    private final ShopCatalogCache catalogs;
+    private List<ShopItem> catalog;
+    private PurchasePlanner planner;
+    /** Set when a purchase from the shared catalog was rejected; checked before the next decision. */
+    private volatile boolean verifyCatalog;
+    private volatile String lastPurchase;
+    private volatile BuyResponse lastReceipt;
+    /** Reserve kept for emergency healing and when to heal */
+    private final ShopPolicy policy;
 
     public ShopService(GameClient client, String gameId) {
-        this(client, gameId, 300);
+        this(client, gameId, ShopPolicy.defaults(), PurchaseOrder.CATALOG, null);
     }
 
-    public ShopService(GameClient client, String gameId, int goldReserveForHealing) {
+    /**
+     * @param catalogs fleet-wide catalog cache, or null to load this game's catalog directly
+     */
+    public ShopService(GameClient client, String gameId, ShopPolicy policy, PurchaseOrder order,
+                       ShopCatalogCache catalogs) {
         this.client = Objects.requireNonNull(client);
         this.gameId = Objects.requireNonNull(gameId);
-        this.shopItems = client.getShop(gameId);
-        this.goldReserveForHealing = goldReserveForHealing;
+        this.catalogs = catalogs;
+        this.catalog = catalogs == null ? client.getShop(gameId) : catalogs.get(client, gameId);
+        this.planner = new PurchasePlanner(catalog, Objects.requireNonNull(order));
+        this.policy = Objects.requireNonNull(policy);
     }
 
     /**
      * Attempts to buy an item based on current state:
-     * - If lives <= 1 (or all non-healing items are already purchased) and gold >= 50, buy a healing potion.
-     * - Otherwise buy the next unpurchased non-healing item if affordable while keeping gold reserve intact.
+     * - If lives <= 1 (or all non-healing items are already purchased) and gold >= 50, buy a healing potion
+     *   (thresholds from {@link ShopPolicy}).
+     * - Otherwise buy the next unpurchased non-healing item (in {@link PurchaseOrder}) if affordable while keeping gold reserve intact.
      *
      * @return true if something was bought
      */
     public boolean maybeBuyItem(int currentGold, int currentLives) {
-        // Are all non-HP items already purchased?
-        boolean allNonHPBought = shopItems.stream()
-            .filter(item -> !HEALTH_POT.equalsIgnoreCase(item.id()))
-            .allMatch(item -> purchasedItems.contains(item.id()));
-
-        // Buy HP if low on lives OR we have bought all other items and have at least 50 gold
-        if ((currentLives <= 1 || allNonHPBought) && currentGold >= 50) {
-            log.debug("Purchased health pot");
-            return buyItem(HEALTH_POT);
+        ShopItem item = nextPurchase(currentGold, currentLives);
+        if (item == null) return false;
+        BuyResponse response;
+        try {
+            response = client.buyItem(gameId, item.id());
+        } catch (RuntimeException e) {
+            purchaseFailed(item, e);
+            return false;
         }
+        return recordPurchase(item, response);
+    }
 
-        // Find next unpurchased non-HP item
-        ShopItem nextUnpurchasedItem = shopItems.stream()
-            .filter(item -> !HEALTH_POT.equalsIgnoreCase(item.id()))
-            .filter(item -> !purchasedItems.contains(item.id()))
-            .findFirst()
-            .orElse(null);
-
-        if (nextUnpurchasedItem != null) {
-            boolean affordableWithReserve = (currentGold - goldReserveForHealing) >= nextUnpurchasedItem.cost();
-            if (affordableWithReserve) {
-                boolean bought = buyItem(nextUnpurchasedItem.id());
-                if (bought) {
-                    log.debug("Purchased {}", nextUnpurchasedItem.name());
-                    purchasedItems.add(nextUnpurchasedItem.id());
-                }
-                return bought;
+    /**
+     * Non-blocking {@link #maybeBuyItem}: the decision is made on the calling thread, only the purchase
+     * request is in flight. The future never fails; a failed purchase completes with false.
+     * Do not call again before the returned future has completed.
+     */
+    public CompletableFuture<Boolean> maybeBuyItemAsync(int currentGold, int currentLives) {
+        ShopItem item = nextPurchase(currentGold, currentLives);
+        if (item == null) return CompletableFuture.completedFuture(false);
+        return client.buyItemAsync(gameId, item.id()).handle((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                purchaseFailed(item, cause);
+                return false;
             }
+            return recordPurchase(item, response);
+        });
+    }
+
+    /** Id of the item bought last, or null if nothing has been bought yet. */
+    public String lastPurchase() {
+        return lastPurchase;
+    }
+
+    /** The server's answer to the last purchase (gold, lives and turn after it), or null if nothing was bought yet. */
+    public BuyResponse lastReceipt() {
+        return lastReceipt;
+    }
+
+    /** The item {@link #maybeBuyItem} would buy now, or null. */
+    private ShopItem nextPurchase(int currentGold, int currentLives) {
+        if (verifyCatalog) useOwnCatalog();
+        return planner.next(currentGold, currentLives, policy);
+    }
+
+    private void purchaseFailed(ShopItem item, Throwable cause) {
+        log.warn("Buying item '{}' failed: {}", item.id(), cause.getMessage());
+        // the server does not know an item from the shared catalog: it may not be this game's catalog.
+        // 408/429 say nothing about the item; loading a catalog then would only add load while throttled.
+        if (catalogs != null && cause instanceof ApiClientException e && (e.statusCode() == 400 || e.statusCode() == 404)) {
+            verifyCatalog = true;
+        }
+    }
+
+    /** Loads this game's own catalog and switches to it if it differs from the shared one. */
+    private void useOwnCatalog() {
+        verifyCatalog = false;
+        List<ShopItem> own;
+        try {
+            own = client.getShop(gameId);
+        } catch (RuntimeException e) {
+            log.warn("Loading shop catalog for game {} failed: {}", gameId, e.getMessage());
+            return;
+        }
+        if (!own.equals(catalog)) {
+            catalogs.markGameSpecific(client);
+            catalog = own;
+            planner = planner.rebase(own);
         }
-        return false;
     }
 
-    private boolean buyItem(String itemName) {
-        return shopItems.stream()
-            .filter(item -> itemName.equalsIgnoreCase(item.id()))
-            .findFirst()
-            .map(item -> {
-                try {
-                    client.buyItem(gameId, item.id());
-                    return true;
-                } catch (RuntimeException e) {
-                    log.warn("Buying item '{}' failed: {}", item.id(), e.getMessage());
-                    return false;
-                }
-            })
-            .orElse(false);
+    private boolean recordPurchase(ShopItem item, BuyResponse response) {
+        lastPurchase = item.id();
+        lastReceipt = response;
+        if (planner.isHealthPot(item)) {
+            log.debug("Purchased health pot");
+        } else {
+            log.debug("Purchased {}", item.name());
+            planner.purchased(item);
+        }
+        return true;
     }
 }
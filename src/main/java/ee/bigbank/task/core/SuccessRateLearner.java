@@ -0,0 +1,158 @@
+package ee.bigbank.task.core;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.SolveResponse;
+import ee.bigbank.task.core.model.TurnRecord;
+
+/**
+ * Learns the real success rate of each probability label from solve outcomes, optionally per message
+ * category (the first word of the ad text, e.g. "help", "steal"), and shares it across every game in the JVM.
+ * <p>
+ * Counters are {@link LongAdder}s, so thousands of games recording at once update striped cells instead of
+ * one contended word. An estimate starts at the label's {@link Probability#value()} and moves towards the
+ * observed rate as outcomes come in: {@code (successes + prior * priorWeight) / (attempts + priorWeight)}.
+ * Per-category estimates use the label estimate as their prior.
+ * <p>
+ * Register it as a {@link TurnListener} to record outcomes and use {@link #selector()} to pick with the
+ * learned rates.
+ */
+public class SuccessRateLearner implements TurnListener {
+
+    public static final int DEFAULT_PRIOR_WEIGHT = 20;
+
+    private final int priorWeight;
+    private final boolean byCategory;
+    private final Map<Probability, Counters> byLabel = new EnumMap<>(Probability.class);
+    private final ConcurrentHashMap<Key, Counters> byLabelAndCategory = new ConcurrentHashMap<>();
+
+    private record Key(Probability label, String category) {}
+
+    private static final class Counters {
+        final LongAdder attempts = new LongAdder();
+        final LongAdder successes = new LongAdder();
+
+        void record(boolean success) {
+            attempts.increment();
+            if (success) successes.increment();
+        }
+
+        double estimate(double prior, int weight) {
+            // read successes first: a racing record() can then only make the ratio lower, never above 1
+            long s = successes.sum();
+            long a = attempts.sum();
+            return (s + prior * weight) / (a + weight);
+        }
+    }
+
+    public SuccessRateLearner() {
+        this(DEFAULT_PRIOR_WEIGHT, false);
+    }
+
+    /**
+     * @param priorWeight how many observed outcomes the hard-coded value counts as
+     * @param byCategory  also learn per message category
+     */
+    public SuccessRateLearner(int priorWeight, boolean byCategory) {
+        if (priorWeight < 1) throw new IllegalArgumentException("priorWeight must be >= 1");
+        this.priorWeight = priorWeight;
+        this.byCategory = byCategory;
+        // every label is present up front, so the EnumMap is only ever read concurrently
+        for (Probability p : Probability.values()) byLabel.put(p, new Counters());
+    }
+
+    /** Records the outcome of solving decoded ad {@code m}. Ads with an unknown label are ignored. */
+    public void record(Message m, boolean success) {
+        Probability label = Probability.match(m.probability());
+        if (label == null) return;
+        byLabel.get(label).record(success);
+        if (byCategory) {
+            byLabelAndCategory.computeIfAbsent(new Key(label, category(m)), k -> new Counters()).record(success);
+        }
+    }
+
+    /** Records the solved ad of {@code turn}, if there was one and it is on the turn's board. */
+    @Override
+    public void onTurn(TurnRecord turn) {
+        SolveResponse solve = turn.solve();
+        if (solve == null || turn.chosenAdId() == null) return;
+        for (Message m : turn.board()) {
+            if (turn.chosenAdId().equals(m.adId())) {
+                record(m, solve.success());
+                return;
+            }
+        }
+    }
+
+    /** Learned success rate of {@code label}. */
+    public double estimate(Probability label) {
+        return byLabel.get(label).estimate(label.value(), priorWeight);
+    }
+
+    /** Learned success rate of decoded ad {@code m}; 0 for an unknown label, like {@link Probability#valueForLabel}. */
+    public double estimate(Message m) {
+        Probability label = Probability.match(m.probability());
+        if (label == null) return 0.0;
+        double labelRate = estimate(label);
+        if (!byCategory) return labelRate;
+        Counters counters = byLabelAndCategory.get(new Key(label, category(m)));
+        return counters == null ? labelRate : counters.estimate(labelRate, priorWeight);
+    }
+
+    public long attempts(Probability label) {
+        return byLabel.get(label).attempts.sum();
+    }
+
+    public long successes(Probability label) {
+        return byLabel.get(label).successes.sum();
+    }
+
+    /**
+     * {@link MessageSelector#bestOrder()} with learned success rates in place of the hard-coded values.
+     * Identical to it until outcomes have been recorded.
+     */
+    public MessageSelector selector() {
+        return board -> {
+            Message best = null;
+            double bestValue = 0;
+            for (Message m : board) {
+                if (m == null) continue;
+                double value = estimate(m);
+                if (best == null || GameService.ranksAbove(value, m, bestValue, best)) {
+                    best = m;
+                    bestValue = value;
+                }
+            }
+            return Optional.ofNullable(best);
+        };
+    }
+
+    /** Observed vs. hard-coded rate per label, one line each; labels never solved are left out. */
+    public String format() {
+        StringBuilder out = new StringBuilder(String.format("%-20s %9s %9s %8s %8s%n",
+            "label", "attempts", "successes", "prior", "learned"));
+        for (Probability p : Probability.values()) {
+            long attempts = attempts(p);
+            if (attempts == 0) continue;
+            out.append(String.format("%-20s %9d %9d %8.2f %8.3f%n", p.label(), attempts, successes(p), p.value(), estimate(p)));
+        }
+        return out.toString();
+    }
+
+    /** First word of the ad text, lower-cased; "" if there is none. */
+    static String category(Message m) {
+        String text = m.message();
+        if (text == null) return "";
+        int start = 0;
+        while (start < text.length() && Character.isWhitespace(text.charAt(start))) start++;
+        int end = start;
+        while (end < text.length() && Character.isLetter(text.charAt(end))) end++;
+        return text.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+}
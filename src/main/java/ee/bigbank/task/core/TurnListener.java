@@ -0,0 +1,22 @@
+package ee.bigbank.task.core;
+
+import ee.bigbank.task.core.model.TurnRecord;
+
+/**
+ * Receives every turn {@link GameService} plays. Called on the game's own thread, so implementations
+ * must be thread-safe and must not block.
+ */
+@FunctionalInterface
+public interface TurnListener {
+
+    void onTurn(TurnRecord turn);
+
+    /** Calls this listener, then {@code next}; a null {@code next} returns this listener. */
+    default TurnListener andThen(TurnListener next) {
+        if (next == null) return this;
+        return turn -> {
+            onTurn(turn);
+            next.onTurn(turn);
+        };
+    }
+}
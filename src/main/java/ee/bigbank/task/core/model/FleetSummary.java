@@ -0,0 +1,98 @@
+package ee.bigbank.task.core.model;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aggregated outcome of a fleet run: every finished {@link GameResult} plus simple score/turn totals.
+ */
+public record FleetSummary(
+    int games,
+    int failed,
+    long totalScore,
+    int minScore,
+    int maxScore,
+    long totalTurns,
+    Duration elapsed,
+    List<GameResult> results
+) {
+
+    public static FleetSummary of(List<GameResult> results, int failed, Duration elapsed) {
+        long totalScore = 0;
+        long totalTurns = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (GameResult r : results) {
+            totalScore += r.score();
+            totalTurns += r.turns();
+            min = Math.min(min, r.score());
+            max = Math.max(max, r.score());
+        }
+        if (results.isEmpty()) {
+            min = 0;
+            max = 0;
+        }
+        return new FleetSummary(results.size() + failed, failed, totalScore, min, max, totalTurns, elapsed, List.copyOf(results));
+    }
+
+    /** Number of games that finished with a result. */
+    public int completed() {
+        return games - failed;
+    }
+
+    /** Mean score over completed games, 0 if none completed. */
+    public double meanScore() {
+        return completed() == 0 ? 0.0 : (double) totalScore / completed();
+    }
+
+    /** Completed games per minute of wall-clock time. */
+    public double gamesPerMinute() {
+        long millis = Math.max(1, elapsed.toMillis());
+        return completed() * 60_000.0 / millis;
+    }
+
+    /** Completed games per second of wall-clock time. */
+    public double gamesPerSecond() {
+        return perSecond(completed());
+    }
+
+    /** Turns of completed games per second of wall-clock time. */
+    public double turnsPerSecond() {
+        return perSecond(totalTurns);
+    }
+
+    /** {@code count} events spread over the run, per second of wall-clock time. */
+    public double perSecond(long count) {
+        long nanos = Math.max(1, elapsed.toNanos());
+        return count * 1e9 / nanos;
+    }
+
+    /** Nearest-rank score percentile over completed games, 0 if none completed. */
+    public int scorePercentile(int percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be in [0, 100]");
+        if (results.isEmpty()) return 0;
+        int[] scores = results.stream().mapToInt(GameResult::score).sorted().toArray();
+        int rank = (int) Math.ceil(percentile / 100.0 * scores.length);
+        return scores[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Per-game results followed by throughput and the score distribution.
+     *
+     * @param requests HTTP requests sent during the run, for requests/sec
+     */
+    public String format(long requests) {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%-24s %8s %7s%n", "game", "score", "turns"));
+        for (GameResult r : results) {
+            sb.append(String.format(Locale.ROOT, "%-24s %8d %7d%n", r.gameId(), r.score(), r.turns()));
+        }
+        sb.append(String.format(Locale.ROOT, "games=%d failed=%d elapsed=%.1f s%n",
+            games, failed, elapsed.toMillis() / 1000.0));
+        sb.append(String.format(Locale.ROOT, "throughput: games/s=%.2f requests/s=%.1f turns/s=%.1f%n",
+            gamesPerSecond(), perSecond(requests), turnsPerSecond()));
+        sb.append(String.format(Locale.ROOT, "score: min=%d mean=%.1f p50=%d p90=%d max=%d%n",
+            minScore, meanScore(), scorePercentile(50), scorePercentile(90), maxScore));
+        return sb.toString();
+    }
+}
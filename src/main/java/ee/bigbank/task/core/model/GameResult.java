@@ -1,7 +1,24 @@
 package ee.bigbank.task.core.model;
 
+import ee.bigbank.task.api.dto.ReputationResponse;
+
+/**
+ * Final outcome of one game.
+ *
+ * @param gold       gold left when the game ended
+ * @param lives      lives left when the game ended (0 unless the game was stopped early)
+ * @param reputation last reputation the game investigated, null if it never did
+ */
 public record GameResult(
     String gameId,
     int score,
-    int turns
-) {}
+    int turns,
+    int gold,
+    int lives,
+    ReputationResponse reputation
+) {
+
+    public GameResult(String gameId, int score, int turns) {
+        this(gameId, score, turns, 0, 0, null);
+    }
+}
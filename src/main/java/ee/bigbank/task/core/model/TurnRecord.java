@@ -0,0 +1,31 @@
+package ee.bigbank.task.core.model;
+
+import java.util.List;
+
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.SolveResponse;
+
+/**
+ * One iteration of the game loop: the state after it, what was on the board, what was done.
+ *
+ * @param board      the decoded ads the choice was made from
+ * @param chosenAdId solved ad, null if nothing was solved this turn
+ * @param solve      server answer for {@code chosenAdId}, null if nothing was solved
+ * @param purchase   id of the item bought after the turn, null if nothing was bought
+ */
+public record TurnRecord(
+    String gameId,
+    int turn,
+    int lives,
+    int gold,
+    int score,
+    List<Message> board,
+    String chosenAdId,
+    SolveResponse solve,
+    String purchase
+) {
+
+    public TurnRecord {
+        board = board == null ? List.of() : board;
+    }
+}
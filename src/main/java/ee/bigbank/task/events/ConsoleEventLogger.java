@@ -0,0 +1,20 @@
+package ee.bigbank.task.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Logs every event at INFO, one line each, from the consumer thread rather than the game's. */
+public final class ConsoleEventLogger implements GameEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsoleEventLogger.class);
+
+    @Override
+    public void onEvent(GameEvent event, boolean endOfBatch) {
+        if (log.isInfoEnabled()) log.info("{}", event);
+    }
+
+    @Override
+    public String toString() {
+        return "console";
+    }
+}
@@ -0,0 +1,86 @@
+package ee.bigbank.task.events;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends every event to a text file, one tab-separated line each:
+ * {@code sequence, timeMillis, type, gameId, turn, lives, gold, score, subject, value, success}. Output is buffered
+ * and flushed when the consumer has caught up with the bus, so the file costs one write per batch, not per event.
+ * After the first write error the journal stops writing and logs it once.
+ */
+public final class EventJournal implements GameEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(EventJournal.class);
+
+    private final Path file;
+    private final BufferedWriter out;
+    private final StringBuilder line = new StringBuilder(128);
+    private long lines;
+    private boolean failed;
+
+    private EventJournal(Path file, BufferedWriter out) {
+        this.file = file;
+        this.out = out;
+    }
+
+    /** Opens {@code file} for appending, creating it and its directory if needed. */
+    public static EventJournal open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        return new EventJournal(file, Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE));
+    }
+
+    @Override
+    public void onEvent(GameEvent event, boolean endOfBatch) {
+        if (failed) return;
+        line.setLength(0);
+        line.append(event.sequence()).append('\t')
+            .append(event.timeMillis()).append('\t')
+            .append(event.type()).append('\t')
+            .append(event.gameId()).append('\t')
+            .append(event.turn()).append('\t')
+            .append(event.lives()).append('\t')
+            .append(event.gold()).append('\t')
+            .append(event.score()).append('\t')
+            .append(event.subject() == null ? "" : event.subject()).append('\t')
+            .append(event.value()).append('\t')
+            .append(event.success()).append('\n');
+        try {
+            out.append(line);
+            lines++;
+            if (endOfBatch) out.flush();
+        } catch (IOException e) {
+            failed = true;
+            log.warn("Event journal {} stopped after {} lines: {}", file, lines, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onClose() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Closing event journal " + file + " failed", e);
+        }
+    }
+
+    /** Lines written, read from the consumer thread or after the bus is closed. */
+    public long lines() {
+        return lines;
+    }
+
+    @Override
+    public String toString() {
+        return "journal " + file;
+    }
+}
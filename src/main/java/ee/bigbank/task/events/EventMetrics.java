@@ -0,0 +1,68 @@
+package ee.bigbank.task.events;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import ee.bigbank.task.util.LogLinearHistogram;
+
+/**
+ * Counts events by type, solve outcomes and purchases, and records final scores and turns per game. Only the
+ * consumer thread writes, so counters are plain ordered stores; any thread may read them.
+ */
+public final class EventMetrics implements GameEventConsumer {
+
+    private final AtomicLongArray byType = new AtomicLongArray(GameEvent.Type.ALL.length);
+    private final AtomicLongArray solves = new AtomicLongArray(2);
+    private final LogLinearHistogram scores = new LogLinearHistogram(1);
+    private final LogLinearHistogram turns = new LogLinearHistogram(1);
+
+    @Override
+    public void onEvent(GameEvent event, boolean endOfBatch) {
+        int type = event.type().ordinal();
+        byType.lazySet(type, byType.get(type) + 1);
+        if (event.type() == GameEvent.Type.SOLVED) {
+            int outcome = event.success() ? 1 : 0;
+            solves.lazySet(outcome, solves.get(outcome) + 1);
+        } else if (event.type() == GameEvent.Type.GAME_OVER) {
+            scores.record(Math.max(0, event.score()));
+            turns.record(Math.max(0, event.turn()));
+        }
+    }
+
+    public long count(GameEvent.Type type) {
+        return byType.get(type.ordinal());
+    }
+
+    public long solved(boolean success) {
+        return solves.get(success ? 1 : 0);
+    }
+
+    public LogLinearHistogram.Snapshot scores() {
+        return scores.snapshot();
+    }
+
+    public LogLinearHistogram.Snapshot turns() {
+        return turns.snapshot();
+    }
+
+    /** Event counts, solve success rate and final score/turn percentiles. */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        for (GameEvent.Type type : GameEvent.Type.ALL) {
+            sb.append(String.format(Locale.ROOT, "%-14s %10d%n", type, count(type)));
+        }
+        long succeeded = solved(true);
+        long attempts = succeeded + solved(false);
+        sb.append(String.format(Locale.ROOT, "solve success %9.1f%%%n", attempts == 0 ? 0.0 : 100.0 * succeeded / attempts));
+        LogLinearHistogram.Snapshot s = scores();
+        LogLinearHistogram.Snapshot t = turns();
+        sb.append(String.format(Locale.ROOT, "score p50=%d p90=%d max=%d, turns p50=%d max=%d%n",
+            s.p50(), s.valueAt(90), s.max(), t.p50(), t.max()));
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "metrics";
+    }
+}
@@ -0,0 +1,120 @@
+package ee.bigbank.task.events;
+
+/**
+ * One slot of the {@link GameEventBus} ring. Slots are allocated once and overwritten as the ring wraps, so a
+ * consumer must copy what it needs before returning from {@link GameEventConsumer#onEvent}.
+ * <p>
+ * {@link #lives()}, {@link #gold()} and {@link #score()} are the game state when the event happened (after the
+ * solve or purchase for {@link Type#SOLVED} and {@link Type#ITEM_BOUGHT}). {@link #subject()} and {@link #value()}
+ * depend on the type, see {@link Type}.
+ */
+public final class GameEvent {
+
+    public enum Type {
+        /** A turn begins; no subject or value. */
+        TURN_STARTED,
+        /** The board was fetched and decoded; value = ads on it. */
+        BOARD_DECODED,
+        /** An ad was picked; subject = ad id, value = reward. */
+        AD_CHOSEN,
+        /** The server answered a solve; subject = ad id, value = reward, {@link #success()} = outcome. */
+        SOLVED,
+        /** A shop purchase went through; subject = item id. */
+        ITEM_BOUGHT,
+        /** The last life was lost; state is the final result. */
+        GAME_OVER;
+
+        static final Type[] ALL = values();
+    }
+
+    private long sequence;
+    private long timeMillis;
+    private Type type;
+    private String gameId;
+    private int turn;
+    private int lives;
+    private int gold;
+    private int score;
+    private String subject;
+    private int value;
+    private boolean success;
+
+    GameEvent() {}
+
+    void set(long sequence, Type type, String gameId, int turn, int lives, int gold, int score, String subject,
+        int value, boolean success) {
+        this.sequence = sequence;
+        this.timeMillis = System.currentTimeMillis();
+        this.type = type;
+        this.gameId = gameId;
+        this.turn = turn;
+        this.lives = lives;
+        this.gold = gold;
+        this.score = score;
+        this.subject = subject;
+        this.value = value;
+        this.success = success;
+    }
+
+    /** Position in the bus, increasing by one per published event. */
+    public long sequence() {
+        return sequence;
+    }
+
+    /** Wall-clock time the event was published. */
+    public long timeMillis() {
+        return timeMillis;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public String gameId() {
+        return gameId;
+    }
+
+    public int turn() {
+        return turn;
+    }
+
+    public int lives() {
+        return lives;
+    }
+
+    public int gold() {
+        return gold;
+    }
+
+    public int score() {
+        return score;
+    }
+
+    /** Ad or item id, null for types without one. */
+    public String subject() {
+        return subject;
+    }
+
+    public int value() {
+        return value;
+    }
+
+    public boolean success() {
+        return success;
+    }
+
+    /** One line, e.g. {@code SOLVED game=abc turn=3 lives=2 gold=40 score=35 subject=x1 value=35 success=true}. */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(96).append(type)
+            .append(" game=").append(gameId)
+            .append(" turn=").append(turn)
+            .append(" lives=").append(lives)
+            .append(" gold=").append(gold)
+            .append(" score=").append(score);
+        if (subject != null) sb.append(" subject=").append(subject);
+        if (type == Type.BOARD_DECODED || type == Type.AD_CHOSEN || type == Type.SOLVED) sb.append(" value=").append(value);
+        if (type == Type.SOLVED) sb.append(" success=").append(success);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,233 @@
+package ee.bigbank.task.events;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ee.bigbank.task.api.dto.GameStartResponse;
+import ee.bigbank.task.api.dto.Message;
+
+/**
+ * Typed game events on a preallocated ring of {@link GameEvent} slots, drained by each {@link GameEventConsumer} on
+ * a thread of its own.
+ * <p>
+ * Publishing never blocks or allocates: a game thread claims the next sequence with a CAS on the cursor, fills the
+ * slot and publishes it by storing the sequence into that slot's entry of an {@link AtomicLongArray}. If the slowest
+ * consumer is a whole ring behind, the event is dropped and counted instead of waiting for it. Every consumer keeps
+ * its own sequence, sees every event it has not fallen behind on, in order, and spins briefly, then parks while the
+ * ring is empty. Events published while the bus is closing may be lost.
+ */
+public final class GameEventBus implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(GameEventBus.class);
+
+    public static final int DEFAULT_CAPACITY = 16 * 1024;
+
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long PARK_NANOS = 1_000_000;
+
+    private final GameEvent[] ring;
+    private final int mask;
+    /** Sequence last published into each slot, -1 before the first. */
+    private final AtomicLongArray published;
+    /** Last claimed sequence. */
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final Drain[] drains;
+    /** Lowest consumer sequence seen by the last producer that looked; stale values only cause a recheck. */
+    private volatile long gatingSequence = -1;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile boolean closed;
+
+    public GameEventBus(GameEventConsumer... consumers) {
+        this(DEFAULT_CAPACITY, List.of(consumers));
+    }
+
+    /**
+     * Starts one daemon thread per consumer.
+     *
+     * @param capacity ring size, rounded up to a power of two
+     */
+    public GameEventBus(int capacity, List<GameEventConsumer> consumers) {
+        if (capacity < 1 || capacity > 1 << 30) throw new IllegalArgumentException("capacity must be 1..2^30");
+        if (consumers.isEmpty()) throw new IllegalArgumentException("At least one consumer is required");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        if (capacity == 1) size = 1;
+        this.ring = new GameEvent[size];
+        for (int i = 0; i < size; i++) ring[i] = new GameEvent();
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) published.set(i, -1);
+        this.drains = new Drain[consumers.size()];
+        for (int i = 0; i < drains.length; i++) drains[i] = new Drain(consumers.get(i));
+        for (int i = 0; i < drains.length; i++) {
+            drains[i].thread = Thread.ofPlatform().daemon().name("game-events-" + i).start(drains[i]);
+        }
+    }
+
+    /** {@code game} is the state the turn starts from. */
+    public boolean turnStarted(GameStartResponse game) {
+        return publish(GameEvent.Type.TURN_STARTED, game, null, 0, false);
+    }
+
+    public boolean boardDecoded(GameStartResponse game, int ads) {
+        return publish(GameEvent.Type.BOARD_DECODED, game, null, ads, false);
+    }
+
+    public boolean adChosen(GameStartResponse game, Message ad) {
+        return publish(GameEvent.Type.AD_CHOSEN, game, ad.adId(), ad.reward(), false);
+    }
+
+    /** {@code game} is the state after the solve. */
+    public boolean solved(GameStartResponse game, Message ad, boolean success) {
+        return publish(GameEvent.Type.SOLVED, game, ad.adId(), ad.reward(), success);
+    }
+
+    /** {@code game} is the state after the purchase. */
+    public boolean itemBought(GameStartResponse game, String itemId) {
+        return publish(GameEvent.Type.ITEM_BOUGHT, game, itemId, 0, false);
+    }
+
+    public boolean gameOver(GameStartResponse game) {
+        return publish(GameEvent.Type.GAME_OVER, game, null, 0, false);
+    }
+
+    public int capacity() {
+        return ring.length;
+    }
+
+    /** Sequences claimed so far, including events still being written. */
+    public long published() {
+        return cursor.get() + 1;
+    }
+
+    /** Events not published because the ring was full or the bus closed. */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /** Events a consumer threw on; the consumer goes on with the next event. */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /** Lets every consumer drain what has been published, calls {@link GameEventConsumer#onClose()} and stops. */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        for (Drain drain : drains) {
+            try {
+                drain.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** @return false if the event was dropped */
+    private boolean publish(GameEvent.Type type, GameStartResponse game, String subject, int value, boolean success) {
+        long sequence = claim();
+        if (sequence < 0) return false;
+        int index = (int) (sequence & mask);
+        ring[index].set(sequence, type, game.gameId(), game.turn(), game.lives(), game.gold(), game.score(), subject,
+            value, success);
+        published.set(index, sequence);
+        return true;
+    }
+
+    /** Next free sequence, or -1 if the slowest consumer has not released the slot yet or the bus is closed. */
+    private long claim() {
+        if (closed) {
+            dropped.increment();
+            return -1;
+        }
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            long wrapPoint = next - ring.length;
+            if (wrapPoint > gatingSequence) {
+                long slowest = slowestConsumer();
+                gatingSequence = slowest;
+                if (wrapPoint > slowest) {
+                    dropped.increment();
+                    return -1;
+                }
+            }
+        } while (!cursor.compareAndSet(current, next));
+        return next;
+    }
+
+    private long slowestConsumer() {
+        long slowest = Long.MAX_VALUE;
+        for (Drain drain : drains) slowest = Math.min(slowest, drain.sequence.get());
+        return slowest;
+    }
+
+    private final class Drain implements Runnable {
+
+        final GameEventConsumer consumer;
+        /** Last sequence handed to the consumer. */
+        final AtomicLong sequence = new AtomicLong(-1);
+        Thread thread;
+        private boolean warned;
+
+        Drain(GameEventConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            int idle = 0;
+            while (true) {
+                if (published.get((int) (next & mask)) == next) {
+                    long last = next;
+                    while (last - next < mask && published.get((int) ((last + 1) & mask)) == last + 1) last++;
+                    for (long s = next; s <= last; s++) {
+                        handle(ring[(int) (s & mask)], s == last);
+                        sequence.lazySet(s);
+                    }
+                    next = last + 1;
+                    idle = 0;
+                } else if (closed && next > cursor.get()) {
+                    break;
+                } else if (idle < SPINS) {
+                    idle++;
+                    Thread.onSpinWait();
+                } else if (idle < SPINS + YIELDS) {
+                    idle++;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+            try {
+                consumer.onClose();
+            } catch (RuntimeException e) {
+                log.warn("Event consumer {} failed to close: {}", consumer, e.getMessage());
+            }
+        }
+
+        private void handle(GameEvent event, boolean endOfBatch) {
+            try {
+                consumer.onEvent(event, endOfBatch);
+            } catch (RuntimeException e) {
+                failures.increment();
+                if (!warned) {
+                    warned = true;
+                    log.warn("Event consumer {} failed on {}: {}", consumer, event.type(), e.getMessage());
+                }
+            }
+        }
+    }
+}
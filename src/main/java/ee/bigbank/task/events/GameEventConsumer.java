@@ -0,0 +1,18 @@
+package ee.bigbank.task.events;
+
+/**
+ * Drains a {@link GameEventBus} on a thread of its own. Each consumer sees every event published while it keeps
+ * up, in sequence order; a slow consumer only makes the bus drop new events once the ring is full.
+ */
+@FunctionalInterface
+public interface GameEventConsumer {
+
+    /**
+     * @param event      the ring slot, reused once this call returns
+     * @param endOfBatch true if no further event is available right now; a good point to flush buffered output
+     */
+    void onEvent(GameEvent event, boolean endOfBatch);
+
+    /** Called on the consumer thread after the last event, when the bus is closed. */
+    default void onClose() {}
+}
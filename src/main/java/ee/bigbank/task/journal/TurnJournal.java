@@ -0,0 +1,204 @@
+package ee.bigbank.task.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ee.bigbank.task.core.TurnListener;
+import ee.bigbank.task.core.model.TurnRecord;
+
+/**
+ * Append-only binary journal of played turns, backed by fixed-size memory-mapped segment files.
+ * <p>
+ * Each record is a 4-byte length followed by the {@link TurnRecordCodec} body, padded to 4 bytes.
+ * Writers encode into a thread-local buffer, reserve their slot with a CAS on the segment position,
+ * mark it reserved by storing the negated length, copy the body in parallel and publish the positive
+ * length last. A slot whose writer died before committing is therefore either all zeros or carries
+ * its size, and the reader skips it instead of losing every record committed after it.
+ * Before marking its slot, a writer raises the segment's end in the header, so readers stop at the last
+ * reserved slot instead of scanning the preallocated, still empty rest of the segment.
+ * The lock is only taken to roll over to a new segment.
+ */
+public final class TurnJournal implements TurnListener, AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    static final int MAGIC = 0x4D544A32;
+    /** Header: magic, segment index, end of the reserved slots. */
+    static final int HEADER_BYTES = 12;
+    static final int END_OFFSET = 8;
+    static final VarHandle LENGTH = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final int INITIAL_SCRATCH = 4 * 1024;
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_SCRATCH));
+
+    private final Path dir;
+    private final int segmentSize;
+    private final ReentrantLock rollLock = new ReentrantLock();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile Segment current;
+    private volatile boolean closed;
+
+    private TurnJournal(Path dir, int segmentSize, int firstIndex) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.current = openSegment(firstIndex);
+    }
+
+    public static TurnJournal open(Path dir) throws IOException {
+        return open(dir, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /** Opens a journal in {@code dir}, starting a new segment after any already there. */
+    public static TurnJournal open(Path dir, int segmentSize) throws IOException {
+        if (segmentSize < 1024) throw new IllegalArgumentException("segmentSize must be at least 1024");
+        Files.createDirectories(dir);
+        List<Path> existing = TurnJournalReader.segments(dir);
+        int next = existing.isEmpty() ? 0 : TurnJournalReader.segmentIndex(existing.getLast()) + 1;
+        return new TurnJournal(dir, segmentSize, next);
+    }
+
+    @Override
+    public void onTurn(TurnRecord turn) {
+        append(turn);
+    }
+
+    /**
+     * Appends {@code record}. Records larger than a segment are dropped and counted.
+     *
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void append(TurnRecord record) {
+        if (closed) throw new IllegalStateException("Journal is closed");
+        ByteBuffer body = encode(record);
+        if (body == null) {
+            dropped.increment();
+            return;
+        }
+        int length = body.position();
+        int slot = Integer.BYTES + align(length);
+        while (true) {
+            Segment segment = current;
+            int start = segment.position.get();
+            if (start + slot > segmentSize) {
+                roll(segment);
+                continue;
+            }
+            if (segment.position.compareAndSet(start, start + slot)) {
+                raiseEnd(segment.buffer, start + slot);
+                LENGTH.setRelease(segment.buffer, start, -length);
+                segment.buffer.put(start + Integer.BYTES, body.array(), 0, length);
+                LENGTH.setRelease(segment.buffer, start, length);
+                records.increment();
+                return;
+            }
+        }
+    }
+
+    public long records() {
+        return records.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /** Flushes every segment to disk. Appends racing with close may or may not be included. */
+    @Override
+    public void close() {
+        rollLock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            for (Segment segment : segments) segment.buffer.force();
+        } finally {
+            rollLock.unlock();
+        }
+    }
+
+    private ByteBuffer encode(TurnRecord record) {
+        int limit = segmentSize - HEADER_BYTES - Integer.BYTES;
+        ByteBuffer scratch = SCRATCH.get();
+        while (true) {
+            scratch.clear();
+            try {
+                TurnRecordCodec.encode(record, scratch);
+                return scratch.position() <= limit ? scratch : null;
+            } catch (BufferOverflowException e) {
+                if (scratch.capacity() >= limit) return null;
+                scratch = ByteBuffer.allocate(Math.min(scratch.capacity() * 2, limit));
+                SCRATCH.set(scratch);
+            }
+        }
+    }
+
+    private void roll(Segment full) {
+        rollLock.lock();
+        try {
+            if (closed) throw new IllegalStateException("Journal is closed");
+            if (current == full) current = openSegment(full.index + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rollLock.unlock();
+        }
+    }
+
+    private Segment openSegment(int index) throws IOException {
+        Path file = dir.resolve(TurnJournalReader.segmentName(index));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, index);
+        buffer.putInt(END_OFFSET, HEADER_BYTES);
+        Segment segment = new Segment(index, buffer);
+        segments.add(segment);
+        return segment;
+    }
+
+    /** Raises the header's end to {@code end} unless a writer with a later slot already has. */
+    private static void raiseEnd(ByteBuffer buffer, int end) {
+        int seen;
+        do {
+            seen = (int) LENGTH.getAcquire(buffer, END_OFFSET);
+        } while (seen < end && !LENGTH.compareAndSet(buffer, END_OFFSET, seen, end));
+    }
+
+    private static int align(int length) {
+        return (length + 3) & ~3;
+    }
+
+    private static final class Segment {
+        final int index;
+        final MappedByteBuffer buffer;
+        final AtomicInteger position = new AtomicInteger(HEADER_BYTES);
+
+        Segment(int index, MappedByteBuffer buffer) {
+            this.index = index;
+            this.buffer = buffer;
+        }
+    }
+}
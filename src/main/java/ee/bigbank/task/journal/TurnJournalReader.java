@@ -0,0 +1,88 @@
+package ee.bigbank.task.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import ee.bigbank.task.core.model.TurnRecord;
+
+/**
+ * Reads segments written by {@link TurnJournal}. Segments are independent, so they can be read in parallel.
+ */
+public final class TurnJournalReader {
+
+    private static final Pattern SEGMENT = Pattern.compile("journal-(\\d{5,})\\.bin");
+
+    private TurnJournalReader() {}
+
+    /** Segment files in {@code dir}, oldest first. Empty if the directory does not exist. */
+    public static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                .filter(p -> SEGMENT.matcher(p.getFileName().toString()).matches())
+                .sorted((a, b) -> Integer.compare(segmentIndex(a), segmentIndex(b)))
+                .toList();
+        }
+    }
+
+    /**
+     * Feeds every committed record of {@code segment} to {@code consumer}, in append order. Returns the count.
+     * <p>
+     * Reading stops at the end of the reserved slots recorded in the header. A negative length is a slot reserved
+     * by a writer that never committed; it is skipped by its size. A zero length is a slot reserved without even its
+     * size written, whose body is then still all zeros: the reader skips zero words up to the next non-zero length.
+     */
+    public static int read(Path segment, Consumer<? super TurnRecord> consumer) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < TurnJournal.HEADER_BYTES || buffer.getInt(0) != TurnJournal.MAGIC) {
+            throw new IOException("Not a turn journal segment: " + segment);
+        }
+        int end = Math.min(buffer.limit(), (int) TurnJournal.LENGTH.getAcquire(buffer, TurnJournal.END_OFFSET));
+        int count = 0;
+        int position = TurnJournal.HEADER_BYTES;
+        while (position + Integer.BYTES <= end) {
+            int length = (int) TurnJournal.LENGTH.getAcquire(buffer, position);
+            if (length == 0) {
+                position += Integer.BYTES;
+                continue;
+            }
+            int size = Math.abs(length);
+            if (length == Integer.MIN_VALUE || position + Integer.BYTES + size > end) break;
+            if (length > 0) {
+                consumer.accept(TurnRecordCodec.decode(buffer.slice(position + Integer.BYTES, length)));
+                count++;
+            }
+            position += Integer.BYTES + ((size + 3) & ~3);
+        }
+        return count;
+    }
+
+    public static List<TurnRecord> readAll(Path dir) throws IOException {
+        List<TurnRecord> records = new ArrayList<>();
+        for (Path segment : segments(dir)) read(segment, records::add);
+        return records;
+    }
+
+    static String segmentName(int index) {
+        return "journal-%05d.bin".formatted(index);
+    }
+
+    static int segmentIndex(Path segment) {
+        Matcher m = SEGMENT.matcher(segment.getFileName().toString());
+        if (!m.matches()) throw new IllegalArgumentException("Not a segment file: " + segment);
+        return Integer.parseInt(m.group(1));
+    }
+}
@@ -0,0 +1,102 @@
+package ee.bigbank.task.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.SolveResponse;
+import ee.bigbank.task.core.model.TurnRecord;
+
+/**
+ * Binary layout of a {@link TurnRecord} body (the journal adds the length header).
+ * Integers are big-endian; strings are a signed short byte length (-1 = null) followed by UTF-8 bytes,
+ * truncated to at most {@link Short#MAX_VALUE} bytes at a character boundary.
+ */
+final class TurnRecordCodec {
+
+    static final short VERSION = 1;
+
+    private TurnRecordCodec() {}
+
+    /** Writes {@code record} at the buffer's position; throws BufferOverflowException if it does not fit. */
+    static void encode(TurnRecord record, ByteBuffer out) {
+        out.putShort(VERSION);
+        putString(out, record.gameId());
+        out.putInt(record.turn());
+        out.putInt(record.lives());
+        out.putInt(record.gold());
+        out.putInt(record.score());
+        putString(out, record.chosenAdId());
+        SolveResponse solve = record.solve();
+        if (solve == null) {
+            out.put((byte) 0);
+        } else {
+            out.put((byte) (solve.success() ? 2 : 1));
+            out.putInt(solve.lives());
+            out.putInt(solve.gold());
+            out.putInt(solve.score());
+            out.putInt(solve.highScore());
+            out.putInt(solve.turn());
+            putString(out, solve.message());
+        }
+        putString(out, record.purchase());
+        List<Message> board = record.board();
+        out.putShort((short) Math.min(board.size(), Short.MAX_VALUE));
+        for (int i = 0; i < board.size() && i < Short.MAX_VALUE; i++) {
+            Message m = board.get(i);
+            putString(out, m.adId());
+            putString(out, m.message());
+            out.putInt(m.reward());
+            out.putInt(m.expiresIn());
+            putString(out, m.probability());
+            putString(out, m.encrypted());
+        }
+    }
+
+    static TurnRecord decode(ByteBuffer in) {
+        short version = in.getShort();
+        if (version != VERSION) throw new IllegalStateException("Unsupported turn record version " + version);
+        String gameId = getString(in);
+        int turn = in.getInt();
+        int lives = in.getInt();
+        int gold = in.getInt();
+        int score = in.getInt();
+        String chosenAdId = getString(in);
+        SolveResponse solve = null;
+        byte solveTag = in.get();
+        if (solveTag != 0) {
+            solve = new SolveResponse(solveTag == 2, in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+                getString(in));
+        }
+        String purchase = getString(in);
+        int boardSize = in.getShort();
+        List<Message> board = new ArrayList<>(boardSize);
+        for (int i = 0; i < boardSize; i++) {
+            board.add(new Message(getString(in), getString(in), in.getInt(), in.getInt(), getString(in), getString(in)));
+        }
+        return new TurnRecord(gameId, turn, lives, gold, score, board, chosenAdId, solve, purchase);
+    }
+
+    private static void putString(ByteBuffer out, String s) {
+        if (s == null) {
+            out.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, Short.MAX_VALUE);
+        // never cut inside a multi-byte sequence: back off from continuation bytes (10xxxxxx)
+        while (length < bytes.length && length > 0 && (bytes[length] & 0xC0) == 0x80) length--;
+        out.putShort((short) length);
+        out.put(bytes, 0, length);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getShort();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,159 @@
+package ee.bigbank.task.launch;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Launches a one-game {@link TrainingRun} in fresh JVMs and reports time-to-first-request and total wall time
+ * per launch variant: the classpath this benchmark runs from, the same with the AppCDS archive next to it
+ * ({@code mugloar.jsa}, skipped if absent), and optionally the Spring Boot fat jar for comparison.
+ * Run from the slim jar so the first variant is the slim launcher:
+ * {@code java -cp target/slim/mugloar-task-0.0.1-SNAPSHOT-slim.jar ee.bigbank.task.launch.StartupBenchmark 10 target/mugloar-task-0.0.1-SNAPSHOT.jar}
+ */
+public final class StartupBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    static final String ARCHIVE = "mugloar.jsa";
+    private static final String FAT_JAR_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+
+    /** A way of starting the JVM: everything before the {@link TrainingRun} arguments. */
+    record Variant(String name, List<String> command) {
+    }
+
+    /** Milliseconds per launch, in launch order. */
+    record Result(String name, long[] firstRequestMillis, long[] wallMillis) {
+    }
+
+    private final List<Variant> variants;
+    private final int runs;
+
+    StartupBenchmark(List<Variant> variants, int runs) {
+        if (runs < 1) throw new IllegalArgumentException("runs must be >= 1");
+        this.variants = List.copyOf(variants);
+        this.runs = runs;
+    }
+
+    /** Variants for the current classpath, its AppCDS archive if present, and {@code fatJar} if not null. */
+    static List<Variant> variants(Path fatJar) {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = System.getProperty("java.class.path");
+        String main = TrainingRun.class.getName();
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("classpath", List.of(java, "-cp", classpath, main)));
+        Path archive = archiveBeside(classpath);
+        if (archive != null) {
+            variants.add(new Variant("classpath+cds",
+                List.of(java, "-XX:SharedArchiveFile=" + archive, "-cp", classpath, main)));
+        }
+        if (fatJar != null) {
+            variants.add(new Variant("fat-jar",
+                List.of(java, "-Dloader.main=" + main, "-cp", fatJar.toString(), FAT_JAR_LAUNCHER)));
+        }
+        return variants;
+    }
+
+    private static Path archiveBeside(String classpath) {
+        if (classpath.contains(File.pathSeparator) || !classpath.endsWith(".jar")) return null;
+        Path dir = Path.of(classpath).toAbsolutePath().getParent();
+        Path archive = dir == null ? null : dir.resolve(ARCHIVE);
+        return archive != null && Files.isRegularFile(archive) ? archive : null;
+    }
+
+    /** Runs every variant {@code runs} times, interleaved so drift in machine load hits all variants alike. */
+    List<Result> run() {
+        long[][] first = new long[variants.size()][runs];
+        long[][] wall = new long[variants.size()][runs];
+        for (int run = 0; run < runs; run++) {
+            for (int v = 0; v < variants.size(); v++) {
+                long started = System.nanoTime();
+                first[v][run] = launch(variants.get(v));
+                wall[v][run] = (System.nanoTime() - started) / 1_000_000;
+            }
+        }
+        List<Result> results = new ArrayList<>(variants.size());
+        for (int v = 0; v < variants.size(); v++) {
+            results.add(new Result(variants.get(v).name(), first[v], wall[v]));
+        }
+        return results;
+    }
+
+    /** Starts one JVM and waits for it, returning the time to first request it reported. */
+    private static long launch(Variant variant) {
+        List<String> command = new ArrayList<>(variant.command());
+        command.add("1");
+        Process process;
+        try {
+            process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot launch " + variant.name(), e);
+        }
+        long reported = -1;
+        List<String> output = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line; (line = in.readLine()) != null; ) {
+                if (line.startsWith(TrainingRun.MARKER)) {
+                    reported = Long.parseLong(line.substring(TrainingRun.MARKER.length()).trim());
+                } else {
+                    output.add(line);
+                }
+            }
+            int exit = process.waitFor();
+            if (exit != 0 || reported < 0) {
+                throw new IllegalStateException(variant.name() + " exited with " + exit + ":" + System.lineSeparator()
+                    + String.join(System.lineSeparator(), output));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read output of " + variant.name(), e);
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + variant.name(), e);
+        }
+        return reported;
+    }
+
+    /** Results as a table, in variant order. */
+    static String format(List<Result> results) {
+        StringBuilder out = new StringBuilder(String.format("%-16s %6s %14s %14s %12s %12s%n",
+            "variant", "runs", "ttfr p50 ms", "ttfr min ms", "wall p50 ms", "wall min ms"));
+        for (Result r : results) {
+            out.append(String.format("%-16s %6d %14d %14d %12d %12d%n", r.name(), r.firstRequestMillis().length,
+                median(r.firstRequestMillis()), min(r.firstRequestMillis()),
+                median(r.wallMillis()), min(r.wallMillis())));
+        }
+        return out.toString();
+    }
+
+    /** Lower median. */
+    static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(sorted.length - 1) / 2];
+    }
+
+    private static long min(long[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+
+    /** Optional arguments: {@code [runs] [fatJar]}, default 10 runs and no fat jar variant. */
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        Path fatJar = args.length > 1 ? Path.of(args[1]) : null;
+        List<Variant> variants = variants(fatJar);
+        List<Result> results = new StartupBenchmark(variants, runs).run();
+        log.info("Startup benchmark finished: runs={}{}{}", runs, System.lineSeparator(), format(results));
+    }
+}
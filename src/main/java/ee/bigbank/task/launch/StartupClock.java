@@ -0,0 +1,27 @@
+package ee.bigbank.task.launch;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+
+import ee.bigbank.task.util.HttpMetrics;
+
+/**
+ * Time since the JVM was started, as reported by the runtime MXBean. The start time is taken before any
+ * class of the application is loaded, so the measurement includes JVM boot, class loading and linking.
+ */
+public final class StartupClock {
+
+    private StartupClock() {
+    }
+
+    public static Instant jvmStart() {
+        return Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+
+    /** Time from JVM start to the first answered API request, null if no request has been answered. */
+    public static Duration timeToFirstResponse(HttpMetrics metrics) {
+        Instant first = metrics.firstResponseAt();
+        return first == null ? null : Duration.between(jvmStart(), first);
+    }
+}
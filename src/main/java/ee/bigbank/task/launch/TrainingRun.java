@@ -0,0 +1,68 @@
+package ee.bigbank.task.launch;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.core.FleetRunner;
+import ee.bigbank.task.core.GameOptions;
+import ee.bigbank.task.core.GameService;
+import ee.bigbank.task.core.MessageDecoder;
+import ee.bigbank.task.core.ShopCatalogCache;
+import ee.bigbank.task.sim.MugloarSimulator;
+import ee.bigbank.task.sim.SimulatorConfig;
+import ee.bigbank.task.util.HedgePolicy;
+import ee.bigbank.task.util.HttpHelper;
+import ee.bigbank.task.util.LimiterPolicy;
+import ee.bigbank.task.util.RetryPolicies;
+import ee.bigbank.task.util.TransportProfile;
+
+/**
+ * Plays games against an in-process {@link MugloarSimulator} through the same client stack
+ * {@code MugloarTaskApplication} builds, so it loads the same classes a real run does without touching the network.
+ * The slim build runs it with {@code -XX:ArchiveClassesAtExit} to record the AppCDS archive, and
+ * {@link StartupBenchmark} launches it in fresh JVMs to time startup.
+ */
+public final class TrainingRun {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainingRun.class);
+
+    /** Prefix of the line {@link #main} prints, followed by the time to first request in milliseconds. */
+    static final String MARKER = "time-to-first-request-ms=";
+
+    private TrainingRun() {
+    }
+
+    /**
+     * Plays {@code games} games, a fleet sharing one client when more than one.
+     *
+     * @return time from JVM start to the first answered request
+     */
+    public static Duration run(int games) {
+        if (games < 1) throw new IllegalArgumentException("games must be >= 1");
+        try (MugloarSimulator sim = MugloarSimulator.start(SimulatorConfig.defaults());
+            HttpHelper http = new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), RetryPolicies.defaults(),
+                HedgePolicy.disabled(), games > 1 ? LimiterPolicy.defaults() : LimiterPolicy.disabled())) {
+            GameClient client = new GameClient(sim.baseUrl(), http);
+            client.warmUp();
+            GameService service = new GameService(client, new MessageDecoder(),
+                GameOptions.defaults().withCatalogs(games > 1 ? ShopCatalogCache.defaults() : null));
+            new FleetRunner(service, games).run(games);
+            return StartupClock.timeToFirstResponse(http.metrics());
+        }
+    }
+
+    /** Optional argument: {@code [games]}, default 1. */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        Duration ttfr = run(games);
+        log.info("Training run finished: games={} uptime={} ms", games,
+            Duration.between(StartupClock.jvmStart(), Instant.now()).toMillis());
+        System.out.println(MARKER + ttfr.toMillis());
+    }
+}
@@ -0,0 +1,160 @@
+package ee.bigbank.task.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.core.MessageDecoder;
+import ee.bigbank.task.core.MessageSelector;
+import ee.bigbank.task.core.model.TurnRecord;
+import ee.bigbank.task.journal.TurnJournalReader;
+
+/**
+ * Replays recorded turns offline: every board is decoded again, both selectors pick from it and the
+ * expected score of each pick is compared. Work is split with fork/join, so a large corpus uses every core.
+ */
+public class ReplayEngine {
+
+    /** Turns per leaf task; small enough to balance, large enough to amortise task overhead. */
+    static final int THRESHOLD = 1024;
+
+    private final MessageDecoder decoder;
+    private final MessageSelector baseline;
+    private final MessageSelector alternative;
+    private final ForkJoinPool pool;
+
+    public ReplayEngine(MessageDecoder decoder, MessageSelector baseline, MessageSelector alternative) {
+        this(decoder, baseline, alternative, ForkJoinPool.commonPool());
+    }
+
+    public ReplayEngine(MessageDecoder decoder, MessageSelector baseline, MessageSelector alternative, ForkJoinPool pool) {
+        this.decoder = Objects.requireNonNull(decoder);
+        this.baseline = Objects.requireNonNull(baseline);
+        this.alternative = Objects.requireNonNull(alternative);
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    public ReplayReport replay(List<TurnRecord> turns) {
+        return pool.invoke(new RangeTask(turns, 0, turns.size())).toReport();
+    }
+
+    /** Replays every segment of a {@code TurnJournal} directory; segments are read in parallel. */
+    public ReplayReport replay(Path journalDir) throws IOException {
+        List<Path> segments = TurnJournalReader.segments(journalDir);
+        try {
+            return pool.invoke(new SegmentsTask(segments)).toReport();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void replayTurn(TurnRecord turn, Tally tally) {
+        List<Message> board = new ArrayList<>(turn.board().size());
+        for (Message raw : turn.board()) {
+            if (raw != null) decoder.decode(raw).ifPresent(board::add);
+        }
+        if (turn.solve() != null) {
+            tally.recordedSolves++;
+            if (turn.solve().success()) tally.recordedSuccesses++;
+        }
+        if (board.isEmpty()) return;
+
+        Optional<Message> base = baseline.select(board);
+        Optional<Message> alt = alternative.select(board);
+        tally.turns++;
+        if (base.isPresent()) {
+            tally.baselineExpected += MessageSelector.expectedScore(base.get());
+            if (base.get().adId() != null && base.get().adId().equals(turn.chosenAdId())) tally.matchedRecorded++;
+        }
+        if (alt.isPresent()) tally.alternativeExpected += MessageSelector.expectedScore(alt.get());
+        if (base.map(Message::adId).equals(alt.map(Message::adId))) tally.agreed++;
+    }
+
+    /** Mutable per-task totals; merged up the fork/join tree. */
+    private static final class Tally {
+        long turns;
+        long agreed;
+        long matchedRecorded;
+        double baselineExpected;
+        double alternativeExpected;
+        long recordedSolves;
+        long recordedSuccesses;
+
+        Tally add(Tally other) {
+            turns += other.turns;
+            agreed += other.agreed;
+            matchedRecorded += other.matchedRecorded;
+            baselineExpected += other.baselineExpected;
+            alternativeExpected += other.alternativeExpected;
+            recordedSolves += other.recordedSolves;
+            recordedSuccesses += other.recordedSuccesses;
+            return this;
+        }
+
+        ReplayReport toReport() {
+            return new ReplayReport(turns, agreed, matchedRecorded, baselineExpected, alternativeExpected,
+                recordedSolves, recordedSuccesses);
+        }
+    }
+
+    private final class RangeTask extends RecursiveTask<Tally> {
+        private final List<TurnRecord> turns;
+        private final int from;
+        private final int to;
+
+        RangeTask(List<TurnRecord> turns, int from, int to) {
+            this.turns = turns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= THRESHOLD) {
+                Tally tally = new Tally();
+                for (int i = from; i < to; i++) replayTurn(turns.get(i), tally);
+                return tally;
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask left = new RangeTask(turns, from, mid);
+            left.fork();
+            Tally right = new RangeTask(turns, mid, to).compute();
+            return left.join().add(right);
+        }
+    }
+
+    /** One subtask per segment: read it, then split its turns with {@link RangeTask}. */
+    private final class SegmentsTask extends RecursiveTask<Tally> {
+        private final List<Path> segments;
+
+        SegmentsTask(List<Path> segments) {
+            this.segments = segments;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (segments.size() == 1) {
+                List<TurnRecord> turns = new ArrayList<>();
+                try {
+                    TurnJournalReader.read(segments.getFirst(), turns::add);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return new RangeTask(turns, 0, turns.size()).compute();
+            }
+            if (segments.isEmpty()) return new Tally();
+            int mid = segments.size() >>> 1;
+            SegmentsTask left = new SegmentsTask(segments.subList(0, mid));
+            left.fork();
+            Tally right = new SegmentsTask(segments.subList(mid, segments.size())).compute();
+            return left.join().add(right);
+        }
+    }
+}
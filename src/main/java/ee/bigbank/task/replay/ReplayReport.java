@@ -0,0 +1,43 @@
+package ee.bigbank.task.replay;
+
+/**
+ * Outcome of replaying recorded turns through a baseline and an alternative {@code MessageSelector}.
+ *
+ * @param turns               turns with at least one decodable ad
+ * @param agreed              turns where both selectors picked the same ad
+ * @param matchedRecorded     turns where the baseline picked the ad that was actually solved
+ * @param baselineExpected    sum of probability × reward over the baseline's picks
+ * @param alternativeExpected sum of probability × reward over the alternative's picks
+ * @param recordedSolves      turns with a recorded solve response
+ * @param recordedSuccesses   recorded solves that succeeded
+ */
+public record ReplayReport(
+    long turns,
+    long agreed,
+    long matchedRecorded,
+    double baselineExpected,
+    double alternativeExpected,
+    long recordedSolves,
+    long recordedSuccesses
+) {
+
+    /** Expected score the alternative gains (negative: loses) over the baseline across all turns. */
+    public double expectedDifference() {
+        return alternativeExpected - baselineExpected;
+    }
+
+    /** {@link #expectedDifference()} per replayed turn, 0 if nothing was replayed. */
+    public double expectedDifferencePerTurn() {
+        return turns == 0 ? 0.0 : expectedDifference() / turns;
+    }
+
+    /** Share of turns where both selectors agreed, 0 if nothing was replayed. */
+    public double agreementRate() {
+        return turns == 0 ? 0.0 : (double) agreed / turns;
+    }
+
+    /** Observed success rate of the recorded solves, 0 if there were none. */
+    public double recordedSuccessRate() {
+        return recordedSolves == 0 ? 0.0 : (double) recordedSuccesses / recordedSolves;
+    }
+}
@@ -0,0 +1,183 @@
+package ee.bigbank.task.results;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import ee.bigbank.task.api.dto.ReputationResponse;
+import ee.bigbank.task.core.model.GameResult;
+import ee.bigbank.task.results.ResultColumns.Column;
+
+/**
+ * One block of a {@link ResultStore} segment during a scan. Columns are decoded on first access into arrays the
+ * scan reuses for every block, so reading only scores touches only the score bytes and a scan allocates little
+ * beyond its result. Only valid inside the visitor call it was passed to.
+ */
+public final class ResultBlock {
+
+    private static final int COLUMNS = Column.ALL.length;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private ByteBuffer body;
+    private int rows;
+    private long minMillis;
+    private long maxMillis;
+    private final int[] columnStart = new int[COLUMNS];
+    private final int[] columnLength = new int[COLUMNS];
+    private int decoded;
+
+    private long[] timestamps = new long[0];
+    private int[] strategyIndexes = new int[0];
+    private String[] strategies = new String[0];
+    private String[] gameIds = new String[0];
+    private final int[][] ints = new int[COLUMNS][0];
+
+    ResultBlock() {}
+
+    /** Points this view at a block body; returns false if its column table does not fit the body. */
+    boolean reset(ByteBuffer body, int rows, long minMillis, long maxMillis) {
+        this.body = body;
+        this.rows = rows;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.decoded = 0;
+        int position = COLUMNS * Integer.BYTES;
+        if (body.limit() < position) return false;
+        for (int i = 0; i < COLUMNS; i++) {
+            int length = body.getInt(i * Integer.BYTES);
+            if (length < 0 || position + length > body.limit()) return false;
+            columnStart[i] = position;
+            columnLength[i] = length;
+            position += length;
+        }
+        return true;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public Instant minFinishedAt() {
+        return Instant.ofEpochMilli(minMillis);
+    }
+
+    public Instant maxFinishedAt() {
+        return Instant.ofEpochMilli(maxMillis);
+    }
+
+    public long finishedAtMillis(int row) {
+        check(row);
+        if (!isDecoded(Column.TIMESTAMP)) decodeTimestamps();
+        return timestamps[row];
+    }
+
+    /** Days since 1970-01-01 (UTC) the game finished on. */
+    public long epochDay(int row) {
+        return Math.floorDiv(finishedAtMillis(row), MILLIS_PER_DAY);
+    }
+
+    /** UTC day the game finished on. */
+    public LocalDate day(int row) {
+        return LocalDate.ofEpochDay(epochDay(row));
+    }
+
+    public String strategy(int row) {
+        check(row);
+        if (!isDecoded(Column.STRATEGY)) decodeStrategies();
+        return strategies[strategyIndexes[row]];
+    }
+
+    public String gameId(int row) {
+        check(row);
+        if (!isDecoded(Column.GAME_ID)) decodeGameIds();
+        return gameIds[row];
+    }
+
+    public int score(int row) {
+        return intColumn(Column.SCORE, row);
+    }
+
+    public int turns(int row) {
+        return intColumn(Column.TURNS, row);
+    }
+
+    public int gold(int row) {
+        return intColumn(Column.GOLD, row);
+    }
+
+    public int lives(int row) {
+        return intColumn(Column.LIVES, row);
+    }
+
+    /** Reputation of the row, null if the game never investigated. */
+    public ReputationResponse reputation(int row) {
+        int people = intColumn(Column.PEOPLE, row);
+        if (people == Integer.MIN_VALUE) return null;
+        return new ReputationResponse(people, intColumn(Column.STATE, row), intColumn(Column.UNDERWORLD, row));
+    }
+
+    /** The whole row, materialised. */
+    public StoredResult row(int row) {
+        GameResult result = new GameResult(gameId(row), score(row), turns(row), gold(row), lives(row), reputation(row));
+        return new StoredResult(Instant.ofEpochMilli(finishedAtMillis(row)), strategy(row), result);
+    }
+
+    private int intColumn(Column column, int row) {
+        check(row);
+        if (!isDecoded(column)) decodeInts(column);
+        return ints[column.ordinal()][row];
+    }
+
+    private void check(int row) {
+        if (row < 0 || row >= rows) throw new IndexOutOfBoundsException("row " + row + " of " + rows);
+    }
+
+    private boolean isDecoded(Column column) {
+        return (decoded & (1 << column.ordinal())) != 0;
+    }
+
+    private ByteBuffer column(Column column) {
+        decoded |= 1 << column.ordinal();
+        return body.slice(columnStart[column.ordinal()], columnLength[column.ordinal()]);
+    }
+
+    private void decodeTimestamps() {
+        if (timestamps.length < rows) timestamps = new long[rows];
+        ByteBuffer in = column(Column.TIMESTAMP);
+        long previous = minMillis;
+        for (int i = 0; i < rows; i++) {
+            previous += ResultColumns.unZigZag(ResultColumns.getVarLong(in));
+            timestamps[i] = previous;
+        }
+    }
+
+    private void decodeStrategies() {
+        if (strategyIndexes.length < rows) strategyIndexes = new int[rows];
+        ByteBuffer in = column(Column.STRATEGY);
+        int entries = (int) ResultColumns.getVarLong(in);
+        if (strategies.length < entries) strategies = new String[entries];
+        for (int i = 0; i < entries; i++) strategies[i] = ResultColumns.getString(in);
+        for (int i = 0; i < rows; i++) strategyIndexes[i] = (int) ResultColumns.getVarLong(in);
+    }
+
+    private void decodeGameIds() {
+        if (gameIds.length < rows) gameIds = new String[rows];
+        ByteBuffer in = column(Column.GAME_ID);
+        for (int i = 0; i < rows; i++) gameIds[i] = ResultColumns.getString(in);
+    }
+
+    private void decodeInts(Column column) {
+        int[] values = ints[column.ordinal()];
+        if (values.length < rows) values = ints[column.ordinal()] = new int[rows];
+        ByteBuffer in = column(column);
+        boolean optional = ResultColumns.optional(column);
+        for (int i = 0; i < rows; i++) {
+            long raw = ResultColumns.getVarLong(in);
+            if (optional) {
+                values[i] = raw == 0 ? Integer.MIN_VALUE : (int) ResultColumns.unZigZag(raw - 1);
+            } else {
+                values[i] = (int) ResultColumns.unZigZag(raw);
+            }
+        }
+    }
+}
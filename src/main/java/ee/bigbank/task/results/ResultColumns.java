@@ -0,0 +1,186 @@
+package ee.bigbank.task.results;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import ee.bigbank.task.api.dto.ReputationResponse;
+import ee.bigbank.task.core.model.GameResult;
+
+/**
+ * Binary layout of the {@link ResultStore}.
+ * <p>
+ * A segment starts with {@link #SEGMENT_MAGIC} and {@link #VERSION}, followed by blocks. A block is a fixed header
+ * (magic, row count, min and max timestamp, body length, CRC32C of the body) and a body holding the byte length of each
+ * {@link Column} followed by the columns themselves, so a scan decodes only the columns it reads and skips whole
+ * blocks by their time range. Numbers are LEB128 varints, signed ones zig-zag encoded; timestamps are deltas from
+ * the previous row (the first from the block minimum); strategies are a per-block dictionary plus one index per row;
+ * reputation values are stored as zig-zag + 1, with 0 meaning "not investigated".
+ */
+final class ResultColumns {
+
+    static final int SEGMENT_MAGIC = 0x4D525331;
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_BYTES = 8;
+    static final int BLOCK_MAGIC = 0x4D524231;
+    static final int BLOCK_HEADER_BYTES = 32;
+    static final int MAX_BLOCK_ROWS = 1 << 16;
+
+    enum Column {
+        TIMESTAMP, STRATEGY, GAME_ID, SCORE, TURNS, GOLD, LIVES, PEOPLE, STATE, UNDERWORLD;
+
+        static final Column[] ALL = values();
+    }
+
+    private ResultColumns() {}
+
+    /** Upper bound of the encoded size of a block holding {@code rows}. */
+    static int maxBlockBytes(List<StoredResult> rows) {
+        long bytes = BLOCK_HEADER_BYTES + (long) Column.ALL.length * Integer.BYTES;
+        for (StoredResult row : rows) {
+            // timestamp 10, strategy index 5 (+ dictionary entry), game id 5 + UTF-8, 7 numeric columns 5 each
+            bytes += 10 + 5 + 5 + 3L * row.strategy().length() + 5 + 3L * row.result().gameId().length() + 7 * 5;
+        }
+        if (bytes > Integer.MAX_VALUE) throw new IllegalArgumentException("Block too large");
+        return (int) bytes;
+    }
+
+    /** Writes one block of {@code rows} at the buffer's position; the caller sizes it with {@link #maxBlockBytes}. */
+    static void encode(List<StoredResult> rows, ByteBuffer out) {
+        if (rows.isEmpty() || rows.size() > MAX_BLOCK_ROWS) throw new IllegalArgumentException("rows: " + rows.size());
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (StoredResult row : rows) {
+            long millis = row.finishedAt().toEpochMilli();
+            min = Math.min(min, millis);
+            max = Math.max(max, millis);
+        }
+        int headerAt = out.position();
+        int bodyAt = headerAt + BLOCK_HEADER_BYTES;
+        int columnAt = bodyAt + Column.ALL.length * Integer.BYTES;
+        out.position(columnAt);
+        for (Column column : Column.ALL) {
+            int start = out.position();
+            encodeColumn(column, rows, min, out);
+            out.putInt(bodyAt + column.ordinal() * Integer.BYTES, out.position() - start);
+        }
+        int end = out.position();
+        CRC32C crc = new CRC32C();
+        crc.update(out.duplicate().position(bodyAt).limit(end));
+        out.putInt(headerAt, BLOCK_MAGIC);
+        out.putInt(headerAt + 4, rows.size());
+        out.putLong(headerAt + 8, min);
+        out.putLong(headerAt + 16, max);
+        out.putInt(headerAt + 24, end - bodyAt);
+        out.putInt(headerAt + 28, (int) crc.getValue());
+    }
+
+    private static void encodeColumn(Column column, List<StoredResult> rows, long min, ByteBuffer out) {
+        switch (column) {
+            case TIMESTAMP -> {
+                long previous = min;
+                for (StoredResult row : rows) {
+                    long millis = row.finishedAt().toEpochMilli();
+                    putVarLong(out, zigZag(millis - previous));
+                    previous = millis;
+                }
+            }
+            case STRATEGY -> {
+                Map<String, Integer> dictionary = new HashMap<>();
+                int[] indexes = new int[rows.size()];
+                for (int i = 0; i < rows.size(); i++) {
+                    indexes[i] = dictionary.computeIfAbsent(rows.get(i).strategy(), s -> dictionary.size());
+                }
+                String[] entries = new String[dictionary.size()];
+                dictionary.forEach((name, index) -> entries[index] = name);
+                putVarLong(out, entries.length);
+                for (String entry : entries) putString(out, entry);
+                for (int index : indexes) putVarLong(out, index);
+            }
+            case GAME_ID -> {
+                for (StoredResult row : rows) putString(out, row.result().gameId());
+            }
+            case PEOPLE, STATE, UNDERWORLD -> {
+                for (StoredResult row : rows) {
+                    ReputationResponse reputation = row.result().reputation();
+                    putVarLong(out, reputation == null ? 0 : zigZag(reputationValue(column, reputation)) + 1);
+                }
+            }
+            default -> {
+                for (StoredResult row : rows) putVarLong(out, zigZag(intValue(column, row.result())));
+            }
+        }
+    }
+
+    private static int intValue(Column column, GameResult result) {
+        return switch (column) {
+            case SCORE -> result.score();
+            case TURNS -> result.turns();
+            case GOLD -> result.gold();
+            case LIVES -> result.lives();
+            default -> throw new IllegalArgumentException(column.name());
+        };
+    }
+
+    private static int reputationValue(Column column, ReputationResponse reputation) {
+        return switch (column) {
+            case PEOPLE -> reputation.people();
+            case STATE -> reputation.state();
+            case UNDERWORLD -> reputation.underworld();
+            default -> throw new IllegalArgumentException(column.name());
+        };
+    }
+
+    /** Whether {@code column} stores values as zig-zag + 1 with 0 for "absent". */
+    static boolean optional(Column column) {
+        return column == Column.PEOPLE || column == Column.STATE || column == Column.UNDERWORLD;
+    }
+
+    /** Checks the CRC32C of a block body. */
+    static boolean checksumMatches(ByteBuffer body, int expected) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        return (int) crc.getValue() == expected;
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(out, bytes.length);
+        out.put(bytes);
+    }
+
+    static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[(int) getVarLong(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,286 @@
+package ee.bigbank.task.results;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ee.bigbank.task.core.model.GameResult;
+
+/**
+ * Embedded append-only store of game outcomes in the columnar {@link ResultColumns} format.
+ * <p>
+ * {@link #append} only enqueues the row; one writer thread batches rows into blocks of
+ * {@link ResultStorePolicy#blockRows()}, writes a block when it is full or has waited
+ * {@link ResultStorePolicy#flushInterval()}, and calls {@code fsync} at most every
+ * {@link ResultStorePolicy#fsyncInterval()}. {@link #flush()} waits until everything appended before it is on disk.
+ * Each open starts a new segment file ({@code results-00000.col}, ...), so a crash can only lose the unsynced tail
+ * of the last segment; {@link ResultStoreReader} stops cleanly at a torn block.
+ */
+public final class ResultStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultStore.class);
+
+    private static final Object CLOSE = new Object();
+    /** How often a caller blocked on the writer rechecks that it is still running. */
+    private static final long RECHECK_MILLIS = 100;
+
+    private final Path dir;
+    private final ResultStorePolicy policy;
+    private final BlockingQueue<Object> queue;
+    private final Thread writer;
+    private final LongAdder appended = new LongAdder();
+    private volatile long written;
+    private volatile long blocks;
+    private volatile long syncs;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    // writer thread only
+    private FileChannel channel;
+    private int segmentIndex;
+    private long segmentPosition;
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private boolean dirty;
+    private long lastSync = System.nanoTime();
+
+    private ResultStore(Path dir, ResultStorePolicy policy, int firstIndex) throws IOException {
+        this.dir = dir;
+        this.policy = policy;
+        this.queue = new ArrayBlockingQueue<>(policy.queueCapacity());
+        openSegment(firstIndex);
+        this.writer = Thread.ofPlatform().daemon().name("result-store-writer").start(this::writeLoop);
+    }
+
+    public static ResultStore open(Path dir) throws IOException {
+        return open(dir, ResultStorePolicy.defaults());
+    }
+
+    /** Opens a store in {@code dir}, starting a new segment after any already there. */
+    public static ResultStore open(Path dir, ResultStorePolicy policy) throws IOException {
+        Files.createDirectories(dir);
+        List<Path> existing = ResultStoreReader.segments(dir);
+        int next = existing.isEmpty() ? 0 : ResultStoreReader.segmentIndex(existing.getLast()) + 1;
+        return new ResultStore(dir, policy, next);
+    }
+
+    /** Appends {@code result} as finished now. */
+    public void append(String strategy, GameResult result) {
+        append(new StoredResult(Instant.now(), strategy, result));
+    }
+
+    /**
+     * Enqueues {@code row} for the writer. Blocks only while {@link ResultStorePolicy#queueCapacity()} rows are
+     * already waiting.
+     *
+     * @throws IllegalStateException if the store is closed
+     * @throws UncheckedIOException if the writer has failed
+     */
+    public void append(StoredResult row) {
+        checkOpen();
+        try {
+            while (!queue.offer(row, RECHECK_MILLIS, TimeUnit.MILLISECONDS)) checkWriter();
+            appended.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted appending to the result store", e);
+        }
+    }
+
+    /** Waits until every row appended before this call is written and synced to disk. */
+    public void flush() {
+        checkOpen();
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        try {
+            while (!queue.offer(barrier, RECHECK_MILLIS, TimeUnit.MILLISECONDS)) checkWriter();
+            while (true) {
+                try {
+                    barrier.get(RECHECK_MILLIS, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    checkWriter();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted flushing the result store", e);
+        } catch (ExecutionException e) {
+            throw new UncheckedIOException("Result store write failed", (IOException) e.getCause());
+        }
+    }
+
+    /** Rows accepted by {@link #append}. */
+    public long appended() {
+        return appended.sum();
+    }
+
+    /** Rows written to a segment file (synced or not). */
+    public long written() {
+        return written;
+    }
+
+    public long blocks() {
+        return blocks;
+    }
+
+    public long syncs() {
+        return syncs;
+    }
+
+    /** Writes and syncs everything appended so far and stops the writer. Appends racing with close may be lost. */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            if (failure == null) queue.put(CLOSE);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) throw new UncheckedIOException("Result store write failed", failure);
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("Result store is closed");
+        if (failure != null) throw new UncheckedIOException("Result store write failed", failure);
+    }
+
+    /** Throws if the writer has failed or stopped, so no caller waits on it forever. */
+    private void checkWriter() {
+        if (failure != null) throw new UncheckedIOException("Result store write failed", failure);
+        if (!writer.isAlive()) throw new IllegalStateException("Result store is closed");
+    }
+
+    private void writeLoop() {
+        List<StoredResult> pending = new ArrayList<>(policy.blockRows());
+        List<Object> drained = new ArrayList<>();
+        List<CompletableFuture<Void>> barriers = new ArrayList<>();
+        long pendingSince = 0;
+        long flushNanos = policy.flushInterval().toNanos();
+        long fsyncNanos = policy.fsyncInterval().toNanos();
+        boolean closing = false;
+        try {
+            while (!closing) {
+                long now = System.nanoTime();
+                long wait = pending.isEmpty()
+                    ? (dirty ? Math.max(0, lastSync + fsyncNanos - now) : Long.MAX_VALUE)
+                    : Math.max(0, pendingSince + flushNanos - now);
+                Object first = queue.poll(wait, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    drained.add(first);
+                    queue.drainTo(drained);
+                }
+                for (Object item : drained) {
+                    if (item == CLOSE) {
+                        closing = true;
+                    } else if (item instanceof StoredResult row) {
+                        if (pending.isEmpty()) pendingSince = System.nanoTime();
+                        pending.add(row);
+                        if (pending.size() == policy.blockRows()) writeBlock(pending);
+                    } else {
+                        @SuppressWarnings("unchecked")
+                        CompletableFuture<Void> barrier = (CompletableFuture<Void>) item;
+                        barriers.add(barrier);
+                    }
+                }
+                drained.clear();
+                boolean flushDue = !pending.isEmpty() && System.nanoTime() - pendingSince >= flushNanos;
+                if (flushDue || closing || !barriers.isEmpty()) writeBlock(pending);
+                if (dirty && (closing || !barriers.isEmpty() || System.nanoTime() - lastSync >= fsyncNanos)) sync();
+                for (CompletableFuture<Void> barrier : barriers) barrier.complete(null);
+                barriers.clear();
+            }
+        } catch (IOException e) {
+            failure = e;
+            log.error("Result store write failed, {} rows not written: {}", appended.sum() - written, e.getMessage());
+            for (CompletableFuture<Void> barrier : barriers) barrier.completeExceptionally(e);
+            closeChannel();
+            failQueued(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * After a write failure, keeps taking items off the queue until the store is closed: rows are discarded and
+     * barriers failed, so callers that got past {@link #checkOpen()} just before the failure neither block on a
+     * full queue nor wait for a flush that will never happen.
+     */
+    private void failQueued(IOException failure) {
+        try {
+            while (true) {
+                Object item = queue.poll(RECHECK_MILLIS, TimeUnit.MILLISECONDS);
+                if (item == CLOSE || (item == null && closed)) return;
+                if (item instanceof CompletableFuture<?> barrier) barrier.completeExceptionally(failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBlock(List<StoredResult> rows) throws IOException {
+        if (rows.isEmpty()) return;
+        int bound = ResultColumns.maxBlockBytes(rows);
+        if (buffer.capacity() < bound) buffer = ByteBuffer.allocate(Integer.highestOneBit(bound - 1) << 1);
+        buffer.clear();
+        ResultColumns.encode(rows, buffer);
+        buffer.flip();
+        if (segmentPosition > ResultColumns.SEGMENT_HEADER_BYTES
+                && segmentPosition + buffer.remaining() > policy.segmentBytes()) {
+            if (dirty) sync();
+            channel.close();
+            openSegment(segmentIndex + 1);
+        }
+        while (buffer.hasRemaining()) segmentPosition += channel.write(buffer);
+        dirty = true;
+        written += rows.size();
+        blocks++;
+        rows.clear();
+    }
+
+    private void sync() throws IOException {
+        channel.force(false);
+        dirty = false;
+        lastSync = System.nanoTime();
+        syncs++;
+    }
+
+    private void openSegment(int index) throws IOException {
+        Path file = dir.resolve(ResultStoreReader.segmentName(index));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(ResultColumns.SEGMENT_HEADER_BYTES)
+            .putInt(ResultColumns.SEGMENT_MAGIC)
+            .putInt(ResultColumns.VERSION)
+            .flip();
+        while (header.hasRemaining()) channel.write(header);
+        segmentIndex = index;
+        segmentPosition = ResultColumns.SEGMENT_HEADER_BYTES;
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Closing result segment {} failed: {}", segmentIndex, e.getMessage());
+        }
+    }
+}
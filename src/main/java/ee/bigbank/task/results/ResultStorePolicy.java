@@ -0,0 +1,57 @@
+package ee.bigbank.task.results;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Write batching and durability settings of a {@link ResultStore}.
+ *
+ * @param blockRows     rows per column block; a block is written once it is full or {@code flushInterval} after
+ *                      its first row arrived, whichever comes first
+ * @param flushInterval longest a row waits in memory before its block is written
+ * @param fsyncInterval longest written data stays unsynced; {@link Duration#ZERO} syncs after every block
+ * @param segmentBytes  segment file size at which the next block starts a new segment
+ * @param queueCapacity rows that may wait for the writer before {@link ResultStore#append} blocks
+ */
+public record ResultStorePolicy(
+    int blockRows,
+    Duration flushInterval,
+    Duration fsyncInterval,
+    long segmentBytes,
+    int queueCapacity
+) {
+
+    public ResultStorePolicy {
+        if (blockRows < 1 || blockRows > ResultColumns.MAX_BLOCK_ROWS) {
+            throw new IllegalArgumentException("blockRows must be in [1, " + ResultColumns.MAX_BLOCK_ROWS + "]");
+        }
+        Objects.requireNonNull(flushInterval, "flushInterval");
+        Objects.requireNonNull(fsyncInterval, "fsyncInterval");
+        if (flushInterval.isNegative() || fsyncInterval.isNegative()) throw new IllegalArgumentException("intervals must be >= 0");
+        if (segmentBytes < 4096 || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentBytes must be in [4096, 2^31)");
+        }
+        if (queueCapacity < 1) throw new IllegalArgumentException("queueCapacity must be >= 1");
+    }
+
+    /** 4096-row blocks, written within 200 ms, synced at least every second, 64 MiB segments. */
+    public static ResultStorePolicy defaults() {
+        return new ResultStorePolicy(4096, Duration.ofMillis(200), Duration.ofSeconds(1), 64L * 1024 * 1024, 65_536);
+    }
+
+    public ResultStorePolicy withBlockRows(int blockRows) {
+        return new ResultStorePolicy(blockRows, flushInterval, fsyncInterval, segmentBytes, queueCapacity);
+    }
+
+    public ResultStorePolicy withFlushInterval(Duration flushInterval) {
+        return new ResultStorePolicy(blockRows, flushInterval, fsyncInterval, segmentBytes, queueCapacity);
+    }
+
+    public ResultStorePolicy withFsyncInterval(Duration fsyncInterval) {
+        return new ResultStorePolicy(blockRows, flushInterval, fsyncInterval, segmentBytes, queueCapacity);
+    }
+
+    public ResultStorePolicy withSegmentBytes(long segmentBytes) {
+        return new ResultStorePolicy(blockRows, flushInterval, fsyncInterval, segmentBytes, queueCapacity);
+    }
+}
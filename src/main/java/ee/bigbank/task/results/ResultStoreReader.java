@@ -0,0 +1,188 @@
+package ee.bigbank.task.results;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ee.bigbank.task.util.LogLinearHistogram;
+
+/**
+ * Scans segments written by {@link ResultStore}. Segments are memory-mapped and visited one {@link ResultBlock} at a
+ * time; blocks outside the requested time range are skipped by their header and only the columns a visitor reads are
+ * decoded, so aggregating millions of games needs memory for one block plus the aggregate. Score percentiles come
+ * from single-stripe {@link LogLinearHistogram}s, within ~3% of the exact value.
+ */
+public final class ResultStoreReader {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultStoreReader.class);
+
+    private static final Pattern SEGMENT = Pattern.compile("results-(\\d{5,})\\.col");
+
+    /** Key of the group a row belongs to. */
+    @FunctionalInterface
+    public interface RowKey<K> {
+        K of(ResultBlock block, int row);
+    }
+
+    private ResultStoreReader() {}
+
+    /** Segment files in {@code dir}, oldest first. Empty if the directory does not exist. */
+    public static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                .filter(p -> SEGMENT.matcher(p.getFileName().toString()).matches())
+                .sorted((a, b) -> Integer.compare(segmentIndex(a), segmentIndex(b)))
+                .toList();
+        }
+    }
+
+    /**
+     * Visits every intact block of every segment that may hold rows finished in {@code [from, to)}; null bounds are
+     * open. Blocks straddling a bound are visited whole, so visitors that need exact bounds check
+     * {@link ResultBlock#finishedAtMillis}. Returns the number of blocks visited.
+     */
+    public static long scan(Path dir, Instant from, Instant to, Consumer<ResultBlock> visitor) throws IOException {
+        long fromMillis = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long toMillis = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        ResultBlock block = new ResultBlock();
+        long visited = 0;
+        for (Path segment : segments(dir)) {
+            visited += scanSegment(segment, fromMillis, toMillis, block, visitor);
+        }
+        return visited;
+    }
+
+    /** Score distribution per group of rows finished in {@code [from, to)}, groups in natural key order. */
+    public static <K extends Comparable<? super K>> Map<K, LogLinearHistogram.Snapshot> scores(Path dir, Instant from,
+        Instant to, RowKey<K> key) throws IOException {
+        long fromMillis = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long toMillis = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        Map<K, LogLinearHistogram> groups = new HashMap<>();
+        scan(dir, from, to, block -> {
+            boolean whole = block.minFinishedAt().toEpochMilli() >= fromMillis
+                && block.maxFinishedAt().toEpochMilli() < toMillis;
+            K lastKey = null;
+            LogLinearHistogram last = null;
+            for (int row = 0; row < block.size(); row++) {
+                if (!whole) {
+                    long millis = block.finishedAtMillis(row);
+                    if (millis < fromMillis || millis >= toMillis) continue;
+                }
+                K k = key.of(block, row);
+                if (last == null || !k.equals(lastKey)) {
+                    last = groups.computeIfAbsent(k, ignored -> new LogLinearHistogram(1));
+                    lastKey = k;
+                }
+                last.record(Math.max(0, block.score(row)));
+            }
+        });
+        Map<K, LogLinearHistogram.Snapshot> snapshots = new TreeMap<>();
+        groups.forEach((k, histogram) -> snapshots.put(k, histogram.snapshot()));
+        return snapshots;
+    }
+
+    public static Map<String, LogLinearHistogram.Snapshot> scoresByStrategy(Path dir) throws IOException {
+        return scores(dir, null, null, ResultBlock::strategy);
+    }
+
+    /** Per UTC day. */
+    public static Map<LocalDate, LogLinearHistogram.Snapshot> scoresByDay(Path dir) throws IOException {
+        return scores(dir, null, null, ResultBlock::day);
+    }
+
+    /** Every row, materialised; for exports and tests rather than large stores. */
+    public static List<StoredResult> readAll(Path dir) throws IOException {
+        List<StoredResult> rows = new ArrayList<>();
+        scan(dir, null, null, block -> {
+            for (int row = 0; row < block.size(); row++) rows.add(block.row(row));
+        });
+        return rows;
+    }
+
+    /** Score percentiles per group as a table. */
+    public static String format(Map<?, LogLinearHistogram.Snapshot> groups) {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%-24s %10s %9s %7s %7s %7s %7s%n",
+            "group", "games", "mean", "p10", "p50", "p90", "max"));
+        groups.forEach((group, scores) -> sb.append(String.format(Locale.ROOT, "%-24s %10d %9.1f %7d %7d %7d %7d%n",
+            group, scores.count(), scores.mean(), scores.valueAt(10), scores.p50(), scores.valueAt(90), scores.max())));
+        return sb.toString();
+    }
+
+    /** Argument: {@code <dir>}. Prints score percentiles by strategy and by day. */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) throw new IllegalArgumentException("Usage: <results dir>");
+        Path dir = Path.of(args[0]);
+        log.info("Scores by strategy:{}{}", System.lineSeparator(), format(scoresByStrategy(dir)));
+        log.info("Scores by day (UTC):{}{}", System.lineSeparator(), format(scoresByDay(dir)));
+    }
+
+    private static long scanSegment(Path segment, long fromMillis, long toMillis, ResultBlock block,
+        Consumer<ResultBlock> visitor) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < ResultColumns.SEGMENT_HEADER_BYTES) return 0; // created, header not yet written
+        if (buffer.getInt(0) != ResultColumns.SEGMENT_MAGIC) {
+            throw new IOException("Not a result segment: " + segment);
+        }
+        int version = buffer.getInt(4);
+        if (version != ResultColumns.VERSION) throw new IOException("Unsupported result segment version " + version);
+        long visited = 0;
+        int position = ResultColumns.SEGMENT_HEADER_BYTES;
+        while (position + ResultColumns.BLOCK_HEADER_BYTES <= buffer.limit()) {
+            int rows = buffer.getInt(position + 4);
+            long min = buffer.getLong(position + 8);
+            long max = buffer.getLong(position + 16);
+            int length = buffer.getInt(position + 24);
+            int crc = buffer.getInt(position + 28);
+            int bodyAt = position + ResultColumns.BLOCK_HEADER_BYTES;
+            if (buffer.getInt(position) != ResultColumns.BLOCK_MAGIC || rows < 1 || rows > ResultColumns.MAX_BLOCK_ROWS || length < 0
+                    || length > buffer.limit() - bodyAt) {
+                log.debug("Stopping at torn block in {} at offset {}", segment, position);
+                break;
+            }
+            if (max >= fromMillis && min < toMillis) {
+                ByteBuffer body = buffer.slice(bodyAt, length);
+                if (!ResultColumns.checksumMatches(body, crc) || !block.reset(body, rows, min, max)) {
+                    log.warn("Corrupt block in {} at offset {}, skipping the rest of the segment", segment, position);
+                    break;
+                }
+                visitor.accept(block);
+                visited++;
+            }
+            position = bodyAt + length;
+        }
+        return visited;
+    }
+
+    static String segmentName(int index) {
+        return "results-%05d.col".formatted(index);
+    }
+
+    static int segmentIndex(Path segment) {
+        Matcher m = SEGMENT.matcher(segment.getFileName().toString());
+        if (!m.matches()) throw new IllegalArgumentException("Not a segment file: " + segment);
+        return Integer.parseInt(m.group(1));
+    }
+}
@@ -0,0 +1,19 @@
+package ee.bigbank.task.results;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import ee.bigbank.task.core.model.GameResult;
+
+/**
+ * One row of the {@link ResultStore}: a game outcome, when it finished and the strategy version that played it.
+ * Timestamps are kept to the millisecond.
+ */
+public record StoredResult(Instant finishedAt, String strategy, GameResult result) {
+
+    public StoredResult {
+        Objects.requireNonNull(finishedAt, "finishedAt");
+        Objects.requireNonNull(strategy, "strategy");
+        Objects.requireNonNull(result, "result");
+    }
+}
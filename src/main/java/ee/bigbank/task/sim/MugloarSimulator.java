@@ -0,0 +1,220 @@
+package ee.bigbank.task.sim;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import ee.bigbank.task.api.dto.BuyResponse;
+import ee.bigbank.task.api.dto.SolveResponse;
+
+/**
+ * In-process stand-in for the Mugloar API v2, served over HTTP on the loopback interface.
+ * Implements every path {@link ee.bigbank.task.api.GameClient} calls, with seeded game rules,
+ * Base64/ROT13 encrypted ads and configurable latency and error injection.
+ *
+ * <pre>
+ * try (MugloarSimulator sim = MugloarSimulator.start(SimulatorConfig.defaults())) {
+ *     GameClient client = new GameClient(sim.baseUrl());
+ *     ...
+ * }
+ * </pre>
+ */
+public class MugloarSimulator implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MugloarSimulator.class);
+
+    private static final String BASE_PATH = "/api/v2";
+
+    static {
+        // headers and body go out as separate writes; without TCP_NODELAY every loopback
+        // response waits ~40 ms on Nagle + delayed ACK. Read once when the server classes load.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final SimulatorConfig config;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, SimulatedGame> games = new ConcurrentHashMap<>();
+    private final AtomicLong gameCounter = new AtomicLong();
+    private final Random transportRandom;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+
+    private MugloarSimulator(SimulatorConfig config, int port) throws IOException {
+        this.config = config;
+        this.transportRandom = new Random(config.seed() * 31 + 7);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    /** Starts a simulator on a random free port. */
+    public static MugloarSimulator start(SimulatorConfig config) {
+        return start(config, 0);
+    }
+
+    public static MugloarSimulator start(SimulatorConfig config, int port) {
+        try {
+            MugloarSimulator simulator = new MugloarSimulator(config, port);
+            simulator.server.start();
+            log.debug("Simulator listening on {}", simulator.baseUrl());
+            return simulator;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start simulator", e);
+        }
+    }
+
+    /** Base URL to pass to {@link ee.bigbank.task.api.GameClient}. */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    public long injectedErrorCount() {
+        return injectedErrors.sum();
+    }
+
+    public long gamesStarted() {
+        return gameCounter.get();
+    }
+
+    /** Games started and not yet over; finished games are forgotten, later requests for them get 404. */
+    public int activeGames() {
+        return games.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try {
+            requests.increment();
+            delay();
+            // errors are injected before any state changes, like a proxy rejecting the request
+            if (config.errorRate() > 0 && transportRandom.nextDouble() < config.errorRate()) {
+                injectedErrors.increment();
+                respond(ex, 503, Map.of("error", "Service Unavailable (injected)"));
+                return;
+            }
+            route(ex);
+        } catch (RuntimeException e) {
+            log.warn("Simulator failed to handle {} {}: {}", ex.getRequestMethod(), ex.getRequestURI(), e.getMessage());
+            respond(ex, 500, Map.of("error", String.valueOf(e.getMessage())));
+        } finally {
+            ex.close();
+        }
+    }
+
+    private void route(HttpExchange ex) throws IOException {
+        String rawPath = ex.getRequestURI().getRawPath();
+        if (!rawPath.startsWith(BASE_PATH + "/")) {
+            respond(ex, 404, Map.of("error", "Not Found"));
+            return;
+        }
+        String[] seg = Arrays.stream(rawPath.substring(BASE_PATH.length() + 1).split("/"))
+            .map(s -> URLDecoder.decode(s, StandardCharsets.UTF_8))
+            .toArray(String[]::new);
+        String method = ex.getRequestMethod();
+
+        if (seg.length == 2 && "game".equals(seg[0]) && "start".equals(seg[1])) {
+            if (requireMethod(ex, method, "POST")) startGame(ex);
+            return;
+        }
+
+        SimulatedGame game = seg.length >= 2 ? games.get(seg[0]) : null;
+        if (game == null) {
+            respond(ex, 404, Map.of("error", "No game with id " + seg[0]));
+            return;
+        }
+        if (game.isOver()) {
+            respond(ex, 410, Map.of("status", "Game Over"));
+            return;
+        }
+
+        if (seg.length == 2 && "messages".equals(seg[1])) {
+            if (requireMethod(ex, method, "GET")) respond(ex, 200, game.messages());
+        } else if (seg.length == 3 && "solve".equals(seg[1])) {
+            if (requireMethod(ex, method, "POST")) {
+                SolveResponse response = game.solve(seg[2]);
+                // a long run starts millions of games; keep only the ones still being played
+                if (game.isOver()) games.remove(seg[0], game);
+                if (response == null) respond(ex, 400, Map.of("error", "No ad by this ID exists"));
+                else respond(ex, 200, response);
+            }
+        } else if (seg.length == 2 && "shop".equals(seg[1])) {
+            if (requireMethod(ex, method, "GET")) respond(ex, 200, SimulatedGame.CATALOG);
+        } else if (seg.length == 4 && "shop".equals(seg[1]) && "buy".equals(seg[2])) {
+            if (requireMethod(ex, method, "POST")) {
+                BuyResponse response = game.buy(seg[3]);
+                if (response == null) respond(ex, 400, Map.of("error", "No item by this ID exists"));
+                else respond(ex, 200, response);
+            }
+        } else if (seg.length == 3 && "investigate".equals(seg[1]) && "reputation".equals(seg[2])) {
+            if (requireMethod(ex, method, "POST")) respond(ex, 200, game.investigate());
+        } else {
+            respond(ex, 404, Map.of("error", "Not Found"));
+        }
+    }
+
+    private void startGame(HttpExchange ex) throws IOException {
+        long n = gameCounter.incrementAndGet();
+        // derive an independent, reproducible stream per game from the base seed
+        Random random = new Random(config.seed() ^ (n * 0x9E3779B97F4A7C15L));
+        String gameId = "sim" + Long.toString(n, 36) + Integer.toString(random.nextInt(36 * 36 * 36), 36);
+        SimulatedGame game = new SimulatedGame(gameId, random, config.encryptedRatio(), config.boardSize());
+        games.put(gameId, game);
+        respond(ex, 200, game.start());
+    }
+
+    private boolean requireMethod(HttpExchange ex, String actual, String expected) throws IOException {
+        if (expected.equalsIgnoreCase(actual)) return true;
+        respond(ex, 405, Map.of("error", "Method Not Allowed"));
+        return false;
+    }
+
+    private void delay() {
+        long millis = config.latency().toMillis();
+        long jitter = config.latencyJitter().toMillis();
+        if (jitter > 0) millis += transportRandom.nextLong(jitter + 1);
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange ex, int code, Object body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(code, bytes.length);
+        ex.getResponseBody().write(bytes);
+    }
+}
@@ -0,0 +1,186 @@
+package ee.bigbank.task.sim;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import ee.bigbank.task.api.dto.BuyResponse;
+import ee.bigbank.task.api.dto.GameStartResponse;
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.ReputationResponse;
+import ee.bigbank.task.api.dto.ShopItem;
+import ee.bigbank.task.api.dto.SolveResponse;
+import ee.bigbank.task.core.Probability;
+
+/**
+ * State and rules of a single simulated game. All randomness comes from the game's own seeded
+ * {@link Random}, so a game replays identically for the same seed and the same sequence of calls.
+ */
+final class SimulatedGame {
+
+    static final List<ShopItem> CATALOG = List.of(
+        new ShopItem("hpot", "Healing potion", 50),
+        new ShopItem("cs", "Claw Sharpening", 100),
+        new ShopItem("gas", "Gas", 100),
+        new ShopItem("wax", "Copper Plating", 100),
+        new ShopItem("tricks", "Book of Tricks", 100),
+        new ShopItem("wingpot", "Potion of Stronger Wings", 100),
+        new ShopItem("ch", "Claw Honing", 300),
+        new ShopItem("rf", "Rocket Fuel", 300),
+        new ShopItem("iron", "Iron Plating", 300),
+        new ShopItem("mtrix", "Book of Megatricks", 300),
+        new ShopItem("wingpotmax", "Potion of Awesome Wings", 300)
+    );
+
+    private static final String[] ACTIONS = {
+        "Help", "Escort", "Steal", "Kill", "Investigate", "Rescue", "Infiltrate", "Create an advertisement campaign for"
+    };
+    private static final String[] SUBJECTS = {
+        "Lusia Carter", "the dragon of the north", "a wagon of sheep", "Bertram Godwin", "the royal baker", "the river trolls"
+    };
+    private static final Probability[] PROBABILITIES = Probability.values();
+
+    private static final String BASE64 = "1";
+    private static final String ROT13 = "2";
+
+    private record Ad(String adId, String message, int reward, int expiresAtTurn, Probability probability, String encrypted) {}
+
+    private final String gameId;
+    private final Random random;
+    private final double encryptedRatio;
+    private final int boardSize;
+    private final Map<String, Ad> board = new LinkedHashMap<>();
+
+    private int lives = 3;
+    private int gold = 0;
+    private int level = 0;
+    private int score = 0;
+    private int turn = 0;
+    private int adCounter = 0;
+
+    SimulatedGame(String gameId, Random random, double encryptedRatio, int boardSize) {
+        this.gameId = gameId;
+        this.random = random;
+        this.encryptedRatio = encryptedRatio;
+        this.boardSize = boardSize;
+        refillBoard();
+    }
+
+    synchronized GameStartResponse start() {
+        return new GameStartResponse(gameId, lives, gold, level, score, 0, turn);
+    }
+
+    synchronized boolean isOver() {
+        return lives <= 0;
+    }
+
+    synchronized List<Message> messages() {
+        List<Message> out = new ArrayList<>(board.size());
+        for (Ad ad : board.values()) {
+            int expiresIn = ad.expiresAtTurn() - turn;
+            String label = ad.probability().label();
+            if (BASE64.equals(ad.encrypted())) {
+                out.add(new Message(base64(ad.adId()), base64(ad.message()), ad.reward(), expiresIn, base64(label), BASE64));
+            } else if (ROT13.equals(ad.encrypted())) {
+                out.add(new Message(rot13(ad.adId()), rot13(ad.message()), ad.reward(), expiresIn, rot13(label), ROT13));
+            } else {
+                out.add(new Message(ad.adId(), ad.message(), ad.reward(), expiresIn, label, null));
+            }
+        }
+        return out;
+    }
+
+    /** Returns null when the ad does not exist (anymore). */
+    synchronized SolveResponse solve(String adId) {
+        Ad ad = board.remove(adId);
+        if (ad == null) return null;
+
+        // levels help a little, but missions get harder as the game goes on so every game ends
+        double chance = Math.max(0.01, Math.min(0.99, ad.probability().value() + 0.01 * level - 0.0025 * turn));
+        boolean success = random.nextDouble() < chance;
+        String outcome;
+        if (success) {
+            gold += ad.reward();
+            score += ad.reward();
+            outcome = "You successfully solved the mission!";
+        } else {
+            lives--;
+            outcome = "You have failed to solve the mission.";
+        }
+        advanceTurn();
+        return new SolveResponse(success, lives, gold, score, 0, turn, outcome);
+    }
+
+    /** Returns null when the item is not in the catalog. */
+    synchronized BuyResponse buy(String itemId) {
+        ShopItem item = CATALOG.stream().filter(i -> i.id().equals(itemId)).findFirst().orElse(null);
+        if (item == null) return null;
+        if (gold < item.cost()) {
+            return new BuyResponse("false", gold, lives, level, turn);
+        }
+        gold -= item.cost();
+        if ("hpot".equals(item.id())) {
+            lives++;
+        } else {
+            level++;
+        }
+        advanceTurn();
+        return new BuyResponse("true", gold, lives, level, turn);
+    }
+
+    synchronized ReputationResponse investigate() {
+        advanceTurn();
+        return new ReputationResponse(random.nextInt(-5, 6), random.nextInt(-5, 6), random.nextInt(-5, 6));
+    }
+
+    private void advanceTurn() {
+        turn++;
+        Iterator<Ad> it = board.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAtTurn() <= turn) it.remove();
+        }
+        refillBoard();
+    }
+
+    private void refillBoard() {
+        while (board.size() < boardSize) {
+            Ad ad = newAd();
+            board.put(ad.adId(), ad);
+        }
+    }
+
+    private Ad newAd() {
+        Probability probability = PROBABILITIES[random.nextInt(PROBABILITIES.length)];
+        // riskier ads pay more, like the real board
+        int reward = (int) Math.round((5 + random.nextInt(46)) * (1 + 3 * (1 - probability.value())));
+        int expiresIn = 1 + random.nextInt(7);
+        String adId = Integer.toString(++adCounter, 36) + Long.toString(random.nextLong() & 0xFFFFFFL, 36);
+        String message = ACTIONS[random.nextInt(ACTIONS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)];
+
+        String encrypted = null;
+        if (random.nextDouble() < encryptedRatio) {
+            encrypted = random.nextBoolean() ? BASE64 : ROT13;
+        }
+        return new Ad(adId, message, reward, turn + expiresIn, probability, encrypted);
+    }
+
+    private static String base64(String s) {
+        return Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String rot13(String s) {
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 'a' && c <= 'z') out.append((char) ('a' + (c - 'a' + 13) % 26));
+            else if (c >= 'A' && c <= 'Z') out.append((char) ('A' + (c - 'A' + 13) % 26));
+            else out.append(c);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package ee.bigbank.task.sim;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings for {@link MugloarSimulator}.
+ *
+ * @param seed           base seed; every game derives its own deterministic random stream from it
+ * @param latency        fixed delay added to every response
+ * @param latencyJitter  extra uniformly distributed delay in {@code [0, latencyJitter]}
+ * @param errorRate      share of requests answered with HTTP 503 before any game state is touched [0..1]
+ * @param encryptedRatio share of ads served Base64 or ROT13 encrypted [0..1]
+ * @param boardSize      number of ads kept on a game's message board
+ */
+public record SimulatorConfig(
+    long seed,
+    Duration latency,
+    Duration latencyJitter,
+    double errorRate,
+    double encryptedRatio,
+    int boardSize
+) {
+
+    public SimulatorConfig {
+        Objects.requireNonNull(latency, "latency");
+        Objects.requireNonNull(latencyJitter, "latencyJitter");
+        if (errorRate < 0 || errorRate > 1) throw new IllegalArgumentException("errorRate must be within [0..1]");
+        if (encryptedRatio < 0 || encryptedRatio > 1) throw new IllegalArgumentException("encryptedRatio must be within [0..1]");
+        if (boardSize < 1) throw new IllegalArgumentException("boardSize must be >= 1");
+    }
+
+    /** No latency, no errors, a third of the ads encrypted. */
+    public static SimulatorConfig defaults() {
+        return new SimulatorConfig(42L, Duration.ZERO, Duration.ZERO, 0.0, 0.3, 10);
+    }
+
+    public SimulatorConfig withSeed(long seed) {
+        return new SimulatorConfig(seed, latency, latencyJitter, errorRate, encryptedRatio, boardSize);
+    }
+
+    public SimulatorConfig withLatency(Duration latency, Duration latencyJitter) {
+        return new SimulatorConfig(seed, latency, latencyJitter, errorRate, encryptedRatio, boardSize);
+    }
+
+    public SimulatorConfig withErrorRate(double errorRate) {
+        return new SimulatorConfig(seed, latency, latencyJitter, errorRate, encryptedRatio, boardSize);
+    }
+
+    public SimulatorConfig withEncryptedRatio(double encryptedRatio) {
+        return new SimulatorConfig(seed, latency, latencyJitter, errorRate, encryptedRatio, boardSize);
+    }
+
+    public SimulatorConfig withBoardSize(int boardSize) {
+        return new SimulatorConfig(seed, latency, latencyJitter, errorRate, encryptedRatio, boardSize);
+    }
+}
@@ -0,0 +1,84 @@
+package ee.bigbank.task.sweep;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.core.FleetRunner;
+import ee.bigbank.task.core.GameService;
+import ee.bigbank.task.core.MessageDecoder;
+import ee.bigbank.task.core.model.FleetSummary;
+import ee.bigbank.task.sim.MugloarSimulator;
+import ee.bigbank.task.sim.SimulatorConfig;
+
+/**
+ * Plays the same simulated games under every {@link SweepPoint} and reports how each configuration scored.
+ * Each point gets a fresh {@link MugloarSimulator} with the same seed, so every configuration faces the same
+ * games; the games of a point are played by a {@link FleetRunner} on at most {@code concurrency} virtual threads.
+ */
+public class ParameterSweep {
+
+    private static final Logger log = LoggerFactory.getLogger(ParameterSweep.class);
+
+    private final SimulatorConfig simulator;
+    private final int gamesPerPoint;
+    private final int concurrency;
+    private final MessageDecoder decoder = new MessageDecoder();
+
+    public ParameterSweep(SimulatorConfig simulator, int gamesPerPoint, int concurrency) {
+        if (gamesPerPoint < 1) throw new IllegalArgumentException("gamesPerPoint must be >= 1");
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be >= 1");
+        this.simulator = Objects.requireNonNull(simulator);
+        this.gamesPerPoint = gamesPerPoint;
+        this.concurrency = concurrency;
+    }
+
+    /** Results in the order of {@code points}. */
+    public List<SweepResult> run(List<SweepPoint> points) {
+        List<SweepResult> results = new ArrayList<>(points.size());
+        for (SweepPoint point : points) {
+            results.add(run(point));
+        }
+        return results;
+    }
+
+    public SweepResult run(SweepPoint point) {
+        try (MugloarSimulator sim = MugloarSimulator.start(simulator)) {
+            GameService service = new GameService(new GameClient(sim.baseUrl()), decoder, point.options());
+            FleetSummary summary = new FleetRunner(service, concurrency).run(gamesPerPoint);
+            SweepResult result = SweepResult.of(point, summary, sim.requestCount());
+            log.debug("{}: mean={} p10={} turns={}", point.label(), result.meanScore(), result.p10Score(), result.meanTurns());
+            return result;
+        }
+    }
+
+    /** Results as a table, best mean score first. */
+    public static String format(List<SweepResult> results) {
+        StringBuilder out = new StringBuilder(String.format("%-58s %8s %7s %7s %7s %8s %9s%n",
+            "configuration", "mean", "p10", "p50", "min", "turns", "score/req"));
+        results.stream()
+            .sorted(Comparator.comparingDouble(SweepResult::meanScore).reversed())
+            .forEach(r -> out.append(String.format("%-58s %8.1f %7d %7d %7d %8.1f %9.2f%n", r.point().label(),
+                r.meanScore(), r.p10Score(), r.medianScore(), r.minScore(), r.meanTurns(), r.scorePerRequest())));
+        return out.toString();
+    }
+
+    /**
+     * Optional arguments: {@code [gamesPerPoint] [concurrency] [randomPoints]}. Without {@code randomPoints}
+     * the full {@link SweepSpace#defaults()} grid is swept.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        SweepSpace space = SweepSpace.defaults();
+        List<SweepPoint> points = args.length > 2 ? space.random(Integer.parseInt(args[2]), 1L) : space.grid();
+
+        List<SweepResult> results = new ParameterSweep(SimulatorConfig.defaults(), games, concurrency).run(points);
+        log.info("Sweep finished: points={} gamesPerPoint={}{}{}", points.size(), games, System.lineSeparator(), format(results));
+    }
+}
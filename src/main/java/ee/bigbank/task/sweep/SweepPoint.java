@@ -0,0 +1,35 @@
+package ee.bigbank.task.sweep;
+
+import java.util.Objects;
+
+import ee.bigbank.task.core.GameOptions;
+import ee.bigbank.task.core.MessageSelector;
+import ee.bigbank.task.core.ShopPolicy;
+
+/**
+ * One strategy configuration evaluated by {@link ParameterSweep}.
+ *
+ * @param selectorName name of {@code selector} for reports
+ */
+public record SweepPoint(
+    String selectorName,
+    MessageSelector selector,
+    ShopPolicy shopPolicy
+) {
+
+    public SweepPoint {
+        Objects.requireNonNull(selectorName, "selectorName");
+        Objects.requireNonNull(selector, "selector");
+        Objects.requireNonNull(shopPolicy, "shopPolicy");
+    }
+
+    /** Default game options with this point's knobs applied. */
+    public GameOptions options() {
+        return GameOptions.defaults().withSelector(selector).withShopPolicy(shopPolicy);
+    }
+
+    public String label() {
+        return "%s reserve=%d healAt=%d potionGold=%d".formatted(selectorName,
+            shopPolicy.goldReserve(), shopPolicy.healAtLives(), shopPolicy.potionMinGold());
+    }
+}
@@ -0,0 +1,38 @@
+package ee.bigbank.task.sweep;
+
+import java.util.List;
+
+import ee.bigbank.task.core.model.FleetSummary;
+import ee.bigbank.task.core.model.GameResult;
+
+/**
+ * Outcome of one {@link SweepPoint}: score distribution, game length and API cost.
+ *
+ * @param p10Score score that 90% of the completed games reached (the low tail)
+ * @param requests HTTP requests the simulator served for this point
+ */
+public record SweepResult(
+    SweepPoint point,
+    int games,
+    int failed,
+    double meanScore,
+    int minScore,
+    int p10Score,
+    int medianScore,
+    int maxScore,
+    double meanTurns,
+    long requests
+) {
+
+    static SweepResult of(SweepPoint point, FleetSummary summary, long requests) {
+        List<GameResult> results = summary.results();
+        double meanTurns = results.isEmpty() ? 0.0 : (double) summary.totalTurns() / results.size();
+        return new SweepResult(point, summary.games(), summary.failed(), summary.meanScore(), summary.minScore(),
+            summary.scorePercentile(10), summary.scorePercentile(50), summary.maxScore(), meanTurns, requests);
+    }
+
+    /** Total score of all completed games per HTTP request. */
+    public double scorePerRequest() {
+        return requests == 0 ? 0.0 : meanScore * (games - failed) / requests;
+    }
+}
@@ -0,0 +1,83 @@
+package ee.bigbank.task.sweep;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import ee.bigbank.task.core.MessageSelector;
+import ee.bigbank.task.core.ShopPolicy;
+
+/**
+ * Candidate values for every strategy knob. {@link #grid()} enumerates all combinations,
+ * {@link #random(int, long)} samples some of them.
+ *
+ * @param selectors ad selection orders by report name
+ */
+public record SweepSpace(
+    List<Integer> goldReserves,
+    List<Integer> healAtLives,
+    List<Integer> potionMinGold,
+    Map<String, MessageSelector> selectors
+) {
+
+    public SweepSpace {
+        goldReserves = List.copyOf(goldReserves);
+        healAtLives = List.copyOf(healAtLives);
+        potionMinGold = List.copyOf(potionMinGold);
+        selectors = new LinkedHashMap<>(selectors);
+        if (goldReserves.isEmpty() || healAtLives.isEmpty() || potionMinGold.isEmpty() || selectors.isEmpty()) {
+            throw new IllegalArgumentException("every knob needs at least one value");
+        }
+    }
+
+    /** Values around the hard-coded defaults (reserve 300, heal at 1 life, potion at 50 gold). */
+    public static SweepSpace defaults() {
+        Map<String, MessageSelector> selectors = new LinkedHashMap<>();
+        selectors.put("bestOrder", MessageSelector.bestOrder());
+        selectors.put("expectedReward", MessageSelector.expectedReward());
+        return new SweepSpace(List.of(0, 100, 200, 300, 400, 600), List.of(0, 1, 2), List.of(50, 100, 150), selectors);
+    }
+
+    /** Number of distinct points. */
+    public int size() {
+        return goldReserves.size() * healAtLives.size() * potionMinGold.size() * selectors.size();
+    }
+
+    public List<SweepPoint> grid() {
+        List<SweepPoint> points = new ArrayList<>(size());
+        for (Map.Entry<String, MessageSelector> selector : selectors.entrySet()) {
+            for (int reserve : goldReserves) {
+                for (int heal : healAtLives) {
+                    for (int potion : potionMinGold) {
+                        points.add(new SweepPoint(selector.getKey(), selector.getValue(), new ShopPolicy(reserve, heal, potion)));
+                    }
+                }
+            }
+        }
+        return points;
+    }
+
+    /** Up to {@code count} distinct points drawn at random; the whole grid if it is not larger. */
+    public List<SweepPoint> random(int count, long seed) {
+        if (count >= size()) return grid();
+        Random random = new Random(seed);
+        List<Map.Entry<String, MessageSelector>> named = new ArrayList<>(selectors.entrySet());
+        Set<String> seen = new LinkedHashSet<>();
+        List<SweepPoint> points = new ArrayList<>(count);
+        while (points.size() < count) {
+            Map.Entry<String, MessageSelector> selector = named.get(random.nextInt(named.size()));
+            SweepPoint point = new SweepPoint(selector.getKey(), selector.getValue(), new ShopPolicy(
+                pick(goldReserves, random), pick(healAtLives, random), pick(potionMinGold, random)));
+            if (seen.add(point.label())) points.add(point);
+        }
+        return points;
+    }
+
+    private static int pick(List<Integer> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,166 @@
+package ee.bigbank.task.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD limit on requests in flight, shared by everything that uses one {@link HttpHelper}.
+ * <ul>
+ *   <li>Each healthy response grows the limit by {@code 1 / limit}, i.e. by about one per round of requests,
+ *       as long as the limit is actually being used.</li>
+ *   <li>An overloaded response (429, 503, 504, transport failure) or one slower than {@code latencyTolerance}
+ *       times the usual latency multiplies the limit by {@code backoffRatio}, at most once per usual latency,
+ *       so one burst of failures does not collapse the limit.</li>
+ *   <li>A {@code Retry-After} pauses every new request until it has passed, for at most
+ *       {@link LimiterPolicy#maxPause()}.</li>
+ * </ul>
+ * Requests over the limit wait in FIFO order; {@link #acquire()} returns a future so asynchronous callers
+ * never block a thread.
+ */
+public class AdaptiveLimiter {
+
+    /** Weight of a new sample in the usual-latency average. */
+    private static final double LATENCY_ALPHA = 0.02;
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private final LimiterPolicy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder decreases = new LongAdder();
+
+    // guarded by lock
+    private double limit;
+    private int inFlight;
+    private double usualLatencyNanos;
+    private long lastDecrease;
+    private long pausedUntil;
+    private boolean drainScheduled;
+
+    public AdaptiveLimiter(LimiterPolicy policy) {
+        if (!policy.enabled()) throw new IllegalArgumentException("limiter policy is disabled");
+        this.policy = Objects.requireNonNull(policy);
+        this.limit = Math.clamp(policy.initialLimit(), policy.minLimit(), policy.maxLimit());
+        this.lastDecrease = System.nanoTime();
+    }
+
+    /** Completes once the request may be sent. Every completed acquire must be followed by one {@link #release}. */
+    public CompletableFuture<Void> acquire() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now >= pausedUntil && waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return GRANTED;
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            queued.increment();
+            if (now < pausedUntil) scheduleDrain(pausedUntil - now);
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit and adjusts the limit.
+     *
+     * @param latencyNanos how long the request took
+     * @param overloaded   the server or the network signalled overload
+     * @param retryAfter   pause requested by the server, or null; capped at {@link LimiterPolicy#maxPause()}
+     */
+    public void release(long latencyNanos, boolean overloaded, Duration retryAfter) {
+        List<CompletableFuture<Void>> granted;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            inFlight--;
+            boolean slow = usualLatencyNanos > 0 && latencyNanos > usualLatencyNanos * policy.latencyTolerance();
+            if (!overloaded) {
+                usualLatencyNanos = usualLatencyNanos == 0
+                    ? latencyNanos
+                    : usualLatencyNanos + LATENCY_ALPHA * (latencyNanos - usualLatencyNanos);
+            }
+            if (overloaded || slow) {
+                if (now - lastDecrease >= usualLatencyNanos) {
+                    limit = Math.max(policy.minLimit(), limit * policy.backoffRatio());
+                    lastDecrease = now;
+                    decreases.increment();
+                }
+            } else if (inFlight + 1 >= limit / 2) { // only grow a limit that is being used
+                limit = Math.min(policy.maxLimit(), limit + 1 / limit);
+            }
+            if (retryAfter != null && !retryAfter.isNegative()) {
+                Duration pause = retryAfter.compareTo(policy.maxPause()) > 0 ? policy.maxPause() : retryAfter;
+                pausedUntil = Math.max(pausedUntil, now + pause.toNanos());
+            }
+            granted = grant(now);
+        } finally {
+            lock.unlock();
+        }
+        granted.forEach(waiter -> waiter.complete(null));
+    }
+
+    /** Returns a permit that was not used for a request; the limit is left as it is. */
+    public void release() {
+        List<CompletableFuture<Void>> granted;
+        lock.lock();
+        try {
+            inFlight--;
+            granted = grant(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+        granted.forEach(waiter -> waiter.complete(null));
+    }
+
+    public LimiterStats stats() {
+        lock.lock();
+        try {
+            return new LimiterStats((int) limit, inFlight, queued.sum(), decreases.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Hands out free permits to waiters; the caller completes them after unlocking. */
+    private List<CompletableFuture<Void>> grant(long now) {
+        if (waiters.isEmpty()) return List.of();
+        if (now < pausedUntil) {
+            scheduleDrain(pausedUntil - now);
+            return List.of();
+        }
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        while (!waiters.isEmpty() && inFlight < (int) limit) {
+            inFlight++;
+            granted.add(waiters.poll());
+        }
+        return granted;
+    }
+
+    private void scheduleDrain(long delayNanos) {
+        if (drainScheduled) return;
+        drainScheduled = true;
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(this::drain);
+    }
+
+    private void drain() {
+        List<CompletableFuture<Void>> granted;
+        lock.lock();
+        try {
+            drainScheduled = false;
+            granted = grant(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+        granted.forEach(waiter -> waiter.complete(null));
+    }
+}
@@ -0,0 +1,14 @@
+package ee.bigbank.task.util;
+
+/**
+ * Client-side estimate of how many requests needed a new connection vs. reused a pooled one.
+ */
+public record ConnectionStats(
+    long opened,
+    long reused
+) {
+
+    public long requests() {
+        return opened + reused;
+    }
+}
@@ -0,0 +1,56 @@
+package ee.bigbank.task.util;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estimates connection reuse, since {@link HttpClient} does not expose its pool.
+ * Per origin the JDK client keeps one connection for HTTP/2 and, for HTTP/1.1, as many as were ever
+ * needed concurrently; so a request counts as "opened" when it raises that high-water mark.
+ * Idle connections closed by the server are not seen, so reuse may be slightly overstated.
+ */
+final class ConnectionTracker {
+
+    static final class Origin {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger connections = new AtomicInteger();
+        private volatile boolean multiplexed;
+    }
+
+    private final Map<String, Origin> origins = new ConcurrentHashMap<>();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+
+    Origin begin(URI uri) {
+        Origin origin = origins.computeIfAbsent(uri.getScheme() + "://" + uri.getAuthority(), k -> new Origin());
+        int concurrent = origin.inFlight.incrementAndGet();
+        int needed = origin.multiplexed ? 1 : concurrent;
+        while (true) {
+            int known = origin.connections.get();
+            if (needed <= known) {
+                reused.increment();
+                return origin;
+            }
+            if (origin.connections.compareAndSet(known, needed)) {
+                opened.increment();
+                return origin;
+            }
+        }
+    }
+
+    /** @param version negotiated version, null if the request failed */
+    void end(Origin origin, HttpClient.Version version) {
+        origin.inFlight.decrementAndGet();
+        if (version != null) {
+            origin.multiplexed = version == HttpClient.Version.HTTP_2;
+        }
+    }
+
+    ConnectionStats stats() {
+        return new ConnectionStats(opened.sum(), reused.sum());
+    }
+}
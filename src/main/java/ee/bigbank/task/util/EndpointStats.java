@@ -0,0 +1,28 @@
+package ee.bigbank.task.util;
+
+import java.util.Map;
+
+import ee.bigbank.task.api.Endpoint;
+
+/**
+ * Request counts and latency of one endpoint, as captured by {@link HttpMetrics#snapshot()}.
+ *
+ * @param statuses responses per HTTP status; transport failures are counted under status 0
+ * @param latency  per-attempt latency in nanoseconds
+ */
+public record EndpointStats(
+    Endpoint endpoint,
+    long requests,
+    Map<Integer, Long> statuses,
+    LogLinearHistogram.Snapshot latency
+) {
+
+    /** Attempts that did not end in a 2xx response, transport failures included. */
+    public long failures() {
+        long ok = 0;
+        for (Map.Entry<Integer, Long> e : statuses.entrySet()) {
+            if (e.getKey() >= 200 && e.getKey() < 300) ok += e.getValue();
+        }
+        return requests - ok;
+    }
+}
@@ -0,0 +1,57 @@
+package ee.bigbank.task.util;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * When {@link HttpHelper} sends a second copy of a slow idempotent GET.
+ *
+ * @param percentile latency percentile (0..1) of recent responses after which a hedge is sent
+ * @param minDelay   never hedge sooner than this, even if recent responses were faster
+ * @param window     recent responses per endpoint the percentile is computed over, 0 = hedging disabled
+ * @param budget     caps hedges relative to requests; a separate bucket from the retry budget
+ */
+public record HedgePolicy(
+    double percentile,
+    Duration minDelay,
+    int window,
+    RetryBudget budget
+) {
+
+    public HedgePolicy {
+        Objects.requireNonNull(minDelay, "minDelay");
+        Objects.requireNonNull(budget, "budget");
+        if (percentile < 0 || percentile > 1) throw new IllegalArgumentException("percentile must be in [0, 1]");
+        if (window < 0) throw new IllegalArgumentException("window must be >= 0");
+    }
+
+    /** No hedging; the default. */
+    public static HedgePolicy disabled() {
+        return new HedgePolicy(0.95, Duration.ZERO, 0, new RetryBudget(0, 0));
+    }
+
+    /** Hedge after the p95 of the last 256 responses (at least 5 ms), at most 5% extra requests. */
+    public static HedgePolicy defaults() {
+        return new HedgePolicy(0.95, Duration.ofMillis(5), 256, new RetryBudget(0.05, 10));
+    }
+
+    public boolean enabled() {
+        return window > 0;
+    }
+
+    public HedgePolicy withPercentile(double percentile) {
+        return new HedgePolicy(percentile, minDelay, window, budget);
+    }
+
+    public HedgePolicy withMinDelay(Duration minDelay) {
+        return new HedgePolicy(percentile, minDelay, window, budget);
+    }
+
+    public HedgePolicy withWindow(int window) {
+        return new HedgePolicy(percentile, minDelay, window, budget);
+    }
+
+    public HedgePolicy withBudget(RetryBudget budget) {
+        return new HedgePolicy(percentile, minDelay, window, budget);
+    }
+}
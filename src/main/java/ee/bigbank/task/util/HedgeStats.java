@@ -0,0 +1,16 @@
+package ee.bigbank.task.util;
+
+/**
+ * How often {@link HttpHelper} hedged GETs and how often the hedge answered first.
+ */
+public record HedgeStats(
+    long eligible,
+    long hedged,
+    long won
+) {
+
+    /** Share of eligible requests that were hedged. */
+    public double hedgeRate() {
+        return eligible == 0 ? 0 : (double) hedged / eligible;
+    }
+}
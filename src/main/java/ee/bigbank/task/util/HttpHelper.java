@@ -5,101 +5,475 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import ee.bigbank.task.api.ApiClientException;
+import ee.bigbank.task.api.Endpoint;
 
 /**
  * Thin HTTP utility around Java HttpClient with JSON (Jackson) parsing and basic logging.
+ * Response bodies are read as raw bytes and handed straight to Jackson; one {@link ObjectReader}
+ * per target type (and per list element type) is built on first use and reused afterwards.
+ * Failed requests are retried per {@link RetryPolicies}, with jittered backoff and a shared retry budget.
+ * Slow idempotent GETs can be hedged per {@link HedgePolicy}: a second copy is sent and the first answer wins.
+ * Every attempt is counted in {@link #metrics()}.
+ * Close the helper to release the client and the executor it created for {@link TransportProfile#executorThreads()}.
  */
-public class HttpHelper {
+public class HttpHelper implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(HttpHelper.class);
 
+    private static final int MAX_ERROR_BODY = 512;
+
     private final HttpClient http;
+    /** Executor created for the client, null when it uses its default. */
+    private final ExecutorService executor;
     private final ObjectMapper mapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectReader> listReaders = new ConcurrentHashMap<>();
+
+    private final TransportProfile profile;
+    private final ConnectionTracker connections = new ConnectionTracker();
+    private final RetryPolicies retries;
+    private final HedgePolicy hedging;
+    private final HttpMetrics metrics = new HttpMetrics();
+    private final Map<Endpoint, LatencyWindow> latencies = new EnumMap<>(Endpoint.class);
+    private final LongAdder hedgeEligible = new LongAdder();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    /** Shared in-flight limit, null when disabled. */
+    private final AdaptiveLimiter limiter;
 
     public HttpHelper(ObjectMapper mapper) {
-        this.http = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(5))
-                .build();
+        this(mapper, TransportProfile.defaults());
+    }
+
+    public HttpHelper(ObjectMapper mapper, TransportProfile profile) {
+        this(mapper, profile, RetryPolicies.defaults());
+    }
+
+    public HttpHelper(ObjectMapper mapper, TransportProfile profile, RetryPolicies retries) {
+        this(mapper, profile, retries, HedgePolicy.disabled());
+    }
+
+    public HttpHelper(ObjectMapper mapper, TransportProfile profile, RetryPolicies retries, HedgePolicy hedging) {
+        this(mapper, profile, retries, hedging, LimiterPolicy.disabled());
+    }
+
+    public HttpHelper(ObjectMapper mapper, TransportProfile profile, RetryPolicies retries, HedgePolicy hedging,
+                      LimiterPolicy limiting) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(profile.version())
+                .connectTimeout(profile.connectTimeout());
+        this.executor = profile.executorThreads() > 0
+            ? Executors.newFixedThreadPool(profile.executorThreads(), daemonThreads("mugloar-http-"))
+            : null;
+        if (executor != null) builder.executor(executor);
+        this.http = builder.build();
         this.mapper = mapper;
+        this.profile = profile;
+        this.retries = retries;
+        this.hedging = hedging;
+        this.limiter = limiting.enabled() ? new AdaptiveLimiter(limiting) : null;
+        if (hedging.enabled()) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                if (endpoint.idempotent()) latencies.put(endpoint, new LatencyWindow(hedging.window(), hedging.percentile()));
+            }
+        }
+    }
+
+    /**
+     * Pre-opens {@link TransportProfile#warmUpConnections()} connections to {@code url} with concurrent
+     * GETs so the first game requests skip TCP/TLS setup. The response status is ignored.
+     */
+    public void warmUp(String url) {
+        int count = profile.warmUpConnections();
+        if (count == 0) return;
+        HttpRequest request = getRequest(url);
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            ConnectionTracker.Origin origin = connections.begin(request.uri());
+            requests[i] = http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> connections.end(origin, response == null ? null : response.version()));
+        }
+        try {
+            CompletableFuture.allOf(requests).get(profile.connectTimeout().toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Connection warm-up to {} failed: {}", url, e.getMessage());
+        }
+        log.debug("Warmed up {} connection(s) to {}: {}", count, url, connections.stats());
+    }
+
+    /**
+     * Closes the client, waiting for requests still in flight, then stops the executor created for it.
+     * Metrics and stats stay readable.
+     */
+    @Override
+    public void close() {
+        http.close();
+        if (executor != null) executor.close();
+    }
+
+    /** Estimated connections opened vs. reused by this helper so far. */
+    public ConnectionStats connectionStats() {
+        return connections.stats();
+    }
+
+    /** Per-endpoint counters and latency histograms of every HTTP attempt made so far. */
+    public HttpMetrics metrics() {
+        return metrics;
+    }
+
+    /** Hedged GETs so far; all zero while hedging is disabled. */
+    public HedgeStats hedgeStats() {
+        return new HedgeStats(hedgeEligible.sum(), hedgesSent.sum(), hedgesWon.sum());
+    }
+
+    /** Current in-flight limit and how often it throttled; all zero while limiting is disabled. */
+    public LimiterStats limiterStats() {
+        return limiter == null ? new LimiterStats(0, 0, 0, 0) : limiter.stats();
     }
 
     public <T> T get(String url, Class<T> type) {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .GET()
-                .build();
-        String body = send(request);
-        return parse(body, type);
+        return parse(send(getRequest(url)), type);
     }
 
     public <T> List<T> getList(String url, Class<T> elementType) {
-        HttpRequest request = HttpRequest.newBuilder()
+        return parseList(send(getRequest(url)), elementType);
+    }
+
+    public <T> T post(String url, Class<T> type) {
+        return parse(send(postRequest(url)), type);
+    }
+
+    /**
+     * Non-blocking {@link #get(String, Class)}. Failures complete the future exceptionally with an
+     * {@link ApiClientException} (wrapped in a {@link java.util.concurrent.CompletionException} when joined).
+     */
+    public <T> CompletableFuture<T> getAsync(String url, Class<T> type) {
+        return sendAsync(getRequest(url)).thenApply(body -> parse(body, type));
+    }
+
+    /** Non-blocking {@link #getList(String, Class)}, same failure semantics as {@link #getAsync}. */
+    public <T> CompletableFuture<List<T>> getListAsync(String url, Class<T> elementType) {
+        return sendAsync(getRequest(url)).thenApply(body -> parseList(body, elementType));
+    }
+
+    /** Non-blocking {@link #post(String, Class)}, same failure semantics as {@link #getAsync}. */
+    public <T> CompletableFuture<T> postAsync(String url, Class<T> type) {
+        return sendAsync(postRequest(url)).thenApply(body -> parse(body, type));
+    }
+
+    private static HttpRequest getRequest(String url) {
+        return HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .GET()
                 .build();
-        String body = send(request);
-        return parseList(body, elementType);
     }
 
-    public <T> T post(String url, Class<T> type) {
-        HttpRequest request = HttpRequest.newBuilder()
+    private static HttpRequest postRequest(String url) {
+        return HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.noBody())
                 .build();
-        String body = send(request);
-        return parse(body, type);
     }
 
-    private String send(HttpRequest request) {
-        Instant started = Instant.now();
-        String reqMethod = request.method();
-        try {
-            log.debug("HTTP -> {} {}", reqMethod, request.uri());
-            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
-            log.debug("HTTP <- {} ({} ms)", response.statusCode(), Duration.between(started, Instant.now()).toMillis());
+    private byte[] send(HttpRequest request) {
+        Endpoint endpoint = Endpoint.of(request.uri());
+        RetryPolicy policy = retries.policyFor(endpoint);
+        LatencyWindow window = hedgeWindow(request, endpoint);
+        retries.budget().onRequest();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return window == null ? sendOnce(request, endpoint) : await(request, sendHedged(request, endpoint, window));
+            } catch (ApiClientException e) {
+                Duration delay = retryDelay(request, policy, attempt, e);
+                if (delay == null) throw e;
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<byte[]> sendAsync(HttpRequest request) {
+        Endpoint endpoint = Endpoint.of(request.uri());
+        RetryPolicy policy = retries.policyFor(endpoint);
+        LatencyWindow window = hedgeWindow(request, endpoint);
+        retries.budget().onRequest();
+        return sendAsync(request, endpoint, policy, window, 1);
+    }
+
+    private CompletableFuture<byte[]> sendAsync(HttpRequest request, Endpoint endpoint, RetryPolicy policy,
+                                                LatencyWindow window, int attempt) {
+        return (window == null ? sendAsyncOnce(request, endpoint) : sendHedged(request, endpoint, window))
+            .<CompletableFuture<byte[]>>handle((body, error) -> {
+                if (error == null) return CompletableFuture.completedFuture(body);
+                Throwable cause = unwrap(error);
+                Duration delay = cause instanceof ApiClientException e ? retryDelay(request, policy, attempt, e) : null;
+                if (delay == null) return CompletableFuture.failedFuture(cause);
+                Executor delayed = CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS);
+                return CompletableFuture.runAsync(() -> { }, delayed)
+                    .thenCompose(ignored -> sendAsync(request, endpoint, policy, window, attempt + 1));
+            })
+            .thenCompose(future -> future);
+    }
+
+    /** Latency window of a hedgeable request, null if hedging does not apply. */
+    private LatencyWindow hedgeWindow(HttpRequest request, Endpoint endpoint) {
+        return "GET".equals(request.method()) ? latencies.get(endpoint) : null;
+    }
+
+    /**
+     * Sends {@code request} and, if it has not answered within the window's percentile latency and the
+     * hedge budget allows, a second copy. Completes with the first successful body, or fails once every
+     * copy that was sent has failed. The losing response is discarded.
+     */
+    private CompletableFuture<byte[]> sendHedged(HttpRequest request, Endpoint endpoint, LatencyWindow window) {
+        hedgeEligible.increment();
+        hedging.budget().onRequest();
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
 
-            int statusCode = response.statusCode();
-            if (statusCode < 200 || statusCode >= 300) {
-                throw new ApiClientException("HTTP " + statusCode + " for " + reqMethod + " body=" + safeBody(response.body()));
+        long started = System.nanoTime();
+        sendAsyncOnce(request, endpoint).whenComplete((body, error) -> {
+            if (error == null) {
+                window.record(System.nanoTime() - started);
+                result.complete(body);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(unwrap(error));
             }
-            return response.body();
+        });
+
+        long percentile = window.percentileNanos();
+        if (percentile < 0) return result; // not enough samples to know what "slow" is yet
+        long delay = Math.max(percentile, hedging.minDelay().toNanos());
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+            // primary already answered or failed: no hedge, and no budget spent on one
+            if (result.isDone() || outstanding.get() == 0 || !hedging.budget().tryAcquire()) return;
+            if (outstanding.getAndUpdate(n -> n == 0 ? 0 : n + 1) == 0) return; // primary failed meanwhile
+            hedgesSent.increment();
+            log.debug("Hedging {} {} after {} ms", request.method(), request.uri(), TimeUnit.NANOSECONDS.toMillis(delay));
+            sendAsyncOnce(request, endpoint).whenComplete((body, error) -> {
+                if (error == null) {
+                    // counted before completing, so a caller reading hedgeStats() afterwards sees the win
+                    hedgesWon.increment();
+                    if (!result.complete(body)) hedgesWon.decrement();
+                } else if (outstanding.decrementAndGet() == 0) {
+                    result.completeExceptionally(unwrap(error));
+                }
+            });
+        });
+        return result;
+    }
+
+    private static byte[] await(HttpRequest request, CompletableFuture<byte[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiClientException("Transport failure for " + request.method() + " " + request.uri(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ApiClientException failure) throw failure;
+            throw new ApiClientException("Failed to send HTTP request: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /** Waits for a limiter permit; one granted after an interrupt is handed straight back. */
+    private void acquirePermit(HttpRequest request) {
+        CompletableFuture<Void> permit = limiter.acquire();
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permit.thenRun(limiter::release);
+            throw new ApiClientException("Interrupted waiting to send " + request.method() + " " + request.uri(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Limiter permits never fail", e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Backoff before the next attempt, or null if the failure is final. A {@code Retry-After} longer than
+     * {@link RetryPolicy#maxDelay()} is final too: the caller gets the error instead of a parked thread.
+     */
+    private Duration retryDelay(HttpRequest request, RetryPolicy policy, int attempt, ApiClientException e) {
+        if (attempt >= policy.maxAttempts() || !policy.shouldRetry(e)) return null;
+        if (e.retryAfter() != null && e.retryAfter().compareTo(policy.maxDelay()) > 0) {
+            log.debug("Retry-After {} s exceeds the {} ms retry cap, giving up on {} {}",
+                e.retryAfter().toSeconds(), policy.maxDelay().toMillis(), request.method(), request.uri());
+            return null;
+        }
+        if (!retries.budget().tryAcquire()) {
+            log.debug("Retry budget exhausted, giving up on {} {}", request.method(), request.uri());
+            return null;
+        }
+        Duration delay = policy.backoff(attempt);
+        if (e.retryAfter() != null && e.retryAfter().compareTo(delay) > 0) delay = e.retryAfter(); // server knows best
+        log.debug("Retrying {} {} in {} ms (attempt {} failed: {})",
+            request.method(), request.uri(), delay.toMillis(), attempt, e.getMessage());
+        return delay;
+    }
+
+    private byte[] sendOnce(HttpRequest request, Endpoint endpoint) {
+        if (limiter != null) acquirePermit(request);
+        long started = System.nanoTime();
+        ConnectionTracker.Origin origin = connections.begin(request.uri());
+        HttpClient.Version version = null;
+        HttpResponse<byte[]> response = null;
+        boolean interrupted = false;
+        try {
+            log.debug("HTTP -> {} {}", request.method(), request.uri());
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            version = response.version();
+            return checkResponse(request, endpoint, response, started);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new ApiClientException("Transport failure for " + reqMethod + " " + request.uri(), e);
+            interrupted = true;
+            metrics.record(endpoint, 0, System.nanoTime() - started);
+            throw new ApiClientException("Transport failure for " + request.method() + " " + request.uri(), e);
         } catch (IOException e) {
+            metrics.record(endpoint, 0, System.nanoTime() - started);
             throw new ApiClientException("Failed to send HTTP request: " + e.getMessage(), e);
+        } finally {
+            connections.end(origin, version);
+            if (interrupted) {
+                // a cancelled caller says nothing about the server, so the limit stays as it is
+                if (limiter != null) limiter.release();
+            } else {
+                release(started, response);
+            }
+        }
+    }
+
+    private CompletableFuture<byte[]> sendAsyncOnce(HttpRequest request, Endpoint endpoint) {
+        if (limiter == null) return exchangeAsync(request, endpoint);
+        return limiter.acquire().thenCompose(granted -> exchangeAsync(request, endpoint));
+    }
+
+    private CompletableFuture<byte[]> exchangeAsync(HttpRequest request, Endpoint endpoint) {
+        long started = System.nanoTime();
+        ConnectionTracker.Origin origin = connections.begin(request.uri());
+        log.debug("HTTP -> {} {} (async)", request.method(), request.uri());
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .handle((response, error) -> {
+                connections.end(origin, response == null ? null : response.version());
+                release(started, response);
+                if (error != null) {
+                    metrics.record(endpoint, 0, System.nanoTime() - started);
+                    Throwable cause = unwrap(error);
+                    throw new ApiClientException("Failed to send HTTP request: " + cause.getMessage(), cause);
+                }
+                return checkResponse(request, endpoint, response, started);
+            });
+    }
+
+    /** Returns the limiter permit of an attempt; no response means a transport failure. */
+    private void release(long started, HttpResponse<?> response) {
+        if (limiter == null) return;
+        int status = response == null ? 0 : response.statusCode();
+        boolean overloaded = status == 0 || status == 429 || status == 503 || status == 504;
+        limiter.release(System.nanoTime() - started, overloaded, response == null ? null : retryAfter(response));
+    }
+
+    /**
+     * {@code Retry-After} of a 429/503 response, in delta-seconds or HTTP-date form; null if absent,
+     * unparseable or on any other status.
+     */
+    static Duration retryAfter(HttpResponse<?> response) {
+        if (response.statusCode() != 429 && response.statusCode() != 503) return null;
+        String value = response.headers().firstValue("Retry-After").orElse(null);
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration wait = Duration.between(ZonedDateTime.now(at.getZone()), at);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (DateTimeParseException notDate) {
+                return null;
+            }
         }
     }
 
-    private <T> T parse(String body, Class<T> type) {
+    private byte[] checkResponse(HttpRequest request, Endpoint endpoint, HttpResponse<byte[]> response, long started) {
+        long elapsed = System.nanoTime() - started;
+        metrics.record(endpoint, response.statusCode(), elapsed);
+        log.debug("HTTP <- {} ({} ms)", response.statusCode(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+        int statusCode = response.statusCode();
+        if (statusCode < 200 || statusCode >= 300) {
+            throw new ApiClientException("HTTP " + statusCode + " for " + request.method() + " body=" + safeBody(response.body()),
+                statusCode, retryAfter(response));
+        }
+        return response.body();
+    }
+
+    private <T> T parse(byte[] body, Class<T> type) {
         try {
-            return mapper.readValue(body, type);
+            return readers.computeIfAbsent(type, mapper::readerFor).readValue(body);
         } catch (IOException e) {
             throw new ApiClientException("Failed to parse response body: " + e.getMessage(), e);
         }
     }
 
-    private <T> List<T> parseList(String body, Class<T> elementType) {
+    // package-private so the JMH benchmarks can measure parsing without a network round trip
+    <T> List<T> parseList(byte[] body, Class<T> elementType) {
         try {
-            return mapper.readerForListOf(elementType).readValue(body);
+            return listReaders.computeIfAbsent(elementType, mapper::readerForListOf).readValue(body);
         } catch (IOException e) {
             throw new ApiClientException("Failed to parse response body: " + e.getMessage(), e);
         }
     }
 
-    private static String safeBody(String body) {
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static String safeBody(byte[] body) {
         if (body == null) return "null";
-        return body.length() > 512 ? body.substring(0, 512) + "...(truncated)" : body;
+        if (body.length <= MAX_ERROR_BODY) return new String(body, StandardCharsets.UTF_8);
+        return new String(body, 0, MAX_ERROR_BODY, StandardCharsets.UTF_8) + "...(truncated)";
     }
 
 }
@@ -0,0 +1,70 @@
+package ee.bigbank.task.util;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import ee.bigbank.task.api.Endpoint;
+
+/**
+ * Per-endpoint request counters, status breakdown and latency histograms of an {@link HttpHelper}.
+ * Every HTTP attempt is recorded (retries and hedges count separately). Recording takes no locks:
+ * counters are {@link LongAdder}s and latencies go into a striped {@link LogLinearHistogram}.
+ */
+public class HttpMetrics {
+
+    private final Map<Endpoint, EndpointMetrics> byEndpoint = new EnumMap<>(Endpoint.class);
+    /** Wall-clock millis of the first answered request, 0 until then. */
+    private final AtomicLong firstResponseMillis = new AtomicLong();
+
+    public HttpMetrics() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            byEndpoint.put(endpoint, new EndpointMetrics());
+        }
+    }
+
+    /**
+     * @param status HTTP status, or 0 if no response was received
+     */
+    public void record(Endpoint endpoint, int status, long latencyNanos) {
+        EndpointMetrics metrics = byEndpoint.get(endpoint);
+        metrics.requests.increment();
+        metrics.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        metrics.latency.record(latencyNanos);
+        if (status != 0 && firstResponseMillis.get() == 0) {
+            firstResponseMillis.compareAndSet(0, System.currentTimeMillis());
+        }
+    }
+
+    /** When the first response (of any status) arrived, null if none has yet. */
+    public Instant firstResponseAt() {
+        long millis = firstResponseMillis.get();
+        return millis == 0 ? null : Instant.ofEpochMilli(millis);
+    }
+
+    public MetricsSnapshot snapshot() {
+        List<EndpointStats> endpoints = new ArrayList<>();
+        for (Map.Entry<Endpoint, EndpointMetrics> e : byEndpoint.entrySet()) {
+            EndpointMetrics metrics = e.getValue();
+            long requests = metrics.requests.sum();
+            if (requests == 0) continue;
+            Map<Integer, Long> statuses = new TreeMap<>();
+            metrics.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            endpoints.add(new EndpointStats(e.getKey(), requests, Collections.unmodifiableMap(statuses), metrics.latency.snapshot()));
+        }
+        return new MetricsSnapshot(endpoints);
+    }
+
+    private static final class EndpointMetrics {
+        final LongAdder requests = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LogLinearHistogram latency = new LogLinearHistogram();
+    }
+}
@@ -0,0 +1,48 @@
+package ee.bigbank.task.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ring of the most recent response latencies with a cached percentile.
+ * Recording is a counter increment and an array store; the percentile is re-sorted only every
+ * {@code size / 8} samples, by whichever thread records that sample.
+ */
+final class LatencyWindow {
+
+    static final int MIN_SAMPLES = 32;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private final int recomputeEvery;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, double percentile) {
+        this.samples = new AtomicLongArray(Math.max(size, MIN_SAMPLES));
+        this.percentile = percentile;
+        this.recomputeEvery = Math.max(1, samples.length() / 8);
+    }
+
+    void record(long nanos) {
+        long n = count.getAndIncrement() + 1;
+        samples.set((int) ((n - 1) % samples.length()), nanos);
+        if (n >= MIN_SAMPLES && n % recomputeEvery == 0) {
+            percentileNanos = compute((int) Math.min(n, samples.length()));
+        }
+    }
+
+    /** Latency at the configured percentile, or -1 until {@link #MIN_SAMPLES} responses were seen. */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private long compute(int size) {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) copy[i] = samples.get(i);
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        return copy[Math.max(0, Math.min(size - 1, index))];
+    }
+}
@@ -0,0 +1,70 @@
+package ee.bigbank.task.util;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings of the {@link AdaptiveLimiter} that {@link HttpHelper} puts in front of every request.
+ *
+ * @param initialLimit     requests allowed in flight at start, 0 = no limiter
+ * @param minLimit         the limit never shrinks below this
+ * @param maxLimit         the limit never grows above this
+ * @param backoffRatio     the limit is multiplied by this on overload (0..1)
+ * @param latencyTolerance a response slower than this multiple of the usual latency counts as overload
+ * @param maxPause         longest pause a {@code Retry-After} can impose on all requests
+ */
+public record LimiterPolicy(
+    int initialLimit,
+    int minLimit,
+    int maxLimit,
+    double backoffRatio,
+    double latencyTolerance,
+    Duration maxPause
+) {
+
+    public LimiterPolicy {
+        if (initialLimit < 0) throw new IllegalArgumentException("initialLimit must be >= 0");
+        if (minLimit < 1 || maxLimit < minLimit) throw new IllegalArgumentException("need 1 <= minLimit <= maxLimit");
+        if (backoffRatio <= 0 || backoffRatio >= 1) throw new IllegalArgumentException("backoffRatio must be in (0, 1)");
+        if (latencyTolerance <= 1) throw new IllegalArgumentException("latencyTolerance must be > 1");
+        Objects.requireNonNull(maxPause, "maxPause");
+        if (maxPause.isNegative()) throw new IllegalArgumentException("maxPause must be >= 0");
+    }
+
+    /** No limiting; the default. */
+    public static LimiterPolicy disabled() {
+        return new LimiterPolicy(0, 1, 1, 0.5, 2.0, Duration.ZERO);
+    }
+
+    /**
+     * Start at 20 in flight, between 1 and 500, back off to 70% on overload or 2x the usual latency; pause for at
+     * most 2 s, the longest retry backoff of {@link RetryPolicies#defaults()}.
+     */
+    public static LimiterPolicy defaults() {
+        return new LimiterPolicy(20, 1, 500, 0.7, 2.0, Duration.ofSeconds(2));
+    }
+
+    public boolean enabled() {
+        return initialLimit > 0;
+    }
+
+    public LimiterPolicy withInitialLimit(int initialLimit) {
+        return new LimiterPolicy(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance, maxPause);
+    }
+
+    public LimiterPolicy withLimits(int minLimit, int maxLimit) {
+        return new LimiterPolicy(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance, maxPause);
+    }
+
+    public LimiterPolicy withBackoffRatio(double backoffRatio) {
+        return new LimiterPolicy(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance, maxPause);
+    }
+
+    public LimiterPolicy withLatencyTolerance(double latencyTolerance) {
+        return new LimiterPolicy(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance, maxPause);
+    }
+
+    public LimiterPolicy withMaxPause(Duration maxPause) {
+        return new LimiterPolicy(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance, maxPause);
+    }
+}
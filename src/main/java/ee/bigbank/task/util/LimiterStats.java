@@ -0,0 +1,16 @@
+package ee.bigbank.task.util;
+
+/**
+ * State of an {@link AdaptiveLimiter}.
+ *
+ * @param limit     requests currently allowed in flight
+ * @param inFlight  requests currently in flight
+ * @param queued    requests that had to wait for a permit so far
+ * @param decreases times the limit was cut on overload
+ */
+public record LimiterStats(
+    int limit,
+    int inFlight,
+    long queued,
+    long decreases
+) {}
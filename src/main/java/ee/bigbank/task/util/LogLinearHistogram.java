@@ -0,0 +1,138 @@
+package ee.bigbank.task.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of non-negative longs with bounded relative error, in the spirit of HdrHistogram.
+ * Values below 32 get exact buckets; above that, each power of two is split into 32 linear sub-buckets,
+ * so any recorded value is reported within ~3%. Values above 2^40 land in the last bucket.
+ * <p>
+ * Recording is wait-free: counts live in several stripes picked by thread id, so thousands of
+ * threads recording the same common value do not all contend on one cache line.
+ */
+public class LogLinearHistogram {
+
+    private static final int PRECISION_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << PRECISION_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = (MAX_EXPONENT - PRECISION_BITS + 1) * SUB_BUCKETS + SUB_BUCKETS;
+    private static final long MAX_TRACKABLE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LogLinearHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param maxStripes count stripes, rounded up to a power of two and capped at 16; 1 suits a histogram
+     *                   recorded by a single thread, where more stripes would only cost memory
+     */
+    public LogLinearHistogram(int maxStripes) {
+        int capped = Math.min(MAX_STRIPES, maxStripes);
+        int stripeCount = Integer.highestOneBit(Math.max(1, capped) * 2 - 1);
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) stripes[i] = new AtomicLongArray(BUCKETS);
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        int stripe = (int) (Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L >>> 40) & stripeMask;
+        stripes[stripe].getAndIncrement(indexOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /** Point-in-time copy; concurrent recordings may or may not be included. */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) counts[i] += stripe.get(i);
+        }
+        return new Snapshot(counts, sum.sum(), max.get());
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        long clamped = Math.min(value, MAX_TRACKABLE);
+        int shift = 63 - Long.numberOfLeadingZeros(clamped) - PRECISION_BITS;
+        return (shift << PRECISION_BITS) + (int) (clamped >>> shift);
+    }
+
+    /** Smallest value that maps to bucket {@code index}. */
+    static long lowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) return index;
+        int shift = (index >>> PRECISION_BITS) - 1;
+        return (long) (index - (shift << PRECISION_BITS)) << shift;
+    }
+
+    /** Largest value that maps to bucket {@code index}. */
+    static long upperBound(int index) {
+        return index == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(index + 1) - 1;
+    }
+
+    /**
+     * Immutable histogram contents.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long sum, long max) {
+            long total = 0;
+            for (long c : counts) total += c;
+            this.counts = counts;
+            this.count = total;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Value at {@code percentile} (0..100): the highest value equivalent to the bucket holding
+         * that rank, never above the recorded maximum. 0 for an empty histogram.
+         */
+        public long valueAt(double percentile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(upperBound(i), max);
+            }
+            return max;
+        }
+
+        public long p50() {
+            return valueAt(50);
+        }
+
+        public long p99() {
+            return valueAt(99);
+        }
+
+        public long p999() {
+            return valueAt(99.9);
+        }
+    }
+}
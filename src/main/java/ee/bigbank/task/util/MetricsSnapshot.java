@@ -0,0 +1,49 @@
+package ee.bigbank.task.util;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import ee.bigbank.task.api.Endpoint;
+
+/**
+ * Point-in-time copy of {@link HttpMetrics}, one entry per endpoint that saw traffic.
+ */
+public record MetricsSnapshot(List<EndpointStats> endpoints) {
+
+    public MetricsSnapshot {
+        endpoints = List.copyOf(endpoints);
+    }
+
+    /** Stats for {@code endpoint}, or null if it was never called. */
+    public EndpointStats endpoint(Endpoint endpoint) {
+        for (EndpointStats stats : endpoints) {
+            if (stats.endpoint() == endpoint) return stats;
+        }
+        return null;
+    }
+
+    public long requests() {
+        long total = 0;
+        for (EndpointStats stats : endpoints) total += stats.requests();
+        return total;
+    }
+
+    /** Human-readable table, latencies in milliseconds. */
+    public String format() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%-12s %9s %7s %9s %9s %9s %9s  %s%n",
+            "endpoint", "requests", "failed", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "statuses"));
+        for (EndpointStats stats : endpoints) {
+            LogLinearHistogram.Snapshot latency = stats.latency();
+            sb.append(String.format(Locale.ROOT, "%-12s %9d %7d %9.2f %9.2f %9.2f %9.2f  %s%n",
+                stats.endpoint().name().toLowerCase(Locale.ROOT), stats.requests(), stats.failures(),
+                millis(latency.p50()), millis(latency.p99()), millis(latency.p999()), millis(latency.max()),
+                stats.statuses()));
+        }
+        return sb.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
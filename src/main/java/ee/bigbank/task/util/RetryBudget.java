@@ -0,0 +1,54 @@
+package ee.bigbank.task.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket shared by every request of an {@link HttpHelper}: each first attempt deposits
+ * {@code ratio} tokens, each retry spends one. Retries therefore add at most {@code ratio} extra load
+ * (plus a small burst), so a backend brownout cannot be multiplied by the whole fleet retrying.
+ */
+public class RetryBudget {
+
+    private static final long TOKEN = 1000; // balance is kept in milli-tokens
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio retries allowed per request on average, e.g. 0.2 = 20% extra load at most
+     * @param burst retries available up front and the maximum that can be saved up
+     */
+    public RetryBudget(double ratio, int burst) {
+        if (ratio < 0) throw new IllegalArgumentException("ratio must be >= 0");
+        if (burst < 0) throw new IllegalArgumentException("burst must be >= 0");
+        this.deposit = Math.round(ratio * TOKEN);
+        this.capacity = burst * TOKEN;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    /** Called once per logical request (not per retry). */
+    public void onRequest() {
+        if (deposit == 0) return;
+        long current;
+        do {
+            current = balance.get();
+            if (current >= capacity) return;
+        } while (!balance.compareAndSet(current, Math.min(capacity, current + deposit)));
+    }
+
+    /** Spends one token for a retry; false if the budget is exhausted. */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) return false;
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /** Whole retries currently available. */
+    public long available() {
+        return balance.get() / TOKEN;
+    }
+}
@@ -0,0 +1,53 @@
+package ee.bigbank.task.util;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+import ee.bigbank.task.api.Endpoint;
+
+/**
+ * Per-endpoint {@link RetryPolicy} plus the {@link RetryBudget} all endpoints draw from.
+ */
+public record RetryPolicies(
+    Map<Endpoint, RetryPolicy> byEndpoint,
+    RetryBudget budget
+) {
+
+    public RetryPolicies {
+        Objects.requireNonNull(budget, "budget");
+        EnumMap<Endpoint, RetryPolicy> copy = new EnumMap<>(Endpoint.class);
+        copy.putAll(byEndpoint);
+        for (Endpoint endpoint : Endpoint.values()) {
+            copy.putIfAbsent(endpoint, RetryPolicy.none());
+        }
+        byEndpoint = copy;
+    }
+
+    /** Three attempts: any transient failure for GETs, guarded retries for state-changing POSTs. */
+    public static RetryPolicies defaults() {
+        RetryPolicy safe = RetryPolicy.idempotent(3, Duration.ofMillis(100), Duration.ofSeconds(2));
+        RetryPolicy guarded = RetryPolicy.guarded(3, Duration.ofMillis(100), Duration.ofSeconds(2));
+        Map<Endpoint, RetryPolicy> policies = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            policies.put(endpoint, endpoint.idempotent() ? safe : guarded);
+        }
+        return new RetryPolicies(policies, new RetryBudget(0.2, 20));
+    }
+
+    /** Fail on the first error, as before retries existed. */
+    public static RetryPolicies none() {
+        return new RetryPolicies(Map.of(), new RetryBudget(0, 0));
+    }
+
+    public RetryPolicies with(Endpoint endpoint, RetryPolicy policy) {
+        Map<Endpoint, RetryPolicy> policies = new EnumMap<>(byEndpoint);
+        policies.put(endpoint, policy);
+        return new RetryPolicies(policies, budget);
+    }
+
+    public RetryPolicy policyFor(Endpoint endpoint) {
+        return byEndpoint.get(endpoint);
+    }
+}
@@ -0,0 +1,75 @@
+package ee.bigbank.task.util;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import ee.bigbank.task.api.ApiClientException;
+
+/**
+ * When and how long to wait before repeating a failed request.
+ *
+ * @param maxAttempts total attempts including the first one, 1 = never retry
+ * @param baseDelay   backoff cap for the first retry, doubled for every further retry
+ * @param maxDelay    upper bound for the backoff cap
+ * @param guarded     only retry failures where the request provably was not applied: connect
+ *                    failures and 429/503 rejections. Use for calls that change game state.
+ */
+public record RetryPolicy(
+    int maxAttempts,
+    Duration baseDelay,
+    Duration maxDelay,
+    boolean guarded
+) {
+
+    public RetryPolicy {
+        Objects.requireNonNull(baseDelay, "baseDelay");
+        Objects.requireNonNull(maxDelay, "maxDelay");
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be >= 1");
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO, true);
+    }
+
+    /** Retries any transport failure and 408/425/429/5xx gateway-style statuses. */
+    public static RetryPolicy idempotent(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        return new RetryPolicy(maxAttempts, baseDelay, maxDelay, false);
+    }
+
+    /** Retries only connect failures and 429/503, where the server did not act on the request. */
+    public static RetryPolicy guarded(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        return new RetryPolicy(maxAttempts, baseDelay, maxDelay, true);
+    }
+
+    public boolean shouldRetry(ApiClientException e) {
+        int status = e.statusCode();
+        if (status > 0) {
+            if (status == 429 || status == 503) return true;
+            return !guarded && (status == 408 || status == 425 || status == 500 || status == 502 || status == 504);
+        }
+        Throwable cause = e.getCause();
+        if (!(cause instanceof IOException)) return false; // interrupted, or not a transport failure
+        return !guarded || isConnectFailure(cause);
+    }
+
+    /**
+     * "Full jitter" backoff before retry number {@code retry} (1-based):
+     * uniform in [0, min(maxDelay, baseDelay * 2^(retry-1))].
+     */
+    public Duration backoff(int retry) {
+        long base = baseDelay.toMillis();
+        long cap = Math.min(maxDelay.toMillis(), base << Math.min(retry - 1, 20));
+        return cap <= 0 ? Duration.ZERO : Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    private static boolean isConnectFailure(Throwable t) {
+        for (Throwable c = t; c != null; c = c.getCause()) {
+            if (c instanceof ConnectException || c instanceof HttpConnectTimeoutException) return true;
+        }
+        return false;
+    }
+}
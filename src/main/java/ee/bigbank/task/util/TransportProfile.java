@@ -0,0 +1,50 @@
+package ee.bigbank.task.util;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Transport settings for {@link HttpHelper}'s {@link HttpClient}.
+ *
+ * @param version           protocol version; with HTTP_2 all requests to an origin share one multiplexed connection
+ * @param connectTimeout    TCP/TLS connect timeout
+ * @param executorThreads   size of a dedicated executor for the client's async work, 0 = client default
+ * @param warmUpConnections connections {@link HttpHelper#warmUp(String)} pre-opens, 0 = no warm-up
+ */
+public record TransportProfile(
+    HttpClient.Version version,
+    Duration connectTimeout,
+    int executorThreads,
+    int warmUpConnections
+) {
+
+    public TransportProfile {
+        Objects.requireNonNull(version, "version");
+        Objects.requireNonNull(connectTimeout, "connectTimeout");
+        if (executorThreads < 0) throw new IllegalArgumentException("executorThreads must be >= 0");
+        if (warmUpConnections < 0) throw new IllegalArgumentException("warmUpConnections must be >= 0");
+    }
+
+    /** Same transport as before profiles existed: client defaults and a 5 s connect timeout. */
+    public static TransportProfile defaults() {
+        return new TransportProfile(HttpClient.Version.HTTP_2, Duration.ofSeconds(5), 0, 0);
+    }
+
+    /** HTTP/2 with a dedicated executor and warm-up of a single multiplexed connection. */
+    public static TransportProfile http2(int executorThreads) {
+        return new TransportProfile(HttpClient.Version.HTTP_2, Duration.ofSeconds(5), executorThreads, 1);
+    }
+
+    public TransportProfile withVersion(HttpClient.Version version) {
+        return new TransportProfile(version, connectTimeout, executorThreads, warmUpConnections);
+    }
+
+    public TransportProfile withExecutorThreads(int executorThreads) {
+        return new TransportProfile(version, connectTimeout, executorThreads, warmUpConnections);
+    }
+
+    public TransportProfile withWarmUpConnections(int warmUpConnections) {
+        return new TransportProfile(version, connectTimeout, executorThreads, warmUpConnections);
+    }
+}
@@ -0,0 +1,42 @@
+package ee.bigbank.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class BatchArgumentsTest {
+
+    @Test
+    void parse_withoutArguments_playsOneGameAgainstPublicApi() {
+        BatchArguments args = BatchArguments.parse();
+
+        assertThat(args).isEqualTo(new BatchArguments(1, 1, BatchArguments.DEFAULT_BASE_URL));
+    }
+
+    @Test
+    void parse_readsNamedOptions_inBothForms() {
+        BatchArguments args = BatchArguments.parse("--games", "200", "--concurrency=32", "--base-url", "http://127.0.0.1:8080/api/v2/");
+
+        assertThat(args.games()).isEqualTo(200);
+        assertThat(args.concurrency()).isEqualTo(32);
+        assertThat(args.baseUrl()).isEqualTo("http://127.0.0.1:8080/api/v2");
+    }
+
+    @Test
+    void parse_keepsPositionalForm_andDefaultsConcurrencyToGameCount() {
+        assertThat(BatchArguments.parse("100", "20")).isEqualTo(new BatchArguments(100, 20, BatchArguments.DEFAULT_BASE_URL));
+        assertThat(BatchArguments.parse("--games=50").concurrency()).isEqualTo(50);
+        assertThat(BatchArguments.parse("0").concurrency()).isEqualTo(1);
+    }
+
+    @Test
+    void parse_rejectsUnknownOptionsAndBadValues_withUsage() {
+        assertThatThrownBy(() -> BatchArguments.parse("--turbo"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("--turbo").hasMessageContaining("Usage");
+        assertThatThrownBy(() -> BatchArguments.parse("--games", "many")).hasMessageContaining("games must be a number");
+        assertThatThrownBy(() -> BatchArguments.parse("--base-url")).hasMessageContaining("Missing value");
+        assertThatThrownBy(() -> BatchArguments.parse("--concurrency", "0")).hasMessageContaining("concurrency must be >= 1");
+        assertThatThrownBy(() -> BatchArguments.parse("1", "2", "3")).hasMessageContaining("Unexpected argument");
+    }
+}
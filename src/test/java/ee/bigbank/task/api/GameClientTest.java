@@ -7,9 +7,11 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -132,6 +134,48 @@ class GameClientTest {
         assertThat(urlCap.getValue()).isEqualTo("http://h/api/v4/" + encGame + "/investigate/reputation");
     }
 
+    @Test
+    void async_usesSameUrlsAsBlockingCalls() {
+        GameClient client = new GameClient("http://h/api/v4/", http);
+        when(http.postAsync(anyString(), eq(GameStartResponse.class)))
+                .thenReturn(CompletableFuture.completedFuture(new GameStartResponse("g1", 3, 0, 1, 0, 0, 1)));
+        when(http.getListAsync(anyString(), eq(Message.class)))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(http.postAsync(anyString(), eq(SolveResponse.class)))
+                .thenReturn(CompletableFuture.completedFuture(new SolveResponse(true, 3, 10, 10, 0, 2, "ok")));
+        when(http.getListAsync(anyString(), eq(ShopItem.class)))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(http.postAsync(anyString(), eq(BuyResponse.class)))
+                .thenReturn(CompletableFuture.completedFuture(new BuyResponse("OK", 50, 3, 1, 2)));
+        when(http.postAsync(anyString(), eq(ReputationResponse.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ReputationResponse(1, 2, 3)));
+
+        assertThat(client.startGameAsync().join().gameId()).isEqualTo("g1");
+        client.getMessagesAsync("g id").join();
+        client.solveAsync("g1", "a=b").join();
+        client.getShopAsync("g1").join();
+        client.buyItemAsync("g1", "hpot").join();
+        client.investigateAsync("g1").join();
+
+        verify(http).postAsync("http://h/api/v4/game/start", GameStartResponse.class);
+        verify(http).getListAsync("http://h/api/v4/g%20id/messages", Message.class);
+        verify(http).postAsync("http://h/api/v4/g1/solve/a%3Db", SolveResponse.class);
+        verify(http).getListAsync("http://h/api/v4/g1/shop", ShopItem.class);
+        verify(http).postAsync("http://h/api/v4/g1/shop/buy/hpot", BuyResponse.class);
+        verify(http).postAsync("http://h/api/v4/g1/investigate/reputation", ReputationResponse.class);
+    }
+
+    @Test
+    void endpoint_classifiesEveryClientUrl() {
+        assertThat(Endpoint.of(URI.create("http://h/api/v4/game/start"))).isEqualTo(Endpoint.START);
+        assertThat(Endpoint.of(URI.create("http://h/api/v4/g%20id/messages"))).isEqualTo(Endpoint.MESSAGES);
+        assertThat(Endpoint.of(URI.create("http://h/api/v4/g1/solve/a%2Fmessages"))).isEqualTo(Endpoint.SOLVE);
+        assertThat(Endpoint.of(URI.create("http://h/api/v4/g1/shop"))).isEqualTo(Endpoint.SHOP);
+        assertThat(Endpoint.of(URI.create("http://h/api/v4/g1/shop/buy/hpot"))).isEqualTo(Endpoint.BUY);
+        assertThat(Endpoint.of(URI.create("http://h/api/v4/g1/investigate/reputation"))).isEqualTo(Endpoint.INVESTIGATE);
+        assertThat(Endpoint.of(URI.create("http://h/health"))).isEqualTo(Endpoint.OTHER);
+    }
+
     @Test
     void constructor_throwsOnInvalidBaseUrl() {
         assertThrows(IllegalArgumentException.class, () -> new GameClient("   ", http));
@@ -0,0 +1,118 @@
+package ee.bigbank.task.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ee.bigbank.task.api.ApiClientException;
+import ee.bigbank.task.core.model.FleetSummary;
+import ee.bigbank.task.core.model.GameResult;
+
+@ExtendWith(MockitoExtension.class)
+class FleetRunnerTest {
+
+    @Mock GameService gameService;
+
+    @Test
+    void run_playsAllGames_andAggregatesScores() {
+        AtomicInteger counter = new AtomicInteger();
+        when(gameService.playGame()).thenAnswer(inv -> {
+            int n = counter.incrementAndGet();
+            return new GameResult("g" + n, n * 100, n);
+        });
+
+        FleetSummary summary = new FleetRunner(gameService, 2).run(4);
+
+        verify(gameService, times(4)).playGame();
+        assertThat(summary.games()).isEqualTo(4);
+        assertThat(summary.failed()).isZero();
+        assertThat(summary.results()).hasSize(4);
+        assertThat(summary.totalScore()).isEqualTo(100 + 200 + 300 + 400);
+        assertThat(summary.minScore()).isEqualTo(100);
+        assertThat(summary.maxScore()).isEqualTo(400);
+        assertThat(summary.totalTurns()).isEqualTo(10);
+        assertThat(summary.meanScore()).isEqualTo(250.0);
+    }
+
+    @Test
+    void run_neverExceedsConcurrencyCap() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(gameService.playGame()).thenAnswer(inv -> {
+            int now = inFlight.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return new GameResult("g", 1, 1);
+        });
+
+        FleetSummary summary = new FleetRunner(gameService, 3).run(12);
+
+        assertThat(summary.completed()).isEqualTo(12);
+        assertThat(peak.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void run_countsFailedGames_withoutStoppingOthers() {
+        when(gameService.playGame())
+            .thenThrow(new ApiClientException("HTTP 500"))
+            .thenReturn(new GameResult("ok", 500, 7));
+
+        FleetSummary summary = new FleetRunner(gameService, 1).run(2);
+
+        assertThat(summary.games()).isEqualTo(2);
+        assertThat(summary.failed()).isEqualTo(1);
+        assertThat(summary.results()).extracting(GameResult::gameId).containsExactly("ok");
+    }
+
+    @Test
+    void run_reportsEachResultAsItsGameFinishes_evenIfTheCallbackFails() {
+        when(gameService.playGame()).thenReturn(new GameResult("a", 1, 1), new GameResult("b", 2, 2));
+        List<GameResult> reported = new CopyOnWriteArrayList<>();
+
+        FleetSummary summary = new FleetRunner(gameService, 2, result -> {
+            reported.add(result);
+            throw new IllegalStateException("store down");
+        }).run(2);
+
+        assertThat(summary.failed()).isZero();
+        assertThat(reported).extracting(GameResult::gameId).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void summary_reportsThroughputAndScoreDistribution() {
+        List<GameResult> results = List.of(new GameResult("a", 100, 10), new GameResult("b", 400, 40),
+            new GameResult("c", 200, 20), new GameResult("d", 300, 30), new GameResult("e", 1000, 100));
+
+        FleetSummary summary = FleetSummary.of(results, 1, Duration.ofSeconds(2));
+        String report = summary.format(1_000);
+
+        assertThat(summary.gamesPerSecond()).isEqualTo(2.5);
+        assertThat(summary.turnsPerSecond()).isEqualTo(100.0);
+        assertThat(summary.perSecond(1_000)).isEqualTo(500.0);
+        assertThat(summary.scorePercentile(50)).isEqualTo(300);
+        assertThat(summary.scorePercentile(90)).isEqualTo(1000);
+        assertThat(summary.scorePercentile(0)).isEqualTo(100);
+        assertThat(report).contains("games/s=2.50 requests/s=500.0 turns/s=100.0",
+            "score: min=100 mean=400.0 p50=300 p90=1000 max=1000", "games=6 failed=1");
+        assertThat(report.lines().filter(line -> line.matches("[a-e] .*"))).hasSize(5);
+        assertThat(FleetSummary.of(List.of(), 0, Duration.ZERO).scorePercentile(90)).isZero();
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new FleetRunner(gameService, 0));
+    }
+}
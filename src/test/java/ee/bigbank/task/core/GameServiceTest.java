@@ -1,15 +1,21 @@
 package ee.bigbank.task.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,8 +25,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.api.dto.BuyResponse;
 import ee.bigbank.task.api.dto.GameStartResponse;
 import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.ReputationResponse;
 import ee.bigbank.task.api.dto.ShopItem;
 import ee.bigbank.task.api.dto.SolveResponse;
 import ee.bigbank.task.core.model.GameResult;
@@ -117,6 +125,123 @@ class GameServiceTest {
         verify(client, times(2)).getMessages("game-2");
     }
 
+    @Test
+    void playGame_reputationEveryTurn_keepsTheLastAnswerOfTheRunningGame() {
+        GameService service = new GameService(client, decoder, GameOptions.defaults().withReputationEveryTurns(1));
+        when(client.startGame()).thenReturn(new GameStartResponse("game-r", 2, 0, 1, 0, 0, 1));
+        when(client.getShop(anyString())).thenReturn(List.of(new ShopItem("hpot", "Healing potion", 50)));
+        Message m = new Message("R1", "msg", 10, 4, "Gamble", null);
+        when(client.getMessages("game-r")).thenReturn(List.of(m));
+        when(decoder.decode(m)).thenReturn(Optional.of(m));
+        when(client.solve("game-r", "R1"))
+            .thenReturn(new SolveResponse(false, 1, 0, 0, 0, 2, "failed"))
+            .thenReturn(new SolveResponse(false, 0, 0, 0, 0, 4, "failed"));
+        ReputationResponse reputation = new ReputationResponse(-1, 2, 0);
+        when(client.investigate("game-r")).thenReturn(reputation);
+
+        GameResult result = service.playGame();
+
+        // investigated after the first turn only; the game was over after the second
+        assertThat(result.reputation()).isEqualTo(reputation);
+        verify(client, times(1)).investigate("game-r");
+    }
+
+    @Test
+    void playGame_boardWithNothingPickedOrBought_fetchesAgain() {
+        AtomicInteger picks = new AtomicInteger();
+        // declines the first board, then takes the first ad
+        MessageSelector selector = board -> picks.getAndIncrement() == 0 ? Optional.empty() : board.stream().findFirst();
+        GameService service = new GameService(client, decoder,
+            GameOptions.defaults().withBoardRefreshTurns(10).withSelector(selector));
+        when(client.startGame()).thenReturn(new GameStartResponse("game-b", 1, 0, 1, 0, 0, 1));
+        when(client.getShop(anyString())).thenReturn(List.of(new ShopItem("hpot", "Healing potion", 50)));
+        Message m = new Message("B1", "msg", 10, 4, "Sure thing", null);
+        when(client.getMessages("game-b")).thenReturn(List.of(m));
+        when(decoder.decode(m)).thenReturn(Optional.of(m));
+        when(client.solve("game-b", "B1")).thenReturn(new SolveResponse(false, 0, 0, 0, 0, 2, "failed"));
+
+        GameResult result = assertTimeoutPreemptively(Duration.ofSeconds(5), service::playGame);
+
+        assertThat(result.turns()).isEqualTo(2);
+        verify(client, times(2)).getMessages("game-b");
+    }
+
+    @Test
+    void playGame_lazyDecoding_decodesOnlyChosenMessage() {
+        GameService service = new GameService(client, decoder, GameOptions.defaults().withLazyDecoding(true));
+
+        when(client.startGame()).thenReturn(new GameStartResponse(
+                "game-4", 1, 100, 1, 0, 0, 1));
+        when(client.getShop(anyString())).thenReturn(List.of(
+                new ShopItem("hpot", "Healing potion", 50)
+        ));
+
+        Message risky = new Message("enc-R", "enc", 300, 5, "enc-risky", "1");
+        Message safe = new Message("enc-S", "enc", 20, 2, "enc-cake", "1");
+        Message safeDecoded = new Message("S", "msg", 20, 2, "Piece of cake", null);
+        when(client.getMessages(anyString())).thenReturn(List.of(risky, safe));
+
+        when(decoder.probabilityOf(risky)).thenReturn(Probability.RISKY);
+        when(decoder.probabilityOf(safe)).thenReturn(Probability.PIECE_OF_CAKE);
+        when(decoder.decodeSelected(safe)).thenReturn(safeDecoded);
+
+        when(client.solve("game-4", "S")).thenReturn(new SolveResponse(
+                false, 0, 100, 0, 0, 2, "failed"
+        ));
+
+        GameResult result = service.playGame();
+
+        assertThat(result.turns()).isEqualTo(2);
+        verify(client).solve("game-4", "S");
+        verify(decoder, never()).decode(any());
+        verify(decoder, never()).decodeSelected(risky);
+    }
+
+    @Test
+    void playGame_pipelined_fetchesNextBoardWhilePurchaseIsInFlight() {
+        GameService service = new GameService(client, decoder, GameOptions.defaults().withPipelined(true));
+
+        when(client.startGame()).thenReturn(new GameStartResponse(
+                "game-5", 1, 100, 1, 0, 0, 1));
+        when(client.getShop(anyString())).thenReturn(List.of(
+                new ShopItem("hpot", "Healing potion", 50)
+        ));
+
+        Message first = new Message("A1", "msg", 50, 3, "Piece of cake", null);
+        Message expiring = new Message("E1", "msg", 900, 1, "Piece of cake", null);
+        Message next = new Message("N1", "msg", 40, 4, "Sure thing", null);
+        when(client.getMessages("game-5")).thenReturn(List.of(first));
+        when(decoder.decode(first)).thenReturn(Optional.of(first));
+        when(decoder.decode(next)).thenReturn(Optional.of(next));
+        when(client.solve("game-5", "A1")).thenReturn(new SolveResponse(
+                true, 1, 150, 50, 0, 2, "ok"
+        ));
+
+        // lives=1 and gold>=50 -> buys a potion; the board fetched alongside it still shows E1
+        CompletableFuture<BuyResponse> purchase = new CompletableFuture<>();
+        when(client.buyItemAsync("game-5", "hpot")).thenReturn(purchase);
+        when(client.getMessagesAsync("game-5")).thenAnswer(invocation -> {
+            purchase.complete(new BuyResponse("true", 100, 2, 1, 3));
+            return CompletableFuture.completedFuture(List.of(expiring, next));
+        });
+        when(client.solve("game-5", "N1")).thenReturn(new SolveResponse(
+                false, 0, 100, 50, 0, 4, "failed"
+        ));
+
+        GameResult result = service.playGame();
+
+        assertThat(result.score()).isEqualTo(50);
+        assertThat(result.turns()).isEqualTo(4);
+        InOrder order = inOrder(client);
+        order.verify(client).solve("game-5", "A1");
+        order.verify(client).buyItemAsync("game-5", "hpot");
+        order.verify(client).getMessagesAsync("game-5");
+        order.verify(client).solve("game-5", "N1");
+        verify(client, never()).solve("game-5", "E1"); // may have expired with the purchase turn
+        verify(client, never()).buyItem(anyString(), anyString());
+        verify(decoder, never()).decode(expiring);
+    }
+
     @Test
     void playGame_comparatorPrefersHigherExpiresIn_whenSameProbability() {
         GameService service = new GameService(client, decoder);
@@ -151,4 +276,18 @@ class GameServiceTest {
         verify(client).solve(eq("game-3"), adIdCap.capture());
         assertThat(adIdCap.getValue()).isEqualTo("H"); // prefers higher expiresIn
     }
+
+    @Test
+    void messageSelector_bestOrderMatchesComparator_expectedRewardWeighsReward() {
+        List<Message> board = List.of(
+            new Message("A", "a", 10, 3, "Piece of cake", null),
+            new Message("B", "b", 10, 5, "Piece of cake", null),
+            new Message("C", "c", 200, 2, "Gamble", null));
+
+        assertThat(MessageSelector.bestOrder().select(board))
+            .isEqualTo(board.stream().max(GameService.BEST_MESSAGE_ORDER));
+        assertThat(MessageSelector.bestOrder().select(board)).get().extracting(Message::adId).isEqualTo("B");
+        assertThat(MessageSelector.expectedReward().select(board)).get().extracting(Message::adId).isEqualTo("C");
+        assertThat(MessageSelector.expectedReward().select(List.of())).isEmpty();
+    }
 }
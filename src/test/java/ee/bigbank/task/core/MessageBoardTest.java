@@ -0,0 +1,93 @@
+package ee.bigbank.task.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.api.dto.Message;
+
+@ExtendWith(MockitoExtension.class)
+class MessageBoardTest {
+
+    @Mock GameClient client;
+    @Mock MessageDecoder decoder;
+
+    private final Message cake = new Message("enc-C", "enc", 10, 2, "enc-cake", "1");
+    private final Message cakeDecoded = new Message("C", "msg", 10, 2, "Piece of cake", null);
+    private final Message gamble = new Message("G", "msg", 80, 5, "Gamble", null);
+
+    @Test
+    void decodesEachAdOnce_acrossFetches() {
+        Message newcomer = new Message("N", "msg", 40, 4, "Sure thing", null);
+        when(client.getMessages("g1"))
+                .thenReturn(List.of(cake, gamble))
+                .thenReturn(List.of(cake, gamble, newcomer));
+        when(decoder.decode(cake)).thenReturn(Optional.of(cakeDecoded));
+        when(decoder.decode(gamble)).thenReturn(Optional.of(gamble));
+        when(decoder.decode(newcomer)).thenReturn(Optional.of(newcomer));
+        MessageBoard board = new MessageBoard(client, decoder, "g1", 1);
+
+        assertThat(board.best()).contains(cakeDecoded);
+        board.turn(1);
+        assertThat(board.best()).map(Message::adId).contains("C");
+
+        assertThat(board.fetches()).isEqualTo(2);
+        assertThat(board.decodes()).isEqualTo(3);
+        verify(decoder, times(1)).decode(cake);
+    }
+
+    @Test
+    void servesCachedBoard_withLocalExpiry_untilRefreshIsDue() {
+        when(client.getMessages("g1")).thenReturn(List.of(cake, gamble));
+        when(decoder.decode(cake)).thenReturn(Optional.of(cakeDecoded));
+        when(decoder.decode(gamble)).thenReturn(Optional.of(gamble));
+        MessageBoard board = new MessageBoard(client, decoder, "g1", 3);
+        board.turn(10);
+
+        assertThat(board.best()).contains(cakeDecoded);
+        assertThat(board.servedFromCache()).isFalse();
+
+        board.turn(11);
+        Optional<Message> cached = board.best();
+        assertThat(board.servedFromCache()).isTrue();
+        assertThat(cached).map(Message::adId).contains("C");
+        assertThat(cached).map(Message::expiresIn).contains(1);
+
+        board.turnPassed(); // turn 12: the cake ad (fetched at 10, expiresIn 2) is gone
+        assertThat(board.best()).map(Message::adId).contains("G");
+        assertThat(board.best()).map(Message::expiresIn).contains(3);
+        assertThat(board.fetches()).isEqualTo(1);
+
+        board.turn(13);
+        board.best();
+        assertThat(board.servedFromCache()).isFalse();
+        assertThat(board.fetches()).isEqualTo(2);
+    }
+
+    @Test
+    void removedAndInvalidatedBoards_fetchAgain() {
+        when(client.getMessages("g1")).thenReturn(List.of(gamble));
+        when(decoder.decode(gamble)).thenReturn(Optional.of(gamble));
+        MessageBoard board = new MessageBoard(client, decoder, "g1", 10);
+
+        board.best();
+        board.remove("G");   // board now empty -> fetch
+        board.best();
+        board.invalidate();  // explicit -> fetch
+        board.best();
+        board.best();        // cached
+
+        assertThat(board.fetches()).isEqualTo(3);
+        assertThat(board.decodes()).isEqualTo(1);
+    }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -92,6 +93,51 @@ class MessageDecoderTest {
         assertThat(out).containsSame(enc);
     }
 
+    @Test
+    void probabilityOf_decodesOnlyTheLabel_forEachMethod() {
+        assertThat(decoder.probabilityOf(new Message("A1", "M", 10, 3, "  piece of CAKE ", null)))
+            .isEqualTo(Probability.PIECE_OF_CAKE);
+        assertThat(decoder.probabilityOf(new Message(b64("X1"), b64("M"), 10, 3, b64("Sure thing"), "1")))
+            .isEqualTo(Probability.SURE_THING);
+        assertThat(decoder.probabilityOf(new Message(rot13("X1"), rot13("M"), 10, 3, rot13("Quite likely"), "2")))
+            .isEqualTo(Probability.QUITE_LIKELY);
+    }
+
+    @Test
+    void probabilityOf_matchesDecode_forEdgeCases() {
+        List<Message> cases = List.of(
+            new Message("###", "???", 15, 2, "!!notB64!!", "1"),             // invalid base64
+            new Message("A1", "M", 10, 3, "Gamble", "1"),                    // valid base64, garbage label -> raw label
+            new Message("A1", "M", 10, 3, "Piece of cake", "1"),             // invalid base64, raw label known
+            new Message("A1", "M", 10, 3, b64("Risky") + "=", "1"),          // bad padding
+            new Message("A1", "M", 10, 3, b64("Risky").replace("=", ""), "1"), // missing padding is fine
+            new Message("A1", "M", 10, 3, b64("  Hmmm....  "), "1"),
+            new Message("A1", "M", 10, 3, b64("Ünknown"), "1"),
+            new Message("A1", "M", 10, 3, b64(" ".repeat(100) + "Gamble"), "1"),
+            new Message("A1", "M", 10, 3, rot13("Nope"), "2"),
+            new Message("A1", "M", 10, 3, null, "2"),
+            new Message("A1", "M", 10, 3, "Impossible", "9")
+        );
+        for (Message m : cases) {
+            Probability expected = decoder.decode(m)
+                .flatMap(d -> Probability.fromLabel(d.probability()))
+                .orElse(null);
+            assertThat(decoder.probabilityOf(m)).as(m.toString()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void decodeSelected_decodesAllFields() {
+        Message enc = new Message(b64("X123"), b64("Do the thing"), 50, 5, b64("Sure thing"), "1");
+
+        Message dec = decoder.decodeSelected(enc);
+
+        assertThat(dec.adId()).isEqualTo("X123");
+        assertThat(dec.message()).isEqualTo("Do the thing");
+        assertThat(dec.probability()).isEqualTo("Sure thing");
+        assertThat(dec.encrypted()).isNull();
+    }
+
     // --- helpers ----------------------------------------------------------
 
     private static String rot13(String s) {
@@ -0,0 +1,97 @@
+package ee.bigbank.task.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import ee.bigbank.task.api.dto.Message;
+
+class MonteCarloSelectorTest {
+
+    /** Enough rollouts and time that the estimates are settled. */
+    private static final LookaheadPolicy SETTLED = LookaheadPolicy.defaults()
+        .withRollouts(20_000)
+        .withBudget(Duration.ofSeconds(5));
+
+    @Test
+    void emptyAndSingleAdBoards_needNoRollouts() {
+        MonteCarloSelector selector = new MonteCarloSelector();
+        Message only = ad("only", 10, "Gamble", 3);
+
+        assertThat(selector.select(List.of())).isEmpty();
+        assertThat(selector.select(List.of(only), 1, 0)).contains(only);
+        assertThat(selector.rollouts()).isZero();
+    }
+
+    @Test
+    void prefersHigherReward_atSameOdds() {
+        MonteCarloSelector selector = new MonteCarloSelector(SETTLED);
+        // both expire after this turn, so a rollout cannot take the other one later
+        Message small = ad("small", 20, "Sure thing", 1);
+        Message large = ad("large", 80, "Sure thing", 1);
+
+        assertThat(selector.select(List.of(small, large), 3, 0)).contains(large);
+        assertThat(selector.rollouts()).isPositive();
+    }
+
+    @Test
+    void lastLife_avoidsGamble_thatSpareLivesCanAfford() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        LookaheadPolicy policy = SETTLED.withHorizon(3).withLifeValue(0).withShop(ShopPolicy.defaults().withPotionMinGold(10_000));
+        MonteCarloSelector selector = new MonteCarloSelector(policy, pool);
+        Message safe = ad("safe", 40, "Piece of cake", 1);
+        Message risky = ad("risky", 150, "Risky", 1);
+        // follow-ups only reachable by surviving the first turn
+        List<Message> board = List.of(safe, risky,
+            ad("next1", 300, "Piece of cake", 5), ad("next2", 300, "Piece of cake", 5));
+
+        // risky: 0.3 * 150 = 45 beats 0.95 * 40 = 38 while a failure only costs a spare life ...
+        assertThat(selector.select(board, 3, 0)).contains(risky);
+        // ... but on the last life a failure also forfeits the two 300-point follow-ups
+        assertThat(selector.select(board, 1, 0)).contains(safe);
+        pool.shutdown();
+    }
+
+    @Test
+    void timeBudget_capsRollouts() {
+        MonteCarloSelector selector = new MonteCarloSelector(LookaheadPolicy.defaults()
+            .withRollouts(Integer.MAX_VALUE)
+            .withBudget(Duration.ofMillis(20)));
+        List<Message> board = List.of(ad("a", 10, "Gamble", 3), ad("b", 20, "Gamble", 3), ad("c", 30, "Risky", 3));
+
+        long started = System.nanoTime();
+        assertThat(selector.select(board, 3, 100)).isPresent();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void zeroBudget_runsOneBatchPerCandidate() {
+        MonteCarloSelector selector = new MonteCarloSelector(LookaheadPolicy.defaults().withBudget(Duration.ZERO));
+        List<Message> board = List.of(ad("a", 10, "Gamble", 3), ad("b", 20, "Gamble", 3), ad("c", 30, "Risky", 3));
+
+        assertThat(selector.select(board, 3, 100)).isPresent();
+
+        assertThat(selector.rollouts()).isEqualTo(3 * 16);
+    }
+
+    @Test
+    void sameSeed_sameBoard_samePick() {
+        // equal expected values, so the pick is decided by rollout noise alone
+        List<Message> board = List.of(ad("a", 100, "Gamble", 1), ad("b", 100, "Gamble", 1), ad("c", 100, "Gamble", 1));
+        LookaheadPolicy noisy = LookaheadPolicy.defaults().withRollouts(32).withBudget(Duration.ofSeconds(5)).withSeed(7);
+        Message first = new MonteCarloSelector(noisy).select(board, 3, 0).orElseThrow();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(new MonteCarloSelector(noisy).select(board, 3, 0)).contains(first);
+        }
+    }
+
+    private static Message ad(String id, int reward, String probability, int expiresIn) {
+        return new Message(id, "msg " + id, reward, expiresIn, probability, null);
+    }
+}
@@ -2,6 +2,7 @@ package ee.bigbank.task.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 
@@ -29,6 +30,35 @@ class ProbabilityTest {
         assertThat(Probability.fromLabel(null)).isEmpty();
     }
 
+    @Test
+    void match_agreesWithFromLabel() {
+        for (String label : new String[] {"Gamble", "  rIsKy ", "HMMM....", "Not a label", "", "Gambl"}) {
+            Probability expected = Probability.fromLabel(label).orElse(null);
+            assertThat(Probability.match(label)).as(label).isEqualTo(expected);
+            char[] chars = ("xx" + label + "yy").toCharArray();
+            assertThat(Probability.match(chars, 2, 2 + label.length())).as(label).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void match_resolvesEveryLabel_andRejectsSameShapedNearMisses() {
+        for (Probability p : Probability.values()) {
+            String label = p.label();
+            assertThat(Probability.match(label.toUpperCase(Locale.ROOT))).isEqualTo(p);
+            assertThat(Probability.match(" " + label.toLowerCase(Locale.ROOT) + "\t")).isEqualTo(p);
+            // same length, first and last char -> same hash slot, must still be rejected
+            char[] chars = label.toCharArray();
+            chars[chars.length / 2] = '#';
+            assertThat(Probability.match(new String(chars))).isNull();
+        }
+        assertThat(Probability.match("   ")).isNull();
+    }
+
+    @Test
+    void fromLabel_reusesOptionalInstances() {
+        assertThat(Probability.fromLabel("gamble")).isSameAs(Probability.fromLabel(" GAMBLE"));
+    }
+
     @Test
     void validProbabilities_containsAllEnumLabels() {
         Set<String> labels = Probability.validProbabilities();
@@ -0,0 +1,77 @@
+package ee.bigbank.task.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ee.bigbank.task.api.dto.ShopItem;
+
+class PurchasePlannerTest {
+
+    private final ShopItem pot = new ShopItem("HPot", "Healing potion", 50);
+    private final ShopItem claws = new ShopItem("cs", "Claw Sharpening", 300);
+    private final ShopItem wax = new ShopItem("wax", "Copper Plating", 100);
+    private final ShopItem tricks = new ShopItem("tricks", "Book of Tricks", 100);
+
+    @Test
+    void catalogOrder_buysItemsInListedOrder_thenPotions() {
+        PurchasePlanner planner = new PurchasePlanner(List.of(claws, pot, wax), PurchaseOrder.CATALOG);
+
+        assertThat(planner.next(1000, 3, reserve(0))).isSameAs(claws);
+        planner.purchased(claws);
+        assertThat(planner.next(1000, 3, reserve(0))).isSameAs(wax);
+        planner.purchased(wax);
+
+        assertThat(planner.next(1000, 3, reserve(0))).isSameAs(pot); // everything else bought
+        assertThat(planner.purchasedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cheapestFirst_keepsCatalogOrderAmongEqualCosts() {
+        PurchasePlanner planner = new PurchasePlanner(List.of(claws, wax, tricks), PurchaseOrder.CHEAPEST_FIRST);
+
+        assertThat(planner.next(1000, 3, reserve(0))).isSameAs(wax);
+        planner.purchased(wax);
+        assertThat(planner.next(1000, 3, reserve(0))).isSameAs(tricks);
+        planner.purchased(tricks);
+        assertThat(planner.next(1000, 3, reserve(0))).isSameAs(claws);
+    }
+
+    @Test
+    void lowLives_preferPotion_andReserveBlocksUpgrades() {
+        PurchasePlanner planner = new PurchasePlanner(List.of(wax, pot), PurchaseOrder.CATALOG);
+
+        assertThat(planner.next(60, 1, reserve(0))).isSameAs(pot);
+        assertThat(planner.next(40, 1, reserve(0))).isNull();      // potion needs 50 gold, no upgrade at 1 life
+        assertThat(planner.next(150, 3, reserve(100))).isNull();   // 150 - 100 < 100
+        assertThat(planner.next(200, 3, reserve(100))).isSameAs(wax);
+    }
+
+    @Test
+    void shopPolicy_movesHealingThresholds() {
+        PurchasePlanner planner = new PurchasePlanner(List.of(wax, pot), PurchaseOrder.CATALOG);
+        ShopPolicy cautious = new ShopPolicy(0, 2, 120);
+
+        assertThat(planner.next(130, 2, cautious)).isSameAs(pot);  // heals one life earlier
+        assertThat(planner.next(90, 2, cautious)).isNull();        // but only with 120 gold
+        assertThat(planner.next(130, 3, cautious)).isSameAs(wax);
+        assertThat(planner.next(60, 1, ShopPolicy.defaults())).isSameAs(pot);
+    }
+
+    @Test
+    void repeatedIds_areBoughtOnce_andMissingPotionBuysNothing() {
+        ShopItem waxAgain = new ShopItem("wax", "Copper Plating (again)", 100);
+        PurchasePlanner planner = new PurchasePlanner(List.of(wax, waxAgain), PurchaseOrder.CATALOG);
+
+        planner.purchased(wax);
+
+        assertThat(planner.next(1000, 3, reserve(0))).isNull(); // all bought, no potion in catalog
+        assertThat(planner.isHealthPot(wax)).isFalse();
+    }
+
+    private static ShopPolicy reserve(int gold) {
+        return ShopPolicy.defaults().withGoldReserve(gold);
+    }
+}
@@ -0,0 +1,96 @@
+package ee.bigbank.task.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ee.bigbank.task.api.ApiClientException;
+import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.api.dto.ShopItem;
+
+@ExtendWith(MockitoExtension.class)
+class ShopCatalogCacheTest {
+
+    @Mock GameClient client;
+    @Mock GameClient otherClient;
+
+    private final List<ShopItem> catalog = List.of(new ShopItem("hpot", "Healing potion", 50));
+
+    @Test
+    void concurrentGets_shareOneInFlightLoad() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.getShop(anyString())).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return catalog;
+        });
+        ShopCatalogCache cache = ShopCatalogCache.defaults();
+
+        List<Thread> games = new ArrayList<>();
+        List<List<ShopItem>> results = new CopyOnWriteArrayList<>();
+        games.add(Thread.ofVirtual().start(() -> results.add(cache.get(client, "g0"))));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < 50; i++) {
+            String gameId = "g" + i;
+            games.add(Thread.ofVirtual().start(() -> results.add(cache.get(client, gameId))));
+        }
+        Thread.sleep(50); // let the followers reach the in-flight load
+        release.countDown();
+        for (Thread game : games) game.join();
+
+        assertThat(results).hasSize(50).allSatisfy(r -> assertThat(r).isEqualTo(catalog));
+        verify(client, times(1)).getShop(anyString());
+        assertThat(cache.loads()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(49);
+    }
+
+    @Test
+    void expiredEntries_andFailedLoads_areLoadedAgain() throws InterruptedException {
+        when(client.getShop(anyString()))
+                .thenThrow(new ApiClientException("HTTP 503", 503))
+                .thenReturn(catalog);
+        ShopCatalogCache cache = new ShopCatalogCache(Duration.ofMillis(20), 4);
+
+        assertThrows(ApiClientException.class, () -> cache.get(client, "g1"));
+        assertThat(cache.get(client, "g2")).isEqualTo(catalog);
+        assertThat(cache.get(client, "g3")).isEqualTo(catalog);
+        Thread.sleep(30);
+        cache.get(client, "g4");
+
+        verify(client, times(3)).getShop(anyString());
+    }
+
+    @Test
+    void oldestEntry_isEvicted_andGameSpecificClientsAreNotShared() {
+        when(client.getShop(anyString())).thenReturn(catalog);
+        when(otherClient.getShop(anyString())).thenReturn(catalog);
+        ShopCatalogCache cache = new ShopCatalogCache(Duration.ofMinutes(1), 1);
+
+        cache.get(client, "g1");
+        cache.get(otherClient, "g2"); // evicts client's entry
+        cache.get(client, "g3");
+        cache.markGameSpecific(otherClient);
+        cache.get(otherClient, "g4");
+        cache.get(otherClient, "g5");
+
+        verify(client, times(2)).getShop(anyString());
+        verify(otherClient).getShop("g4");
+        verify(otherClient).getShop("g5");
+    }
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,7 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import ee.bigbank.task.api.ApiClientException;
 import ee.bigbank.task.api.GameClient;
 import ee.bigbank.task.api.dto.BuyResponse;
 import ee.bigbank.task.api.dto.ShopItem;
@@ -40,7 +42,7 @@ class ShopServiceTest {
         // buy returns something (we don't assert contents)
         when(client.buyItem("g1", "hpot")).thenReturn(new BuyResponse("OK", 50, 2, 1, 2));
 
-        ShopService shop = new ShopService(client, "g1", 400);
+        ShopService shop = new ShopService(client, "g1", reserve(400), PurchaseOrder.CATALOG, null);
 
         boolean bought = shop.maybeBuyItem(/*gold*/100, /*lives*/1);
 
@@ -58,7 +60,7 @@ class ShopServiceTest {
         ));
         when(client.buyItem("g2", "cs")).thenReturn(new BuyResponse("OK", 130, 2, 1, 2));
 
-        ShopService shop = new ShopService(client, "g2", 300);
+        ShopService shop = new ShopService(client, "g2", reserve(300), PurchaseOrder.CATALOG, null);
 
         boolean bought = shop.maybeBuyItem(/*gold*/450, /*lives*/2);
 
@@ -74,7 +76,7 @@ class ShopServiceTest {
                 new ShopItem("cs", "Claw Sharpening", 120)
         ));
 
-        ShopService shop = new ShopService(client, "g3", 300);
+        ShopService shop = new ShopService(client, "g3", reserve(300), PurchaseOrder.CATALOG, null);
 
         boolean bought = shop.maybeBuyItem(/*gold*/180, /*lives*/3);
 
@@ -94,7 +96,7 @@ class ShopServiceTest {
         when(client.buyItem("g4", "wax")).thenReturn(new BuyResponse("OK", 200, 3, 1, 3));
         when(client.buyItem("g4", "hpot")).thenReturn(new BuyResponse("OK", 150, 4, 1, 4));
 
-        ShopService shop = new ShopService(client, "g4", 300);
+        ShopService shop = new ShopService(client, "g4", reserve(300), PurchaseOrder.CATALOG, null);
 
         // 1st call: buys cs (affordable with reserve)
         boolean b1 = shop.maybeBuyItem(/*gold*/500, /*lives*/3);
@@ -121,11 +123,94 @@ class ShopServiceTest {
         ));
         when(client.buyItem("g5", "hpot")).thenThrow(new RuntimeException("Bad Request"));
 
-        ShopService shop = new ShopService(client, "g5", 300);
+        ShopService shop = new ShopService(client, "g5", reserve(300), PurchaseOrder.CATALOG, null);
 
         boolean bought = shop.maybeBuyItem(/*gold*/200, /*lives*/1);
 
         assertThat(bought).isFalse();
         verify(client).buyItem("g5", "hpot");
     }
+
+    @Test
+    void maybeBuyItemAsync_recordsPurchase_andTreatsFailureAsNotBought() {
+        when(client.getShop("g6")).thenReturn(List.of(
+                new ShopItem("hpot", "Healing potion", 50),
+                new ShopItem("cs", "Claw Sharpening", 100),
+                new ShopItem("wax", "Copper Plating", 100)
+        ));
+        when(client.buyItemAsync("g6", "cs"))
+                .thenReturn(CompletableFuture.completedFuture(new BuyResponse("true", 400, 3, 2, 2)));
+        when(client.buyItemAsync("g6", "wax"))
+                .thenReturn(CompletableFuture.failedFuture(new ApiClientException("HTTP 503", 503)));
+
+        ShopService shop = new ShopService(client, "g6", reserve(0), PurchaseOrder.CATALOG, null);
+
+        assertThat(shop.maybeBuyItemAsync(500, 3).join()).isTrue();
+        assertThat(shop.maybeBuyItemAsync(500, 3).join()).isFalse(); // cs recorded, so wax is next
+        assertThat(shop.maybeBuyItemAsync(10, 3).join()).isFalse();   // nothing affordable, no request
+        verify(client, never()).buyItem(anyString(), anyString());
+    }
+
+    @Test
+    void cheapestFirstOrder_buysCheaperItemBeforeCatalogOrder() {
+        when(client.getShop("g7")).thenReturn(List.of(
+                new ShopItem("hpot", "Healing potion", 50),
+                new ShopItem("cs", "Claw Sharpening", 300),
+                new ShopItem("wax", "Copper Plating", 100)
+        ));
+        when(client.buyItem("g7", "wax")).thenReturn(new BuyResponse("true", 400, 3, 2, 2));
+
+        ShopService shop = new ShopService(client, "g7", reserve(0), PurchaseOrder.CHEAPEST_FIRST, null);
+
+        assertThat(shop.maybeBuyItem(/*gold*/500, /*lives*/3)).isTrue();
+        verify(client, never()).buyItem("g7", "cs");
+    }
+
+    @Test
+    void rejectedPurchaseFromSharedCatalog_switchesToGamesOwnCatalog() {
+        ShopCatalogCache catalogs = ShopCatalogCache.defaults();
+        when(client.getShop("g8")).thenReturn(List.of(
+                new ShopItem("hpot", "Healing potion", 50),
+                new ShopItem("cs", "Claw Sharpening", 100)
+        ));
+        new ShopService(client, "g8", reserve(0), PurchaseOrder.CATALOG, catalogs); // loads the shared catalog
+
+        ShopService shop = new ShopService(client, "g9", reserve(0), PurchaseOrder.CATALOG, catalogs);
+        when(client.buyItem("g9", "cs")).thenThrow(new ApiClientException("HTTP 400", 400));
+        when(client.getShop("g9")).thenReturn(List.of(
+                new ShopItem("hpot", "Healing potion", 50),
+                new ShopItem("wax", "Copper Plating", 100)
+        ));
+        when(client.buyItem("g9", "wax")).thenReturn(new BuyResponse("true", 400, 3, 2, 2));
+
+        assertThat(shop.maybeBuyItem(/*gold*/500, /*lives*/3)).isFalse();
+        assertThat(shop.maybeBuyItem(/*gold*/500, /*lives*/3)).isTrue();
+
+        verify(client).buyItem("g9", "wax");
+        assertThat(catalogs.loads()).isEqualTo(1);
+    }
+
+    @Test
+    void throttledPurchaseFromSharedCatalog_keepsTheSharedCatalog() {
+        ShopCatalogCache catalogs = ShopCatalogCache.defaults();
+        when(client.getShop("g8")).thenReturn(List.of(
+                new ShopItem("hpot", "Healing potion", 50),
+                new ShopItem("cs", "Claw Sharpening", 100)
+        ));
+        new ShopService(client, "g8", reserve(0), PurchaseOrder.CATALOG, catalogs);
+
+        ShopService shop = new ShopService(client, "g9", reserve(0), PurchaseOrder.CATALOG, catalogs);
+        when(client.buyItem("g9", "cs"))
+                .thenThrow(new ApiClientException("HTTP 429", 429))
+                .thenReturn(new BuyResponse("true", 400, 3, 2, 2));
+
+        assertThat(shop.maybeBuyItem(/*gold*/500, /*lives*/3)).isFalse();
+        assertThat(shop.maybeBuyItem(/*gold*/500, /*lives*/3)).isTrue();
+
+        verify(client, never()).getShop("g9");
+    }
+
+    private static ShopPolicy reserve(int gold) {
+        return ShopPolicy.defaults().withGoldReserve(gold);
+    }
 }
@@ -0,0 +1,89 @@
+package ee.bigbank.task.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.SolveResponse;
+import ee.bigbank.task.core.model.TurnRecord;
+
+class SuccessRateLearnerTest {
+
+    private final Message gamble = new Message("g", "Steal the golden cup", 100, 3, "Gamble", null);
+    private final Message sure = new Message("s", "Help the baker", 100, 3, "Sure thing", null);
+
+    @Test
+    void estimate_startsAtPrior_andMovesTowardsObservedRate() {
+        SuccessRateLearner learner = new SuccessRateLearner(10, false);
+
+        assertThat(learner.estimate(Probability.GAMBLE)).isEqualTo(0.60);
+
+        for (int i = 0; i < 90; i++) learner.record(gamble, i % 10 == 0); // 10% observed
+
+        // (9 + 0.6 * 10) / (90 + 10)
+        assertThat(learner.estimate(Probability.GAMBLE)).isCloseTo(0.15, within(1e-9));
+        assertThat(learner.estimate(gamble)).isCloseTo(0.15, within(1e-9));
+        assertThat(learner.attempts(Probability.GAMBLE)).isEqualTo(90);
+        assertThat(learner.successes(Probability.GAMBLE)).isEqualTo(9);
+        assertThat(learner.estimate(Probability.SURE_THING)).isEqualTo(0.80);
+        assertThat(learner.format()).contains("Gamble").doesNotContain("Sure thing");
+    }
+
+    @Test
+    void byCategory_separatesAdsWithTheSameLabel() {
+        SuccessRateLearner learner = new SuccessRateLearner(10, true);
+        Message help = new Message("h", "Help the miller", 100, 3, "Gamble", null);
+
+        for (int i = 0; i < 200; i++) {
+            learner.record(gamble, false);
+            learner.record(help, true);
+        }
+
+        assertThat(learner.estimate(gamble)).isLessThan(0.1);
+        assertThat(learner.estimate(help)).isGreaterThan(0.9);
+        assertThat(SuccessRateLearner.category(gamble)).isEqualTo("steal");
+        assertThat(learner.estimate(new Message("x", "Escort a cat", 1, 1, "Gamble", null)))
+            .isEqualTo(learner.estimate(Probability.GAMBLE)); // unseen category: label estimate
+    }
+
+    @Test
+    void concurrentRecording_losesNoOutcomes() throws Exception {
+        SuccessRateLearner learner = new SuccessRateLearner();
+        int threads = 64;
+        int outcomes = 5_000;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < outcomes; i++) learner.record(sure, i % 2 == 0);
+                });
+            }
+        }
+
+        assertThat(learner.attempts(Probability.SURE_THING)).isEqualTo((long) threads * outcomes);
+        assertThat(learner.successes(Probability.SURE_THING)).isEqualTo((long) threads * outcomes / 2);
+    }
+
+    @Test
+    void selector_followsLearnedRates_andRecordsFromTurns() {
+        SuccessRateLearner learner = new SuccessRateLearner();
+        Message gambleHighExpiry = new Message("g", "Steal", 100, 6, "Gamble", null);
+        List<Message> board = List.of(sure, gambleHighExpiry);
+
+        assertThat(learner.selector().select(board)).isEqualTo(MessageSelector.bestOrder().select(board));
+
+        for (int i = 0; i < 100; i++) {
+            learner.onTurn(new TurnRecord("game", i, 3, 0, 0, board, "s", new SolveResponse(false, 2, 0, 0, 0, i, ""), null));
+            learner.onTurn(new TurnRecord("game", i, 3, 0, 0, board, "g", new SolveResponse(true, 3, 0, 0, 0, i, ""), null));
+        }
+        learner.onTurn(new TurnRecord("game", 0, 3, 0, 0, board, null, null, "hpot")); // shop-only turn
+
+        assertThat(learner.attempts(Probability.SURE_THING)).isEqualTo(100);
+        assertThat(learner.selector().select(board)).contains(gambleHighExpiry);
+    }
+}
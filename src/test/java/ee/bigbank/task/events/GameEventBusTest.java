@@ -0,0 +1,191 @@
+package ee.bigbank.task.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.api.dto.GameStartResponse;
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.core.GameOptions;
+import ee.bigbank.task.core.GameService;
+import ee.bigbank.task.core.MessageDecoder;
+import ee.bigbank.task.core.model.GameResult;
+import ee.bigbank.task.sim.MugloarSimulator;
+import ee.bigbank.task.sim.SimulatorConfig;
+
+class GameEventBusTest {
+
+    private static final GameStartResponse GAME = new GameStartResponse("g1", 3, 10, 0, 5, 0, 2);
+    private static final Message AD = new Message("ad1", "Help", 40, 3, "Sure thing", null);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyConsumer_seesEveryEvent_inOrder() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        try (GameEventBus bus = new GameEventBus(first, second)) {
+            bus.turnStarted(GAME);
+            bus.boardDecoded(GAME, 7);
+            bus.adChosen(GAME, AD);
+            bus.solved(GAME, AD, true);
+            bus.itemBought(GAME, "hpot");
+            bus.gameOver(GAME);
+        }
+
+        assertThat(first.lines).containsExactly(
+            "TURN_STARTED game=g1 turn=2 lives=3 gold=10 score=5",
+            "BOARD_DECODED game=g1 turn=2 lives=3 gold=10 score=5 value=7",
+            "AD_CHOSEN game=g1 turn=2 lives=3 gold=10 score=5 subject=ad1 value=40",
+            "SOLVED game=g1 turn=2 lives=3 gold=10 score=5 subject=ad1 value=40 success=true",
+            "ITEM_BOUGHT game=g1 turn=2 lives=3 gold=10 score=5 subject=hpot",
+            "GAME_OVER game=g1 turn=2 lives=3 gold=10 score=5");
+        assertThat(second.lines).isEqualTo(first.lines);
+        assertThat(first.sequences).containsExactly(0L, 1L, 2L, 3L, 4L, 5L);
+        assertThat(first.closed).isTrue();
+    }
+
+    @Test
+    void concurrentPublishers_everyClaimedEventIsDelivered() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        Recorder recorder = new Recorder();
+        EventMetrics metrics = new EventMetrics();
+        GameEventBus bus = new GameEventBus(1024, List.of(recorder, metrics));
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) bus.turnStarted(GAME);
+                });
+            }
+        }
+        bus.close();
+
+        assertThat(bus.published() + bus.dropped()).isEqualTo((long) threads * perThread);
+        assertThat(recorder.sequences).hasSize((int) bus.published());
+        for (int i = 0; i < recorder.sequences.size(); i++) assertThat(recorder.sequences.get(i)).isEqualTo(i);
+        assertThat(metrics.count(GameEvent.Type.TURN_STARTED)).isEqualTo(bus.published());
+    }
+
+    @Test
+    void fullRing_dropsEventsInsteadOfBlockingThePublisher() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch handling = new CountDownLatch(1);
+        Recorder recorder = new Recorder();
+        GameEventBus bus = new GameEventBus(4, List.of((event, endOfBatch) -> {
+            handling.countDown();
+            await(release);
+            recorder.onEvent(event, endOfBatch);
+        }));
+
+        bus.turnStarted(GAME);
+        assertThat(handling.await(5, TimeUnit.SECONDS)).isTrue();
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (bus.turnStarted(GAME)) accepted++;
+        }
+        release.countDown();
+        bus.close();
+
+        // the blocked consumer still holds slot 0, so only the other three slots were free
+        assertThat(accepted).isEqualTo(3);
+        assertThat(bus.dropped()).isEqualTo(7);
+        assertThat(recorder.sequences).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(bus.turnStarted(GAME)).isFalse();
+    }
+
+    @Test
+    void failingConsumer_isCounted_andDoesNotAffectOthers() {
+        Recorder recorder = new Recorder();
+        try (GameEventBus bus = new GameEventBus(16, List.of((event, endOfBatch) -> {
+            throw new IllegalStateException("boom");
+        }, recorder))) {
+            for (int i = 0; i < 5; i++) bus.gameOver(GAME);
+            bus.close();
+            assertThat(bus.failures()).isEqualTo(5);
+        }
+
+        assertThat(recorder.sequences).hasSize(5);
+        assertThrows(IllegalArgumentException.class, () -> new GameEventBus(16, List.of()));
+    }
+
+    @Test
+    void gameService_publishesTheGame_toMetricsAndJournal() throws Exception {
+        SimulatorConfig config = SimulatorConfig.defaults().withSeed(23);
+        GameResult plain;
+        GameResult observed;
+        EventMetrics metrics = new EventMetrics();
+        Path file = dir.resolve("events.tsv");
+        EventJournal journal = EventJournal.open(file);
+        GameEventBus bus = new GameEventBus(GameEventBus.DEFAULT_CAPACITY, List.of(metrics, journal));
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            plain = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder()).playGame();
+        }
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            observed = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder(),
+                GameOptions.defaults().withEvents(bus)).playGame();
+        }
+        bus.close();
+
+        assertThat(observed).isEqualTo(plain);
+        assertThat(bus.dropped()).isZero();
+        assertThat(metrics.count(GameEvent.Type.GAME_OVER)).isEqualTo(1);
+        assertThat(metrics.count(GameEvent.Type.TURN_STARTED)).isEqualTo(metrics.count(GameEvent.Type.BOARD_DECODED));
+        assertThat(metrics.count(GameEvent.Type.SOLVED)).isEqualTo(metrics.count(GameEvent.Type.AD_CHOSEN)).isPositive();
+        assertThat(metrics.solved(false)).isPositive();
+        assertThat(metrics.scores().max()).isEqualTo(plain.score());
+        assertThat(metrics.turns().max()).isEqualTo(plain.turns());
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize((int) bus.published());
+        assertThat(lines.getLast().split("\t")).startsWith(String.valueOf(bus.published() - 1)).contains("GAME_OVER",
+            plain.gameId(), String.valueOf(plain.score()));
+        // a purchase event carries the gold after paying and the turn the purchase used up
+        assertThat(metrics.count(GameEvent.Type.ITEM_BOUGHT)).isPositive();
+        for (int i = 1; i < lines.size(); i++) {
+            String[] event = lines.get(i).split("\t");
+            if (!event[2].equals("ITEM_BOUGHT")) continue;
+            String[] before = lines.get(i - 1).split("\t");
+            assertThat(Integer.parseInt(event[6])).isLessThan(Integer.parseInt(before[6]));
+            assertThat(Integer.parseInt(event[4])).isEqualTo(Integer.parseInt(before[4]) + 1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Copies what it needs from each slot, like every consumer has to. */
+    private static final class Recorder implements GameEventConsumer {
+        final List<String> lines = new ArrayList<>();
+        final List<Long> sequences = new ArrayList<>();
+        volatile boolean closed;
+
+        @Override
+        public void onEvent(GameEvent event, boolean endOfBatch) {
+            lines.add(event.toString());
+            sequences.add(event.sequence());
+        }
+
+        @Override
+        public void onClose() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package ee.bigbank.task.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.SolveResponse;
+import ee.bigbank.task.core.model.TurnRecord;
+
+class TurnJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void codec_roundTripsEveryField() {
+        TurnRecord record = new TurnRecord("g1", 7, 2, 150, 420,
+            List.of(new Message("a1", "Help Ünne", 35, 4, "Sure thing", null),
+                new Message("a2", "Steal", 100, 1, "Gamble", "1")),
+            "a1", new SolveResponse(true, 2, 150, 420, 900, 7, "You won"), "hpot");
+        TurnRecord noSolve = new TurnRecord("g1", 8, 2, 150, 420, List.of(), null, null, null);
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        TurnRecordCodec.encode(record, buffer);
+        TurnRecordCodec.encode(noSolve, buffer);
+        buffer.flip();
+
+        assertThat(TurnRecordCodec.decode(buffer)).isEqualTo(record);
+        assertThat(TurnRecordCodec.decode(buffer)).isEqualTo(noSolve);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void concurrentAppends_areAllReadBack() throws Exception {
+        int games = 32;
+        int turns = 200;
+        try (TurnJournal journal = TurnJournal.open(dir, 64 * 1024);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int g = 0; g < games; g++) {
+                String gameId = "g" + g;
+                executor.submit(() -> {
+                    for (int t = 1; t <= turns; t++) journal.append(turn(gameId, t));
+                });
+            }
+            executor.shutdown();
+            executor.close();
+            assertThat(journal.records()).isEqualTo((long) games * turns);
+            assertThat(journal.segmentCount()).isGreaterThan(1);
+        }
+
+        List<TurnRecord> read = TurnJournalReader.readAll(dir);
+
+        assertThat(read).hasSize(games * turns);
+        for (int g = 0; g < games; g++) {
+            String gameId = "g" + g;
+            // appends from one game keep their order across segments
+            assertThat(read).filteredOn(r -> r.gameId().equals(gameId))
+                .extracting(TurnRecord::turn)
+                .isSorted()
+                .hasSize(turns);
+        }
+        assertThat(read.getFirst()).isEqualTo(turn(read.getFirst().gameId(), read.getFirst().turn()));
+    }
+
+    @Test
+    void reopening_startsNewSegmentAfterExistingOnes() throws Exception {
+        try (TurnJournal journal = TurnJournal.open(dir, 4096)) {
+            journal.append(turn("first", 1));
+        }
+        try (TurnJournal journal = TurnJournal.open(dir, 4096)) {
+            journal.append(turn("second", 1));
+        }
+
+        assertThat(TurnJournalReader.segments(dir)).extracting(p -> p.getFileName().toString())
+            .containsExactly("journal-00000.bin", "journal-00001.bin");
+        assertThat(TurnJournalReader.readAll(dir)).extracting(TurnRecord::gameId).containsExactly("first", "second");
+    }
+
+    @Test
+    void oversizedRecord_isDroppedAndCounted() throws Exception {
+        List<Message> board = new ArrayList<>();
+        for (int i = 0; i < 100; i++) board.add(new Message("ad" + i, "x".repeat(100), 1, 1, "Sure thing", null));
+        try (TurnJournal journal = TurnJournal.open(dir, 4096)) {
+            journal.append(new TurnRecord("big", 1, 1, 0, 0, board, null, null, null));
+            journal.append(turn("small", 1));
+
+            assertThat(journal.dropped()).isEqualTo(1);
+            assertThat(journal.records()).isEqualTo(1);
+        }
+        assertThat(TurnJournalReader.readAll(dir)).extracting(TurnRecord::gameId).containsExactly("small");
+    }
+
+    @Test
+    void uncommittedSlots_areSkipped_andLaterRecordsRead() throws Exception {
+        try (TurnJournal journal = TurnJournal.open(dir, 4096)) {
+            for (int t = 1; t <= 4; t++) journal.append(turn("g", t));
+        }
+        Path segment = TurnJournalReader.segments(dir).getFirst();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int second = nextSlot(buffer, TurnJournal.HEADER_BYTES);
+            int third = nextSlot(buffer, second);
+            // turn 2: writer died after reserving, before writing anything
+            for (int i = second; i < third; i++) buffer.put(i, (byte) 0);
+            // turn 3: writer died while copying, the slot only carries its size
+            buffer.putInt(third, -buffer.getInt(third));
+            buffer.force();
+        }
+
+        assertThat(TurnJournalReader.readAll(dir)).extracting(TurnRecord::turn).containsExactly(1, 4);
+    }
+
+    @Test
+    void reader_stopsAtTheEndInTheHeader_insteadOfScanningTheTail() throws Exception {
+        try (TurnJournal journal = TurnJournal.open(dir, 64 * 1024)) {
+            journal.append(turn("g", 1));
+            journal.append(turn("g", 2));
+        }
+        Path segment = TurnJournalReader.segments(dir).getFirst();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int second = nextSlot(buffer, TurnJournal.HEADER_BYTES);
+            int end = nextSlot(buffer, second);
+            assertThat(buffer.getInt(TurnJournal.END_OFFSET)).isEqualTo(end);
+            // a copy of the first record far past the end is never looked at
+            byte[] first = new byte[second - TurnJournal.HEADER_BYTES];
+            buffer.get(TurnJournal.HEADER_BYTES, first);
+            buffer.put(32 * 1024, first);
+            buffer.force();
+        }
+
+        assertThat(TurnJournalReader.readAll(dir)).extracting(TurnRecord::turn).containsExactly(1, 2);
+    }
+
+    @Test
+    void codec_truncatesLongStrings_atACharacterBoundary() {
+        String text = "ü".repeat(Short.MAX_VALUE); // 2 bytes each, so byte 32767 is the middle of one
+        TurnRecord record = new TurnRecord("g1", 1, 1, 0, 0, List.of(), null,
+            new SolveResponse(false, 1, 0, 0, 0, 1, text), null);
+        ByteBuffer buffer = ByteBuffer.allocate(70_000);
+
+        TurnRecordCodec.encode(record, buffer);
+        buffer.flip();
+        String decoded = TurnRecordCodec.decode(buffer).solve().message();
+
+        assertThat(decoded).isEqualTo(text.substring(0, decoded.length())).doesNotContain("\uFFFD");
+        assertThat(decoded.getBytes(StandardCharsets.UTF_8).length).isEqualTo(Short.MAX_VALUE - 1);
+    }
+
+    private static int nextSlot(ByteBuffer buffer, int slot) {
+        return slot + Integer.BYTES + ((buffer.getInt(slot) + 3) & ~3);
+    }
+
+    @Test
+    void appendAfterClose_fails() throws Exception {
+        TurnJournal journal = TurnJournal.open(dir, 4096);
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> journal.append(turn("g", 1)));
+    }
+
+    private static TurnRecord turn(String gameId, int turn) {
+        return new TurnRecord(gameId, turn, 3, turn * 10, turn * 5,
+            List.of(new Message("ad" + turn, "Help", 10, 3, "Piece of cake", null)),
+            "ad" + turn, new SolveResponse(true, 3, turn * 10, turn * 5, 0, turn, "ok"), null);
+    }
+}
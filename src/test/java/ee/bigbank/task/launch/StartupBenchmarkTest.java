@@ -0,0 +1,66 @@
+package ee.bigbank.task.launch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ee.bigbank.task.api.Endpoint;
+import ee.bigbank.task.util.HttpMetrics;
+
+class StartupBenchmarkTest {
+
+    @Test
+    void trainingRun_reportsTimeFromJvmStartToFirstResponse() {
+        Instant before = Instant.now();
+
+        Duration ttfr = TrainingRun.run(2);
+
+        assertThat(ttfr).isPositive();
+        assertThat(StartupClock.jvmStart().plus(ttfr)).isAfterOrEqualTo(before.minusMillis(1));
+        assertThat(StartupClock.jvmStart().plus(ttfr)).isBeforeOrEqualTo(Instant.now());
+    }
+
+    @Test
+    void firstResponse_isOnlySetByAnsweredRequests() {
+        HttpMetrics metrics = new HttpMetrics();
+
+        metrics.record(Endpoint.START, 0, 1_000);
+        assertThat(StartupClock.timeToFirstResponse(metrics)).isNull();
+
+        metrics.record(Endpoint.START, 503, 1_000);
+        Instant first = metrics.firstResponseAt();
+        metrics.record(Endpoint.START, 200, 1_000);
+
+        assertThat(first).isNotNull();
+        assertThat(metrics.firstResponseAt()).isEqualTo(first);
+        assertThat(StartupClock.timeToFirstResponse(metrics)).isEqualTo(Duration.between(StartupClock.jvmStart(), first));
+    }
+
+    @Test
+    void variants_addFatJarOnlyWhenGiven_andSkipArchiveOutsideSingleJar() {
+        List<StartupBenchmark.Variant> plain = StartupBenchmark.variants(null);
+        List<StartupBenchmark.Variant> withFat = StartupBenchmark.variants(Path.of("app.jar"));
+
+        // the test classpath is not a single jar with an archive beside it
+        assertThat(plain).extracting(StartupBenchmark.Variant::name).containsExactly("classpath");
+        assertThat(withFat).extracting(StartupBenchmark.Variant::name).containsExactly("classpath", "fat-jar");
+        assertThat(withFat.get(1).command()).contains("-Dloader.main=" + TrainingRun.class.getName(), "app.jar");
+    }
+
+    @Test
+    void format_reportsLowerMedianAndMinimumPerVariant() {
+        List<StartupBenchmark.Result> results = List.of(
+            new StartupBenchmark.Result("classpath", new long[] {900, 700, 800, 1000}, new long[] {3000, 2000, 2500, 2600}));
+
+        String table = StartupBenchmark.format(results);
+
+        assertThat(StartupBenchmark.median(new long[] {900, 700, 800, 1000})).isEqualTo(800);
+        assertThat(table.lines().skip(1).findFirst().orElseThrow().split("\\s+"))
+            .containsExactly("classpath", "4", "800", "700", "2500", "2000");
+    }
+}
@@ -0,0 +1,116 @@
+package ee.bigbank.task.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.SolveResponse;
+import ee.bigbank.task.core.MessageDecoder;
+import ee.bigbank.task.core.MessageSelector;
+import ee.bigbank.task.core.Probability;
+import ee.bigbank.task.core.model.TurnRecord;
+import ee.bigbank.task.journal.TurnJournal;
+
+class ReplayEngineTest {
+
+    private final ReplayEngine engine =
+        new ReplayEngine(new MessageDecoder(), MessageSelector.bestOrder(), MessageSelector.expectedReward());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replay_comparesBothSelectorsPerTurn() {
+        Message safe = new Message("safe", "Help", 10, 3, "Piece of cake", null);
+        Message rich = new Message("rich", "Steal", 100, 3, "Gamble", null);
+        // encrypted copy of "rich" goes through the decoder again
+        Message encryptedRich = new Message(b64("rich"), b64("Steal"), 100, 3, b64("Gamble"), "1");
+        List<TurnRecord> turns = List.of(
+            turn(List.of(safe, rich), "safe", true),
+            turn(List.of(safe, encryptedRich), "safe", false),
+            turn(List.of(safe), "safe", true),
+            turn(List.of(), null, false));
+
+        ReplayReport report = engine.replay(turns);
+
+        assertThat(report.turns()).isEqualTo(3);
+        assertThat(report.agreed()).isEqualTo(1);
+        assertThat(report.matchedRecorded()).isEqualTo(3);
+        assertThat(report.baselineExpected()).isCloseTo(3 * 9.5, within(1e-9));
+        assertThat(report.alternativeExpected()).isCloseTo(60 + 60 + 9.5, within(1e-9));
+        assertThat(report.expectedDifference()).isCloseTo(101.0, within(1e-9));
+        assertThat(report.recordedSolves()).isEqualTo(3);
+        assertThat(report.recordedSuccessRate()).isCloseTo(2.0 / 3, within(1e-9));
+    }
+
+    @Test
+    void parallelReplay_matchesSequentialReplay() {
+        List<TurnRecord> turns = randomTurns(50_000, 3);
+        ReplayEngine sequential = new ReplayEngine(new MessageDecoder(), MessageSelector.bestOrder(),
+            MessageSelector.expectedReward(), new ForkJoinPool(1));
+
+        ReplayReport parallel = engine.replay(turns);
+        ReplayReport single = sequential.replay(turns);
+
+        assertThat(parallel.turns()).isEqualTo(single.turns()).isEqualTo(50_000);
+        assertThat(parallel.agreed()).isEqualTo(single.agreed());
+        assertThat(parallel.matchedRecorded()).isEqualTo(50_000);
+        assertThat(parallel.baselineExpected()).isCloseTo(single.baselineExpected(), within(1e-3));
+        assertThat(parallel.alternativeExpected()).isCloseTo(single.alternativeExpected(), within(1e-3));
+        assertThat(parallel.expectedDifference()).isGreaterThan(0);
+    }
+
+    @Test
+    void replayJournal_readsEverySegment() throws Exception {
+        List<TurnRecord> turns = randomTurns(3_000, 5);
+        try (TurnJournal journal = TurnJournal.open(dir, 64 * 1024)) {
+            turns.forEach(journal::append);
+            assertThat(journal.segmentCount()).isGreaterThan(1);
+        }
+
+        ReplayReport fromJournal = engine.replay(dir);
+        ReplayReport fromMemory = engine.replay(turns);
+
+        assertThat(fromJournal.turns()).isEqualTo(fromMemory.turns());
+        assertThat(fromJournal.agreed()).isEqualTo(fromMemory.agreed());
+        assertThat(fromJournal.alternativeExpected()).isCloseTo(fromMemory.alternativeExpected(), within(1e-6));
+    }
+
+    /** Boards of random ads where the recorded choice is always the baseline pick. */
+    private static List<TurnRecord> randomTurns(int count, long seed) {
+        Random random = new Random(seed);
+        Probability[] labels = Probability.values();
+        List<TurnRecord> turns = new ArrayList<>(count);
+        for (int t = 0; t < count; t++) {
+            List<Message> board = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(10); i++) {
+                board.add(new Message("t" + t + "a" + i, "ad", 1 + random.nextInt(200), 1 + random.nextInt(7),
+                    labels[random.nextInt(labels.length)].label(), null));
+            }
+            Optional<Message> pick = MessageSelector.bestOrder().select(board);
+            turns.add(turn(board, pick.map(Message::adId).orElse(null), random.nextBoolean()));
+        }
+        return turns;
+    }
+
+    private static TurnRecord turn(List<Message> board, String chosen, boolean success) {
+        SolveResponse solve = chosen == null ? null : new SolveResponse(success, 3, 0, 0, 0, 1, "");
+        return new TurnRecord("g", 1, 3, 0, 0, board, chosen, solve, null);
+    }
+
+    private static String b64(String s) {
+        return Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,208 @@
+package ee.bigbank.task.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ee.bigbank.task.api.dto.ReputationResponse;
+import ee.bigbank.task.core.model.GameResult;
+import ee.bigbank.task.util.LogLinearHistogram;
+
+class ResultStoreTest {
+
+    private static final Instant DAY_1 = Instant.parse("2026-03-01T10:00:00Z");
+    private static final Instant DAY_2 = Instant.parse("2026-03-02T23:59:59.999Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendedRows_areReadBackWithEveryColumn() throws Exception {
+        StoredResult investigated = new StoredResult(DAY_1, "v1",
+            new GameResult("Üq=1", 1234, 80, 57, 0, new ReputationResponse(-3, 0, Integer.MAX_VALUE)));
+        StoredResult plain = new StoredResult(DAY_1.minusMillis(5), "v2", new GameResult("g2", -10, 3));
+
+        try (ResultStore store = ResultStore.open(dir)) {
+            store.append(investigated);
+            store.append(plain);
+            store.flush();
+            assertThat(store.written()).isEqualTo(2);
+            assertThat(store.syncs()).isPositive();
+        }
+
+        assertThat(ResultStoreReader.readAll(dir)).containsExactly(investigated, plain);
+    }
+
+    @Test
+    void rowsAreBatchedIntoBlocks_andEachOpenStartsANewSegment() throws Exception {
+        ResultStorePolicy policy = ResultStorePolicy.defaults().withBlockRows(4).withFlushInterval(Duration.ofMinutes(1));
+        try (ResultStore store = ResultStore.open(dir, policy)) {
+            for (int i = 0; i < 10; i++) store.append(row(DAY_1.plusSeconds(i), "v1", i));
+            store.flush();
+            // two full blocks, then the flush writes the remaining two rows
+            assertThat(store.blocks()).isEqualTo(3);
+        }
+        try (ResultStore store = ResultStore.open(dir, policy)) {
+            store.append(row(DAY_2, "v1", 99));
+        }
+
+        assertThat(ResultStoreReader.segments(dir)).extracting(p -> p.getFileName().toString())
+            .containsExactly("results-00000.col", "results-00001.col");
+        assertThat(ResultStoreReader.readAll(dir)).extracting(r -> r.result().score())
+            .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 99);
+    }
+
+    @Test
+    void writesWithoutFlush_withinTheFlushInterval() throws Exception {
+        ResultStorePolicy policy = ResultStorePolicy.defaults().withFlushInterval(Duration.ofMillis(20));
+        try (ResultStore store = ResultStore.open(dir, policy)) {
+            store.append(row(DAY_1, "v1", 7));
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (store.written() == 0 && System.nanoTime() < deadline) Thread.sleep(5);
+
+            assertThat(store.written()).isEqualTo(1);
+            assertThat(ResultStoreReader.readAll(dir)).hasSize(1);
+        }
+    }
+
+    @Test
+    void concurrentAppends_rollSegments_andAreAllStored() throws Exception {
+        int games = 16;
+        int perGame = 500;
+        ResultStorePolicy policy = ResultStorePolicy.defaults().withBlockRows(256).withSegmentBytes(16 * 1024)
+            .withFsyncInterval(Duration.ZERO);
+        try (ResultStore store = ResultStore.open(dir, policy);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int g = 0; g < games; g++) {
+                String strategy = "v" + (g % 2);
+                executor.submit(() -> {
+                    for (int i = 0; i < perGame; i++) store.append(strategy, new GameResult("game-" + i, i, 1));
+                });
+            }
+            executor.shutdown();
+            executor.close();
+            store.flush();
+            assertThat(store.written()).isEqualTo((long) games * perGame);
+        }
+
+        assertThat(ResultStoreReader.segments(dir)).hasSizeGreaterThan(1);
+        Map<String, LogLinearHistogram.Snapshot> byStrategy = ResultStoreReader.scoresByStrategy(dir);
+        assertThat(byStrategy.keySet()).containsExactly("v0", "v1");
+        assertThat(byStrategy.get("v0").count()).isEqualTo((long) games / 2 * perGame);
+        assertThat(byStrategy.get("v1").max()).isEqualTo(perGame - 1);
+    }
+
+    @Test
+    void scores_groupByStrategyAndDay_andSkipBlocksOutsideTheRange() throws Exception {
+        ResultStorePolicy policy = ResultStorePolicy.defaults().withBlockRows(100).withFlushInterval(Duration.ofMinutes(1));
+        try (ResultStore store = ResultStore.open(dir, policy)) {
+            for (int i = 1; i <= 100; i++) store.append(row(DAY_1.plusSeconds(i), "v1", i * 10));
+            for (int i = 1; i <= 100; i++) store.append(row(DAY_2.minusSeconds(i), i % 2 == 0 ? "v1" : "v2", 5000 + i));
+        }
+
+        Map<LocalDate, LogLinearHistogram.Snapshot> byDay = ResultStoreReader.scoresByDay(dir);
+        Map<String, LogLinearHistogram.Snapshot> byStrategy = ResultStoreReader.scoresByStrategy(dir);
+        Instant day2 = Instant.parse("2026-03-02T00:00:00Z");
+        Map<String, LogLinearHistogram.Snapshot> day2Only = ResultStoreReader.scores(dir, day2, null,
+            ResultBlock::strategy);
+
+        assertThat(byDay.keySet()).containsExactly(LocalDate.parse("2026-03-01"), LocalDate.parse("2026-03-02"));
+        LogLinearHistogram.Snapshot first = byDay.get(LocalDate.parse("2026-03-01"));
+        assertThat(first.count()).isEqualTo(100);
+        assertThat(first.p50()).isBetween(490L, 520L); // ~3% buckets around the exact 500
+        assertThat(first.max()).isEqualTo(1000);
+        assertThat(byStrategy.get("v1").count()).isEqualTo(150);
+        assertThat(byStrategy.get("v2").count()).isEqualTo(50);
+        assertThat(day2Only.values()).extracting(LogLinearHistogram.Snapshot::count).containsExactly(50L, 50L);
+        assertThat(ResultStoreReader.scan(dir, day2, null, block -> { })).isEqualTo(1);
+        assertThat(ResultStoreReader.format(byStrategy)).contains("v1", "v2");
+    }
+
+    @Test
+    void tornTail_isIgnored() throws Exception {
+        ResultStorePolicy policy = ResultStorePolicy.defaults().withBlockRows(10).withFlushInterval(Duration.ofMinutes(1));
+        try (ResultStore store = ResultStore.open(dir, policy)) {
+            for (int i = 0; i < 20; i++) store.append(row(DAY_1.plusSeconds(i), "v1", i));
+        }
+        Path segment = ResultStoreReader.segments(dir).getFirst();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertThat(ResultStoreReader.readAll(dir)).hasSize(10);
+    }
+
+    @Test
+    void closedStore_rejectsAppends() throws IOException {
+        ResultStore store = ResultStore.open(dir);
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> store.append("v1", new GameResult("g", 1, 1)));
+        assertThat(Files.size(ResultStoreReader.segments(dir).getFirst())).isEqualTo(ResultColumns.SEGMENT_HEADER_BYTES);
+        assertThat(ResultStoreReader.readAll(dir)).isEmpty();
+    }
+
+    @Test
+    void writeFailure_failsEveryWaitingCaller_insteadOfBlocking() throws Exception {
+        ResultStorePolicy policy = new ResultStorePolicy(1, Duration.ofMinutes(1), Duration.ZERO, 4096, 1);
+        String longId = "x".repeat(3000); // one row per block, two blocks do not fit one segment
+        ResultStore store = ResultStore.open(dir, policy);
+        store.append(new StoredResult(DAY_1, "v1", new GameResult(longId, 1, 1)));
+        store.flush();
+        // the next block has to start a new segment, which cannot be created any more
+        for (Path segment : ResultStoreReader.segments(dir)) Files.delete(segment);
+        Files.delete(dir);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < 64; t++) {
+                    executor.submit(() -> {
+                        try {
+                            while (true) {
+                                store.append(new StoredResult(DAY_1, "v1", new GameResult(longId, 2, 1)));
+                                store.flush();
+                            }
+                        } catch (UncheckedIOException | IllegalStateException expected) {
+                            // the writer failed; what matters is that this thread got to know
+                        }
+                    });
+                }
+            }
+            assertThrows(UncheckedIOException.class, () -> store.append("v1", new GameResult("g", 1, 1)));
+            assertThrows(UncheckedIOException.class, store::close);
+        });
+    }
+
+    @Test
+    void varints_roundTripSignedValues() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (long value : List.of(0L, -1L, 1L, Long.MIN_VALUE, Long.MAX_VALUE, 300L)) {
+            buffer.clear();
+            ResultColumns.putVarLong(buffer, ResultColumns.zigZag(value));
+            buffer.flip();
+            assertThat(ResultColumns.unZigZag(ResultColumns.getVarLong(buffer))).isEqualTo(value);
+        }
+    }
+
+    private static StoredResult row(Instant finishedAt, String strategy, int score) {
+        return new StoredResult(finishedAt, strategy, new GameResult("g" + score, score, score / 10 + 1, 10, 0, null));
+    }
+}
@@ -0,0 +1,215 @@
+package ee.bigbank.task.sim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ee.bigbank.task.api.ApiClientException;
+import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.api.dto.GameStartResponse;
+import ee.bigbank.task.api.dto.Message;
+import ee.bigbank.task.api.dto.ShopItem;
+import ee.bigbank.task.core.GameOptions;
+import ee.bigbank.task.core.GameService;
+import ee.bigbank.task.core.MessageDecoder;
+import ee.bigbank.task.core.MonteCarloSelector;
+import ee.bigbank.task.core.Probability;
+import ee.bigbank.task.core.model.GameResult;
+import ee.bigbank.task.core.model.TurnRecord;
+
+class MugloarSimulatorTest {
+
+    @Test
+    void playGame_runsToCompletion_againstSimulator() {
+        try (MugloarSimulator sim = MugloarSimulator.start(SimulatorConfig.defaults())) {
+            GameService service = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder());
+
+            GameResult result = service.playGame();
+
+            assertThat(result.gameId()).startsWith("sim");
+            assertThat(result.turns()).isPositive();
+            assertThat(result.score()).isPositive();
+            assertThat(sim.gamesStarted()).isEqualTo(1);
+            assertThat(sim.activeGames()).isZero();
+        }
+    }
+
+    @Test
+    void sameSeed_producesSameGame() {
+        SimulatorConfig config = SimulatorConfig.defaults().withSeed(7);
+        GameResult first;
+        GameResult second;
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            first = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder()).playGame();
+        }
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            second = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder()).playGame();
+        }
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void lazyDecoding_playsSameGameAsEagerDecoding() {
+        SimulatorConfig config = SimulatorConfig.defaults().withSeed(11).withEncryptedRatio(0.8);
+        GameResult eager;
+        GameResult lazy;
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            eager = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder()).playGame();
+        }
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            lazy = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder(),
+                GameOptions.defaults().withLazyDecoding(true)).playGame();
+        }
+        assertThat(lazy).isEqualTo(eager);
+    }
+
+    @Test
+    void pipelinedGame_playsToTheEndWithoutSolvingExpiredAds() {
+        try (MugloarSimulator sim = MugloarSimulator.start(SimulatorConfig.defaults().withSeed(5))) {
+            GameResult result = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder(),
+                GameOptions.defaults().withPipelined(true)).playGame();
+
+            assertThat(result.turns()).isPositive();
+            assertThat(result.score()).isPositive();
+        }
+    }
+
+    @Test
+    void messageBoard_refreshingEveryTurn_playsSameGame() {
+        SimulatorConfig config = SimulatorConfig.defaults().withSeed(13).withEncryptedRatio(0.6);
+        GameResult plain;
+        GameResult boarded;
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            plain = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder()).playGame();
+        }
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            boarded = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder(),
+                GameOptions.defaults().withBoardRefreshTurns(1)).playGame();
+        }
+        assertThat(boarded).isEqualTo(plain);
+    }
+
+    @Test
+    void messageBoard_withRefreshInterval_needsFewerRequests() {
+        SimulatorConfig config = SimulatorConfig.defaults().withSeed(13);
+        long plainRequests;
+        long boardedRequests;
+        GameResult boarded;
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            GameResult plain = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder()).playGame();
+            plainRequests = sim.requestCount() * 1000 / plain.turns();
+        }
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            boarded = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder(),
+                GameOptions.defaults().withBoardRefreshTurns(3)).playGame();
+            boardedRequests = sim.requestCount() * 1000 / boarded.turns();
+        }
+        assertThat(boarded.score()).isPositive();
+        assertThat(boardedRequests).isLessThan(plainRequests); // requests per 1000 turns
+    }
+
+    @Test
+    void turnListener_seesEveryTurn_withoutChangingTheGame() {
+        SimulatorConfig config = SimulatorConfig.defaults().withSeed(17).withEncryptedRatio(0.5);
+        GameResult plain;
+        GameResult journaled;
+        List<TurnRecord> turns = new ArrayList<>();
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            plain = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder()).playGame();
+        }
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            journaled = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder(),
+                GameOptions.defaults().withLazyDecoding(true).withListener(turns::add)).playGame();
+        }
+
+        assertThat(journaled).isEqualTo(plain);
+        assertThat(turns).isNotEmpty().allSatisfy(t -> {
+            assertThat(t.gameId()).isEqualTo(plain.gameId());
+            assertThat(t.board()).allSatisfy(m -> assertThat(m.encrypted()).isNull());
+        });
+        TurnRecord last = turns.getLast();
+        assertThat(last.score()).isEqualTo(plain.score());
+        assertThat(last.lives()).isZero();
+        assertThat(turns).filteredOn(t -> t.solve() != null)
+            .allSatisfy(t -> assertThat(t.board()).extracting(Message::adId).contains(t.chosenAdId()));
+    }
+
+    @Test
+    void monteCarloSelector_playsToTheEnd() {
+        try (MugloarSimulator sim = MugloarSimulator.start(SimulatorConfig.defaults().withSeed(19))) {
+            GameResult result = new GameService(new GameClient(sim.baseUrl()), new MessageDecoder(),
+                GameOptions.defaults().withSelector(new MonteCarloSelector())).playGame();
+
+            assertThat(result.turns()).isPositive();
+            assertThat(result.score()).isPositive();
+        }
+    }
+
+    @Test
+    void encryptedAds_areDecodableByMessageDecoder() {
+        try (MugloarSimulator sim = MugloarSimulator.start(SimulatorConfig.defaults().withEncryptedRatio(1.0))) {
+            GameClient client = new GameClient(sim.baseUrl());
+            GameStartResponse game = client.startGame();
+
+            List<Message> board = client.getMessages(game.gameId());
+            MessageDecoder decoder = new MessageDecoder();
+
+            assertThat(board).hasSize(10).allSatisfy(m -> {
+                assertThat(m.encrypted()).isIn("1", "2");
+                Message decoded = decoder.decode(m).orElseThrow();
+                assertThat(decoded.encrypted()).isNull();
+                assertThat(Probability.fromLabel(decoded.probability())).isPresent();
+            });
+
+            // solving uses the decoded ad id
+            Message decoded = decoder.decode(board.get(0)).orElseThrow();
+            assertThat(client.solve(game.gameId(), decoded.adId()).turn()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shop_servesCatalog_andBuyRequiresGold() {
+        try (MugloarSimulator sim = MugloarSimulator.start(SimulatorConfig.defaults())) {
+            GameClient client = new GameClient(sim.baseUrl());
+            String gameId = client.startGame().gameId();
+
+            List<ShopItem> shop = client.getShop(gameId);
+
+            assertThat(shop).extracting(ShopItem::id).contains("hpot", "cs", "wingpotmax");
+            assertThat(client.buyItem(gameId, "hpot").shoppingSuccess()).isEqualTo("false");
+            assertThat(client.investigate(gameId)).isNotNull();
+        }
+    }
+
+    @Test
+    void unknownAd_isRejected() {
+        try (MugloarSimulator sim = MugloarSimulator.start(SimulatorConfig.defaults())) {
+            GameClient client = new GameClient(sim.baseUrl());
+            String gameId = client.startGame().gameId();
+
+            ApiClientException ex = assertThrows(ApiClientException.class, () -> client.solve(gameId, "nope"));
+            assertThat(ex.getMessage()).contains("HTTP 400");
+        }
+    }
+
+    @Test
+    void errorRate_injectsServiceUnavailable() {
+        SimulatorConfig config = SimulatorConfig.defaults()
+            .withErrorRate(1.0)
+            .withLatency(Duration.ofMillis(5), Duration.ofMillis(5));
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            GameClient client = new GameClient(sim.baseUrl());
+
+            ApiClientException ex = assertThrows(ApiClientException.class, client::startGame);
+
+            assertThat(ex.getMessage()).contains("HTTP 503");
+            assertThat(sim.injectedErrorCount()).isEqualTo(sim.requestCount()).isPositive();
+            assertThat(sim.gamesStarted()).isZero();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ee.bigbank.task.sweep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ee.bigbank.task.api.GameClient;
+import ee.bigbank.task.core.FleetRunner;
+import ee.bigbank.task.core.GameService;
+import ee.bigbank.task.core.MessageDecoder;
+import ee.bigbank.task.core.MessageSelector;
+import ee.bigbank.task.core.model.FleetSummary;
+import ee.bigbank.task.core.model.GameResult;
+import ee.bigbank.task.sim.MugloarSimulator;
+import ee.bigbank.task.sim.SimulatorConfig;
+
+class ParameterSweepTest {
+
+    @Test
+    void grid_enumeratesEveryCombination_randomSamplesDistinctPoints() {
+        SweepSpace space = SweepSpace.defaults();
+
+        List<SweepPoint> grid = space.grid();
+        List<SweepPoint> sample = space.random(10, 3);
+
+        assertThat(grid).hasSize(space.size()).extracting(SweepPoint::label).doesNotHaveDuplicates();
+        assertThat(sample).hasSize(10).extracting(SweepPoint::label).doesNotHaveDuplicates();
+        assertThat(grid).extracting(SweepPoint::label).containsAll(sample.stream().map(SweepPoint::label).toList());
+        assertThat(space.random(space.size() + 1, 3)).hasSize(space.size());
+    }
+
+    @Test
+    void sweep_reportsEveryPoint_andDefaultPointPlaysLikeDefaultGame() {
+        SimulatorConfig config = SimulatorConfig.defaults().withSeed(21);
+        SweepSpace space = new SweepSpace(List.of(0, 300), List.of(1), List.of(50),
+            Map.of("bestOrder", MessageSelector.bestOrder()));
+        int games = 3;
+
+        List<SweepResult> results = new ParameterSweep(config, games, 3).run(space.grid());
+        FleetSummary plain;
+        try (MugloarSimulator sim = MugloarSimulator.start(config)) {
+            plain = new FleetRunner(new GameService(new GameClient(sim.baseUrl()), new MessageDecoder()), 3).run(games);
+        }
+
+        assertThat(results).hasSize(2).allSatisfy(r -> {
+            assertThat(r.games()).isEqualTo(games);
+            assertThat(r.failed()).isZero();
+            assertThat(r.minScore()).isLessThanOrEqualTo(r.p10Score());
+            assertThat(r.p10Score()).isLessThanOrEqualTo(r.medianScore());
+            assertThat(r.medianScore()).isLessThanOrEqualTo(r.maxScore());
+            assertThat(r.meanTurns()).isPositive();
+            assertThat(r.scorePerRequest()).isPositive();
+        });
+        // reserve 300, heal at 1 life, potion at 50 gold, built-in order: the hard-coded strategy
+        assertThat(results.get(1).meanScore()).isEqualTo(plain.meanScore());
+        assertThat(ParameterSweep.format(results)).contains("bestOrder reserve=300 healAt=1 potionGold=50");
+    }
+
+    @Test
+    void percentiles_useNearestRank() {
+        List<GameResult> games = new ArrayList<>();
+        for (int score = 100; score >= 10; score -= 10) games.add(new GameResult("g" + score, score, 1));
+        SweepPoint point = SweepSpace.defaults().grid().getFirst();
+
+        SweepResult result = SweepResult.of(point, FleetSummary.of(games, 0, Duration.ofSeconds(1)), 0);
+        SweepResult empty = SweepResult.of(point, FleetSummary.of(List.of(), 0, Duration.ofSeconds(1)), 0);
+
+        assertThat(result.p10Score()).isEqualTo(10);
+        assertThat(result.medianScore()).isEqualTo(50);
+        assertThat(result.maxScore()).isEqualTo(100);
+        assertThat(empty.p10Score()).isZero();
+        assertThat(empty.medianScore()).isZero();
+    }
+}
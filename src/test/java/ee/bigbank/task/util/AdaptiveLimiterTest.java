@@ -0,0 +1,127 @@
+package ee.bigbank.task.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLimiterTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void requestsOverTheLimit_waitInOrder_untilPermitsAreReturned() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterPolicy.defaults().withInitialLimit(2));
+        CompletableFuture<Void> first = limiter.acquire();
+        CompletableFuture<Void> second = limiter.acquire();
+        CompletableFuture<Void> third = limiter.acquire();
+        CompletableFuture<Void> fourth = limiter.acquire();
+
+        assertThat(first).isDone();
+        assertThat(second).isDone();
+        assertThat(third).isNotDone();
+        assertThat(fourth).isNotDone();
+
+        limiter.release(MS, false, null);
+
+        assertThat(third).isDone();
+        assertThat(fourth).isNotDone();
+        assertThat(limiter.stats().queued()).isEqualTo(2);
+        assertThat(limiter.stats().inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void healthyResponses_growTheLimit_overloadCutsIt() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterPolicy.defaults().withInitialLimit(10));
+        for (int round = 0; round < 40; round++) {
+            List<CompletableFuture<Void>> permits = new ArrayList<>();
+            for (int i = 0; i < limiter.stats().limit(); i++) permits.add(limiter.acquire());
+            permits.forEach(p -> limiter.release(MS, false, null));
+        }
+        int grown = limiter.stats().limit();
+
+        limiter.acquire();
+        sleepMillis(2); // past the usual latency, so the cut is not suppressed
+        limiter.release(MS, true, null);
+
+        assertThat(grown).isGreaterThan(20);
+        assertThat(limiter.stats().limit()).isLessThan(grown);
+        assertThat(limiter.stats().decreases()).isEqualTo(1);
+    }
+
+    @Test
+    void burstOfFailures_cutsOncePerUsualLatency_andNeverBelowMinimum() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterPolicy.defaults().withInitialLimit(100).withLimits(5, 500));
+        limiter.acquire();
+        limiter.release(50 * MS, false, null); // usual latency ~50 ms
+        sleepMillis(60);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.release(MS, true, null);
+        }
+        assertThat(limiter.stats().decreases()).isEqualTo(1);
+        assertThat(limiter.stats().limit()).isEqualTo(70);
+
+        AdaptiveLimiter tiny = new AdaptiveLimiter(LimiterPolicy.defaults().withInitialLimit(2).withLimits(2, 10));
+        tiny.acquire();
+        sleepMillis(1);
+        tiny.release(MS, true, null);
+        assertThat(tiny.stats().limit()).isEqualTo(2);
+    }
+
+    @Test
+    void slowResponses_countAsOverload() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterPolicy.defaults().withInitialLimit(50));
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.release(MS, false, null);
+        }
+        sleepMillis(2);
+
+        limiter.acquire();
+        limiter.release(10 * MS, false, null); // 10x the usual latency
+
+        assertThat(limiter.stats().decreases()).isEqualTo(1);
+    }
+
+    @Test
+    void retryAfter_pausesNewRequests_untilItHasPassed() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterPolicy.defaults().withInitialLimit(10));
+        limiter.acquire();
+        limiter.release(MS, true, Duration.ofMillis(150));
+
+        long started = System.nanoTime();
+        CompletableFuture<Void> paused = limiter.acquire();
+        assertThat(paused).isNotDone();
+
+        paused.get(2, TimeUnit.SECONDS);
+        assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(100 * MS);
+    }
+
+    @Test
+    void retryAfter_pauseIsCappedAtMaxPause() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(LimiterPolicy.defaults().withInitialLimit(10)
+            .withMaxPause(Duration.ofMillis(100)));
+        limiter.acquire();
+        limiter.release(MS, true, Duration.ofHours(1));
+
+        CompletableFuture<Void> paused = limiter.acquire();
+
+        assertThat(paused).isNotDone();
+        paused.get(2, TimeUnit.SECONDS);
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
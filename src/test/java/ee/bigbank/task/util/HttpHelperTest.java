@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.bigbank.task.api.ApiClientException;
+import ee.bigbank.task.api.Endpoint;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.*;
@@ -12,12 +13,35 @@ import org.junit.jupiter.api.*;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 class HttpHelperTest {
 
+    private static final int STALLING_CALL = 40;
+
     private static HttpServer server;
     private static String baseUrl;
+    private static final AtomicInteger flakyMessagesCalls = new AtomicInteger();
+    private static final AtomicInteger failingSolveCalls = new AtomicInteger();
+    private static final AtomicInteger busyBuyCalls = new AtomicInteger();
+    private static final AtomicInteger downShopCalls = new AtomicInteger();
+    private static final AtomicInteger stallingCalls = new AtomicInteger();
+    private static final AtomicInteger unhedgedCalls = new AtomicInteger();
+    private static final AtomicInteger throttledCalls = new AtomicInteger();
+    private static final AtomicInteger longThrottledCalls = new AtomicInteger();
 
     private final HttpHelper http = new HttpHelper(new ObjectMapper());
 
@@ -35,6 +59,56 @@ class HttpHelperTest {
         server.createContext("/list", ex -> respondJson(ex, 200, "[{\"id\":\"a\"},{\"id\":\"b\"}]"));
         server.createContext("/bad", ex -> respondText(ex, 400, "Bad Request"));
         server.createContext("/malformed", ex -> respondText(ex, 200, "{not-json"));
+        server.createContext("/utf8", ex -> respondJson(ex, 200, "[{\"id\":\"Sõnum ü\"}]"));
+        server.createContext("/huge-error", ex -> respondText(ex, 500, "x".repeat(2000)));
+
+        server.createContext("/api/v2/g1/messages", ex -> {
+            if (flakyMessagesCalls.incrementAndGet() <= 2) respondText(ex, 502, "Bad Gateway");
+            else respondJson(ex, 200, "[{\"id\":\"a\"}]");
+        });
+        server.createContext("/api/v2/g1/solve/ad1", ex -> {
+            failingSolveCalls.incrementAndGet();
+            respondText(ex, 500, "Internal Server Error");
+        });
+        server.createContext("/api/v2/g1/shop/buy/hpot", ex -> {
+            if (busyBuyCalls.incrementAndGet() == 1) respondText(ex, 503, "Service Unavailable");
+            else respondJson(ex, 200, "{\"x\":1}");
+        });
+        server.createContext("/api/v2/g2/shop", ex -> {
+            downShopCalls.incrementAndGet();
+            respondText(ex, 503, "Service Unavailable");
+        });
+
+        server.createContext("/api/v2/g3/messages", ex -> {
+            if (stallingCalls.incrementAndGet() == STALLING_CALL) sleep(1500);
+            respondJson(ex, 200, "[]");
+        });
+        server.createContext("/api/v2/g4/messages", ex -> {
+            if (unhedgedCalls.incrementAndGet() == STALLING_CALL) sleep(300);
+            respondJson(ex, 200, "[]");
+        });
+
+        server.createContext("/api/v2/g5/messages", ex -> respondJson(ex, 200, "[]"));
+        server.createContext("/api/v2/g5/solve/ad1", ex -> respondText(ex, 500, "Internal Server Error"));
+
+        server.createContext("/api/v2/g6/messages", ex -> {
+            if (throttledCalls.incrementAndGet() == 1) {
+                ex.getResponseHeaders().set("Retry-After", "1");
+                respondText(ex, 429, "Too Many Requests");
+            } else {
+                respondJson(ex, 200, "[]");
+            }
+        });
+
+        server.createContext("/api/v2/g7/messages", ex -> {
+            longThrottledCalls.incrementAndGet();
+            ex.getResponseHeaders().set("Retry-After", "3600");
+            respondText(ex, 429, "Too Many Requests");
+        });
+        server.createContext("/slow", ex -> {
+            sleep(2000);
+            respondJson(ex, 200, "{\"x\":1}");
+        });
 
         server.createContext("/post", ex -> {
             if (!"POST".equalsIgnoreCase(ex.getRequestMethod())) {
@@ -44,6 +118,7 @@ class HttpHelperTest {
             respondJson(ex, 200, "{\"x\":999}");
         });
 
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor()); // a stalled handler must not block the hedge
         server.start();
     }
 
@@ -84,11 +159,294 @@ class HttpHelperTest {
         assertThat(ex.getMessage()).contains("Failed to parse response body");
     }
 
+    @Test
+    void getList_parsesUtf8Bytes_andReusesReaderAcrossCalls() {
+        List<Bar> first = http.getList(baseUrl + "/utf8", Bar.class);
+        List<Bar> second = http.getList(baseUrl + "/utf8", Bar.class);
+
+        assertThat(first).extracting(b -> b.id).containsExactly("Sõnum ü");
+        assertThat(second).extracting(b -> b.id).containsExactly("Sõnum ü");
+    }
+
+    @Test
+    void non2xx_truncatesLargeErrorBody() {
+        ApiClientException ex = assertThrows(ApiClientException.class,
+                () -> http.get(baseUrl + "/huge-error", Foo.class));
+        assertThat(ex.getMessage()).contains("HTTP 500").endsWith("...(truncated)");
+        assertThat(ex.getMessage().length()).isLessThan(600);
+    }
+
+    @Test
+    void async_parsesPojoAndList() {
+        CompletableFuture<Foo> foo = http.getAsync(baseUrl + "/ok", Foo.class);
+        CompletableFuture<List<Bar>> list = http.getListAsync(baseUrl + "/list", Bar.class);
+        CompletableFuture<Foo> posted = http.postAsync(baseUrl + "/post", Foo.class);
+
+        assertThat(foo.join().x).isEqualTo(123);
+        assertThat(list.join()).extracting(b -> b.id).containsExactly("a", "b");
+        assertThat(posted.join().x).isEqualTo(999);
+    }
+
+    @Test
+    void async_non2xx_completesWithApiClientException() {
+        CompletableFuture<Foo> future = http.getAsync(baseUrl + "/bad", Foo.class);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+        assertThat(ex.getCause()).isInstanceOf(ApiClientException.class).hasMessageContaining("HTTP 400");
+    }
+
+    @Test
+    void async_malformedJson_completesWithApiClientException() {
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> http.getAsync(baseUrl + "/malformed", Foo.class).join());
+        assertThat(ex.getCause()).isInstanceOf(ApiClientException.class)
+                .hasMessageContaining("Failed to parse response body");
+    }
+
+    @Test
+    void async_transportFailure_completesWithApiClientException() {
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> http.getAsync("http://127.0.0.1:1/nothing", Foo.class).join());
+        assertThat(ex.getCause()).isInstanceOf(ApiClientException.class)
+                .hasMessageContaining("Failed to send HTTP request");
+    }
+
+    @Test
+    void warmUp_preOpensConnections_thatLaterRequestsReuse() {
+        TransportProfile profile = TransportProfile.defaults()
+                .withVersion(HttpClient.Version.HTTP_1_1)
+                .withExecutorThreads(2)
+                .withWarmUpConnections(3);
+        HttpHelper warmed = new HttpHelper(new ObjectMapper(), profile);
+
+        warmed.warmUp(baseUrl + "/ok");
+        ConnectionStats afterWarmUp = warmed.connectionStats();
+
+        assertThat(afterWarmUp.requests()).isEqualTo(3);
+        assertThat(afterWarmUp.opened()).isBetween(1L, 3L);
+
+        warmed.get(baseUrl + "/ok", Foo.class);
+        warmed.get(baseUrl + "/ok", Foo.class);
+
+        ConnectionStats after = warmed.connectionStats();
+        assertThat(after.opened()).isEqualTo(afterWarmUp.opened());
+        assertThat(after.reused()).isEqualTo(afterWarmUp.reused() + 2);
+    }
+
+    @Test
+    void close_stopsTheExecutorItCreated() {
+        Set<Thread> before = httpThreads();
+        HttpHelper owned = new HttpHelper(new ObjectMapper(), TransportProfile.defaults().withExecutorThreads(2));
+        assertThat(owned.get(baseUrl + "/ok", Foo.class).x).isEqualTo(123);
+        Set<Thread> started = httpThreads();
+        started.removeAll(before);
+        assertThat(started).isNotEmpty();
+
+        owned.close();
+
+        assertThat(started).noneMatch(Thread::isAlive);
+        assertThat(owned.connectionStats().requests()).isEqualTo(1);
+    }
+
+    @Test
+    void warmUp_isNoOp_withDefaultProfile() {
+        HttpHelper plain = new HttpHelper(new ObjectMapper());
+
+        plain.warmUp(baseUrl + "/ok");
+
+        assertThat(plain.connectionStats().requests()).isZero();
+    }
+
+    @Test
+    void retries_transientFailuresOfIdempotentGet() {
+        List<Bar> list = fastRetries().getList(baseUrl + "/api/v2/g1/messages", Bar.class);
+
+        assertThat(list).extracting(b -> b.id).containsExactly("a");
+        assertThat(flakyMessagesCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetry_serverErrorOfStateChangingPost() {
+        ApiClientException ex = assertThrows(ApiClientException.class,
+                () -> fastRetries().post(baseUrl + "/api/v2/g1/solve/ad1", Foo.class));
+
+        assertThat(ex.statusCode()).isEqualTo(500);
+        assertThat(failingSolveCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void async_retries_rejectedStateChangingPost() {
+        Foo foo = fastRetries().postAsync(baseUrl + "/api/v2/g1/shop/buy/hpot", Foo.class).join();
+
+        assertThat(foo.x).isEqualTo(1);
+        assertThat(busyBuyCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void exhaustedRetryBudget_stopsRetrying() {
+        RetryPolicy tenAttempts = RetryPolicy.idempotent(10, Duration.ofMillis(1), Duration.ofMillis(2));
+        RetryPolicies policies = new RetryPolicies(Map.of(), new RetryBudget(0, 2))
+                .with(Endpoint.SHOP, tenAttempts);
+        HttpHelper budgeted = new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), policies);
+
+        ApiClientException ex = assertThrows(ApiClientException.class,
+                () -> budgeted.get(baseUrl + "/api/v2/g2/shop", Foo.class));
+
+        assertThat(ex.statusCode()).isEqualTo(503);
+        assertThat(downShopCalls.get()).isEqualTo(3); // first attempt + the 2 budgeted retries
+        assertThat(policies.budget().available()).isZero();
+    }
+
+    @Test
+    void hedging_answersStalledGet_fromSecondCopy() {
+        HedgePolicy hedging = HedgePolicy.defaults().withWindow(64).withMinDelay(Duration.ofMillis(20));
+        HttpHelper hedged = new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), RetryPolicies.none(), hedging);
+        for (int i = 1; i < STALLING_CALL; i++) {
+            hedged.getList(baseUrl + "/api/v2/g3/messages", Bar.class);
+        }
+
+        long started = System.nanoTime();
+        hedged.getListAsync(baseUrl + "/api/v2/g3/messages", Bar.class).join();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(1000);
+        HedgeStats stats = hedged.hedgeStats();
+        assertThat(stats.eligible()).isEqualTo(STALLING_CALL);
+        assertThat(stats.won()).isPositive(); // at least the stalled call; a slow warm-up call may add more
+    }
+
+    @Test
+    void hedging_respectsHedgeBudget() {
+        HedgePolicy hedging = HedgePolicy.defaults().withWindow(64).withBudget(new RetryBudget(0, 0));
+        HttpHelper hedged = new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), RetryPolicies.none(), hedging);
+
+        for (int i = 1; i <= STALLING_CALL; i++) {
+            hedged.getList(baseUrl + "/api/v2/g4/messages", Bar.class);
+        }
+
+        assertThat(hedged.hedgeStats().hedged()).isZero();
+        assertThat(unhedgedCalls.get()).isEqualTo(STALLING_CALL);
+    }
+
+    @Test
+    void metrics_countAttemptsPerEndpointAndStatus() {
+        HttpHelper measured = new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), RetryPolicies.none());
+        measured.getList(baseUrl + "/api/v2/g5/messages", Bar.class);
+        measured.getListAsync(baseUrl + "/api/v2/g5/messages", Bar.class).join();
+        assertThrows(ApiClientException.class, () -> measured.post(baseUrl + "/api/v2/g5/solve/ad1", Foo.class));
+        assertThrows(ApiClientException.class, () -> measured.get("http://127.0.0.1:1/api/v2/g1/shop", Foo.class));
+
+        MetricsSnapshot snapshot = measured.metrics().snapshot();
+
+        assertThat(snapshot.requests()).isEqualTo(4);
+        EndpointStats messages = snapshot.endpoint(Endpoint.MESSAGES);
+        assertThat(messages.requests()).isEqualTo(2);
+        assertThat(messages.statuses()).containsExactly(Map.entry(200, 2L));
+        assertThat(messages.latency().count()).isEqualTo(2);
+        assertThat(messages.latency().p50()).isPositive();
+        assertThat(snapshot.endpoint(Endpoint.SOLVE).failures()).isEqualTo(1);
+        assertThat(snapshot.endpoint(Endpoint.SHOP).statuses()).containsExactly(Map.entry(0, 1L));
+        assertThat(snapshot.endpoint(Endpoint.BUY)).isNull();
+        assertThat(snapshot.format()).contains("messages", "solve", "p99 ms");
+    }
+
+    @Test
+    void tooManyRequests_waitsForRetryAfter_andCutsTheLimit() {
+        HttpHelper limited = new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), RetryPolicies.defaults(),
+                HedgePolicy.disabled(), LimiterPolicy.defaults().withInitialLimit(8));
+
+        long started = System.nanoTime();
+        List<Bar> list = limited.getList(baseUrl + "/api/v2/g6/messages", Bar.class);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(list).isEmpty();
+        assertThat(throttledCalls.get()).isEqualTo(2);
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(900); // Retry-After: 1, not the 100 ms backoff
+        LimiterStats stats = limited.limiterStats();
+        assertThat(stats.decreases()).isEqualTo(1);
+        assertThat(stats.limit()).isLessThan(8);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    void retryAfterBeyondMaxDelay_failsFast_andPausesTheFleetOnlyForMaxPause() {
+        HttpHelper limited = new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), RetryPolicies.defaults(),
+                HedgePolicy.disabled(), LimiterPolicy.defaults().withInitialLimit(8).withMaxPause(Duration.ofMillis(200)));
+
+        long started = System.nanoTime();
+        ApiClientException ex = assertThrows(ApiClientException.class,
+                () -> limited.getList(baseUrl + "/api/v2/g7/messages", Bar.class));
+        Foo next = limited.get(baseUrl + "/ok", Foo.class);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(ex.statusCode()).isEqualTo(429);
+        assertThat(ex.retryAfter()).isEqualTo(Duration.ofHours(1));
+        assertThat(longThrottledCalls.get()).isEqualTo(1);
+        assertThat(next.x).isEqualTo(123);
+        assertThat(elapsedMs).isBetween(150L, 1500L); // paused for maxPause, not the hour asked for
+    }
+
+    @Test
+    void interruptedCaller_returnsItsPermit_withoutCuttingTheLimit() throws Exception {
+        HttpHelper limited = new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), RetryPolicies.none(),
+                HedgePolicy.disabled(), LimiterPolicy.defaults().withInitialLimit(8));
+        limited.get(baseUrl + "/ok", Foo.class); // a usual latency, so a decrease would not be rate-limited away
+        sleep(50);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread caller = Thread.ofPlatform().start(() -> {
+            try {
+                limited.get(baseUrl + "/slow", Foo.class);
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        sleep(200);
+        caller.interrupt();
+        caller.join(5000);
+
+        assertThat(failure.get()).isInstanceOf(ApiClientException.class);
+        LimiterStats stats = limited.limiterStats();
+        assertThat(stats.decreases()).isZero();
+        assertThat(stats.limit()).isEqualTo(8);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    void limiter_capsConcurrentAsyncRequests() {
+        HttpHelper limited = new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), RetryPolicies.none(),
+                HedgePolicy.disabled(), LimiterPolicy.defaults().withInitialLimit(2).withLimits(2, 2));
+        List<CompletableFuture<Foo>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) calls.add(limited.getAsync(baseUrl + "/ok", Foo.class));
+
+        calls.forEach(call -> assertThat(call.join().x).isEqualTo(123));
+        assertThat(limited.limiterStats().queued()).isPositive();
+        assertThat(limited.limiterStats().inFlight()).isZero();
+        assertThat(new HttpHelper(new ObjectMapper()).limiterStats().limit()).isZero();
+    }
+
     // --- helpers ----------------------------------------------------------
 
+    private static HttpHelper fastRetries() {
+        RetryPolicies policies = RetryPolicies.defaults();
+        for (Endpoint endpoint : Endpoint.values()) {
+            RetryPolicy policy = policies.policyFor(endpoint);
+            policies = policies.with(endpoint,
+                    new RetryPolicy(policy.maxAttempts(), Duration.ofMillis(1), Duration.ofMillis(5), policy.guarded()));
+        }
+        return new HttpHelper(new ObjectMapper(), TransportProfile.defaults(), policies);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private static void respondJson(HttpExchange ex, int code, String json) throws IOException {
         ex.getResponseHeaders().set("Content-Type", "application/json");
-        byte[] bytes = json.getBytes();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
         ex.sendResponseHeaders(code, bytes.length);
         try (OutputStream os = ex.getResponseBody()) {
             os.write(bytes);
@@ -102,4 +460,10 @@ class HttpHelperTest {
             os.write(bytes);
         }
     }
+
+    private static Set<Thread> httpThreads() {
+        Set<Thread> threads = new HashSet<>(Thread.getAllStackTraces().keySet());
+        threads.removeIf(t -> !t.getName().startsWith("mugloar-http-"));
+        return threads;
+    }
 }
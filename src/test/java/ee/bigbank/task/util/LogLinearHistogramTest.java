@@ -0,0 +1,64 @@
+package ee.bigbank.task.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LogLinearHistogramTest {
+
+    @Test
+    void bucketBounds_areContiguous_andContainTheirValues() {
+        for (int i = 0; i < LogLinearHistogram.BUCKETS - 1; i++) {
+            assertThat(LogLinearHistogram.lowerBound(i + 1)).isEqualTo(LogLinearHistogram.upperBound(i) + 1);
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong(1L << 40);
+            int index = LogLinearHistogram.indexOf(value);
+            assertThat(value).isBetween(LogLinearHistogram.lowerBound(index), LogLinearHistogram.upperBound(index));
+        }
+        assertThat(LogLinearHistogram.indexOf(Long.MAX_VALUE)).isEqualTo(LogLinearHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    void percentiles_areWithinRelativeError() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (long v = 1; v <= 100_000; v++) histogram.record(v * 1000);
+
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(100_000);
+        assertThat(snapshot.max()).isEqualTo(100_000_000);
+        assertThat(snapshot.mean()).isEqualTo(50_000_500.0);
+        assertThat(snapshot.p50()).isBetween(50_000_000L, 51_600_000L);
+        assertThat(snapshot.p99()).isBetween(99_000_000L, 100_000_000L);
+        assertThat(snapshot.p999()).isBetween(99_900_000L, 100_000_000L);
+    }
+
+    @Test
+    void emptyHistogram_reportsZero() {
+        LogLinearHistogram.Snapshot snapshot = new LogLinearHistogram().snapshot();
+
+        assertThat(snapshot.count()).isZero();
+        assertThat(snapshot.p99()).isZero();
+        assertThat(snapshot.mean()).isZero();
+    }
+
+    @Test
+    void concurrentRecording_losesNoCounts() throws InterruptedException {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 64; t++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 1000; i++) histogram.record(i);
+            }));
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertThat(histogram.snapshot().count()).isEqualTo(64_000);
+    }
+}
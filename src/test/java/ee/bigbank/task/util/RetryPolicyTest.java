@@ -0,0 +1,81 @@
+package ee.bigbank.task.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import ee.bigbank.task.api.ApiClientException;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy idempotent = RetryPolicy.idempotent(3, Duration.ofMillis(100), Duration.ofMillis(250));
+    private final RetryPolicy guarded = RetryPolicy.guarded(3, Duration.ofMillis(100), Duration.ofMillis(250));
+
+    @Test
+    void idempotent_retriesTransientStatusesAndAnyTransportFailure() {
+        assertThat(idempotent.shouldRetry(status(502))).isTrue();
+        assertThat(idempotent.shouldRetry(status(503))).isTrue();
+        assertThat(idempotent.shouldRetry(status(429))).isTrue();
+        assertThat(idempotent.shouldRetry(transport(new IOException("reset")))).isTrue();
+
+        assertThat(idempotent.shouldRetry(status(400))).isFalse();
+        assertThat(idempotent.shouldRetry(status(404))).isFalse();
+    }
+
+    @Test
+    void guarded_retriesOnlyWhenRequestWasNotApplied() {
+        assertThat(guarded.shouldRetry(status(429))).isTrue();
+        assertThat(guarded.shouldRetry(status(503))).isTrue();
+        assertThat(guarded.shouldRetry(transport(new ConnectException("refused")))).isTrue();
+        assertThat(guarded.shouldRetry(transport(new IOException("wrapped", new ConnectException("refused"))))).isTrue();
+
+        assertThat(guarded.shouldRetry(status(500))).isFalse();
+        assertThat(guarded.shouldRetry(status(502))).isFalse();
+        assertThat(guarded.shouldRetry(transport(new IOException("reset after send")))).isFalse();
+    }
+
+    @Test
+    void neverRetries_parseOrInterruptFailures() {
+        assertThat(idempotent.shouldRetry(new ApiClientException("Failed to parse response body"))).isFalse();
+        assertThat(idempotent.shouldRetry(transport(new InterruptedException()))).isFalse();
+    }
+
+    @Test
+    void backoff_isJitteredBelowExponentialCap() {
+        for (int i = 0; i < 200; i++) {
+            assertThat(idempotent.backoff(1)).isBetween(Duration.ZERO, Duration.ofMillis(100));
+            assertThat(idempotent.backoff(2)).isBetween(Duration.ZERO, Duration.ofMillis(200));
+            assertThat(idempotent.backoff(30)).isBetween(Duration.ZERO, Duration.ofMillis(250));
+        }
+        assertThat(RetryPolicy.none().backoff(1)).isZero();
+    }
+
+    @Test
+    void budget_depositsPerRequest_andCapsAtBurst() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+
+        budget.onRequest();
+        assertThat(budget.tryAcquire()).isFalse();
+        budget.onRequest();
+        assertThat(budget.tryAcquire()).isTrue();
+
+        for (int i = 0; i < 100; i++) budget.onRequest();
+        assertThat(budget.available()).isEqualTo(2);
+    }
+
+    private static ApiClientException status(int code) {
+        return new ApiClientException("HTTP " + code, code);
+    }
+
+    private static ApiClientException transport(Exception cause) {
+        return new ApiClientException("Failed to send HTTP request", cause);
+    }
+}